@@ -1,4 +1,4 @@
-import React from 'react';
+import React, { useEffect, useState } from 'react';
 import {
   Box,
   Container,
@@ -11,6 +11,7 @@ import {
   Divider,
   Alert,
   CircularProgress,
+  Pagination,
 } from '@mui/material';
 import {
   AccessTime,
@@ -22,25 +23,48 @@ import {
 } from '@mui/icons-material';
 import { useParams, Link as RouterLink, useNavigate } from 'react-router-dom';
 import { motion } from 'framer-motion';
-import { useQuery } from 'react-query';
+import { useQuery, useQueryClient } from 'react-query';
 import toast from 'react-hot-toast';
 
-import { topicoService } from '../services/topicoService';
+import { topicoService, TAMANO_PAGINA_RESPUESTAS } from '../services/topicoService';
 import { useAuthStore } from '../store/authStore';
 
 const TopicoDetailPage: React.FC = () => {
   const { id } = useParams<{ id: string }>();
   const navigate = useNavigate();
   const { user, isAuthenticated } = useAuthStore();
+  const queryClient = useQueryClient();
+  const [paginaRespuestas, setPaginaRespuestas] = useState(0);
 
   const { data: topico, isLoading, error } = useQuery(
-    ['topico', id],
-    () => topicoService.getTopicoById(Number(id)),
+    ['topico', id, paginaRespuestas],
+    () => topicoService.getTopicoById(Number(id), paginaRespuestas, TAMANO_PAGINA_RESPUESTAS),
     {
       enabled: !!id,
+      keepPreviousData: true,
     }
   );
 
+  useEffect(() => {
+    setPaginaRespuestas(0);
+  }, [id]);
+
+  // Recarga el detalle cuando llegan respuestas nuevas o cambia la solución, sin sondear
+  useEffect(() => {
+    if (!id) {
+      return;
+    }
+
+    const eventos = new EventSource(`/api/topicos/${id}/eventos`);
+    // Invalida todas las páginas de respuestas del tópico
+    const recargar = () => queryClient.invalidateQueries(['topico', id]);
+    ['respuesta-creada', 'respuesta-actualizada', 'solucion-marcada', 'solucion-desmarcada'].forEach((tipo) =>
+      eventos.addEventListener(tipo, recargar)
+    );
+
+    return () => eventos.close();
+  }, [id, queryClient]);
+
   const handleDelete = async () => {
     if (!topico || !window.confirm('¿Estás seguro de que quieres eliminar este tópico?')) {
       return;
@@ -55,6 +79,10 @@ const TopicoDetailPage: React.FC = () => {
     }
   };
 
+  const handlePaginaRespuestasChange = (event: React.ChangeEvent<unknown>, value: number) => {
+    setPaginaRespuestas(value - 1);
+  };
+
   const formatDate = (dateString: string) => {
     return new Date(dateString).toLocaleDateString('es-ES', {
       year: 'numeric',
@@ -221,11 +249,11 @@ const TopicoDetailPage: React.FC = () => {
       >
         <Box sx={{ mb: 3 }}>
           <Typography variant="h5" sx={{ fontWeight: 'bold', mb: 2 }}>
-            Respuestas ({topico.respuestas.length})
+            Respuestas ({topico.totalRespuestas})
           </Typography>
         </Box>
 
-        {topico.respuestas.length === 0 ? (
+        {topico.totalRespuestas === 0 ? (
           <Card sx={{ borderRadius: 3 }}>
             <CardContent sx={{ p: 4, textAlign: 'center' }}>
               <Box sx={{ fontSize: '3rem', mb: 2 }}>💬</Box>
@@ -307,6 +335,22 @@ const TopicoDetailPage: React.FC = () => {
                 </Card>
               </motion.div>
             ))}
+
+            {topico.totalPaginasRespuestas > 1 && (
+              <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+                <Pagination
+                  count={topico.totalPaginasRespuestas}
+                  page={paginaRespuestas + 1}
+                  onChange={handlePaginaRespuestasChange}
+                  color="primary"
+                  sx={{
+                    '& .MuiPaginationItem-root': {
+                      borderRadius: 2,
+                    },
+                  }}
+                />
+              </Box>
+            )}
           </Box>
         )}
       </motion.div>
@@ -56,8 +56,14 @@ export interface DetalleTopico {
     };
     solucion: boolean;
   }>;
+  totalRespuestas: number;
+  paginaRespuestas: number;
+  totalPaginasRespuestas: number;
 }
 
+// Respuestas por página en el detalle de un tópico; el servidor acepta hasta 100
+export const TAMANO_PAGINA_RESPUESTAS = 50;
+
 export interface CrearTopicoRequest {
   titulo: string;
   mensaje: string;
@@ -86,8 +92,8 @@ export const topicoService = {
     return response.data;
   },
 
-  async getTopicoById(id: number): Promise<DetalleTopico> {
-    const response = await api.get(`/topicos/${id}`);
+  async getTopicoById(id: number, respuestasPage = 0, respuestasSize = TAMANO_PAGINA_RESPUESTAS): Promise<DetalleTopico> {
+    const response = await api.get(`/topicos/${id}?respuestasPage=${respuestasPage}&respuestasSize=${respuestasSize}`);
     return response.data;
   },
 
@@ -111,7 +117,7 @@ export const topicoService = {
   },
 
   async buscarTopicos(query: string, page = 0, size = 10): Promise<PaginatedResponse<Topico>> {
-    const response = await api.get(`/topicos/buscar?q=${encodeURIComponent(query)}&page=${page}&size=${size}`);
+    const response = await api.get(`/topicos/buscar?q=${encodeURIComponent(query)}&modo=relevancia&page=${page}&size=${size}`);
     return response.data;
   },
 
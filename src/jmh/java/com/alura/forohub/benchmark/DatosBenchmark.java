@@ -0,0 +1,68 @@
+package com.alura.forohub.benchmark;
+
+import com.alura.forohub.dto.TopicoResponseDTO;
+import com.alura.forohub.entity.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos de prueba compartidos por los benchmarks, con tamaños similares a los de producción.
+ */
+final class DatosBenchmark {
+
+    static final String CORREO = "juan@example.com";
+
+    static final String SECRETO = "benchmarkSecretKey12345678901234567890";
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private DatosBenchmark() {
+    }
+
+    static Usuario usuario() {
+        Perfil perfil = new Perfil("Usuario", TipoPerfil.USUARIO, "Perfil básico");
+        perfil.setId(1L);
+
+        Usuario usuario = new Usuario("Juan Pérez", CORREO, "$2a$10$hash", perfil);
+        usuario.setId(1L);
+        usuario.setFechaCreacion(FECHA);
+        return usuario;
+    }
+
+    /**
+     * Tópico con el número de respuestas indicado, todas ya asociadas a él.
+     */
+    static Topico topico(int respuestas) {
+        Usuario autor = usuario();
+        Curso curso = new Curso("Spring Boot", "Programación", "Curso de Spring Boot");
+        curso.setId(1L);
+
+        Topico topico = new Topico("¿Cómo configurar Spring Security con JWT?", mensaje(400), autor, curso);
+        topico.setId(1L);
+        topico.setFechaCreacion(FECHA);
+        topico.setFechaActualizacion(FECHA);
+        for (int i = 0; i < respuestas; i++) {
+            Respuesta respuesta = new Respuesta(mensaje(200), topico, autor);
+            respuesta.setId((long) i + 1);
+            respuesta.setFechaCreacion(FECHA.plusMinutes(i));
+            respuesta.setFechaActualizacion(FECHA.plusMinutes(i));
+            topico.addRespuesta(respuesta);
+        }
+        return topico;
+    }
+
+    static List<TopicoResponseDTO> resumenes(int cantidad) {
+        List<TopicoResponseDTO> resumenes = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            resumenes.add(new TopicoResponseDTO((long) i + 1, "Tópico número " + i, mensaje(400),
+                FECHA.plusMinutes(i), StatusTopico.ABIERTO, "Juan Pérez", "Spring Boot", i % 7, 0L));
+        }
+        return resumenes;
+    }
+
+    private static String mensaje(int longitud) {
+        return "Lorem ipsum dolor sit amet ".repeat(longitud / 27 + 1).substring(0, longitud);
+    }
+}
@@ -0,0 +1,96 @@
+package com.alura.forohub.benchmark;
+
+import com.alura.forohub.ForoHubApplication;
+import com.alura.forohub.entity.Curso;
+import com.alura.forohub.entity.Respuesta;
+import com.alura.forohub.entity.Topico;
+import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.repository.CursoRepository;
+import com.alura.forohub.repository.RespuestaRepository;
+import com.alura.forohub.repository.TopicoRepository;
+import com.alura.forohub.repository.UsuarioRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creación masiva de respuestas con JPA sobre H2 en memoria, en una transacción por operación.
+ * Con batch_size 0 cada insert se envía por separado; con 50 se agrupan en lotes JDBC.
+ * Las respuestas se borran después de cada invocación para que la tabla no crezca entre mediciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class InsercionRespuestasBenchmark {
+
+    @Param({"500"})
+    private int respuestas;
+
+    @Param({"50", "0"})
+    private String batchSize;
+
+    private ConfigurableApplicationContext contexto;
+
+    private TransactionTemplate transactionTemplate;
+
+    private RespuestaRepository respuestaRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Topico topico;
+
+    private Usuario autor;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(ForoHubApplication.class)
+            .profiles("h2")
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--logging.level.root=WARN",
+                "--logging.level.com.alura.forohub=WARN",
+                "--logging.file.name=target/jmh.log"
+            );
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        respuestaRepository = contexto.getBean(RespuestaRepository.class);
+        jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+
+        autor = contexto.getBean(UsuarioRepository.class).findByCorreoElectronico("admin@forohub.com").orElseThrow();
+        Curso curso = contexto.getBean(CursoRepository.class).findAll().get(0);
+        topico = contexto.getBean(TopicoRepository.class)
+            .save(new Topico("Tópico del benchmark", "Recibe las respuestas insertadas", autor, curso));
+    }
+
+    @Benchmark
+    public List<Respuesta> crearRespuestas() {
+        return transactionTemplate.execute(estado -> {
+            List<Respuesta> nuevas = new ArrayList<>(respuestas);
+            for (int i = 0; i < respuestas; i++) {
+                nuevas.add(new Respuesta("Respuesta " + i + " del benchmark de inserción", topico, autor));
+            }
+            return respuestaRepository.saveAll(nuevas);
+        });
+    }
+
+    @TearDown(Level.Invocation)
+    public void limpiar() {
+        jdbcTemplate.update("DELETE FROM respuestas");
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+}
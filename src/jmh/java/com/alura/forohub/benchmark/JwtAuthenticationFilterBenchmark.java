@@ -0,0 +1,75 @@
+package com.alura.forohub.benchmark;
+
+import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.repository.UsuarioRepository;
+import com.alura.forohub.security.JwtAuthenticationFilter;
+import com.alura.forohub.security.JwtUtil;
+import com.alura.forohub.security.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autenticación de una petición con token Bearer. El repositorio es un stub en memoria;
+ * con TTL cero la caché de usuarios no retiene nada y cada petición lo consulta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"PT1M", "PT0S"})
+    private String principalTtl;
+
+    private JwtAuthenticationFilter filtro;
+
+    private String cabecera;
+
+    @Setup
+    public void preparar() {
+        JwtUtil jwtUtil = new JwtUtil(DatosBenchmark.SECRETO, 3600L, 10_000);
+        cabecera = "Bearer " + jwtUtil.generateToken(DatosBenchmark.CORREO);
+
+        filtro = new JwtAuthenticationFilter(jwtUtil, repositorio(DatosBenchmark.usuario()),
+            new PrincipalCache(10_000, Duration.parse(principalTtl)), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/topicos/1");
+        request.addHeader("Authorization", cabecera);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filtro.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    /**
+     * Stub del repositorio que solo responde a la búsqueda usada por el filtro.
+     */
+    private static UsuarioRepository repositorio(Usuario usuario) {
+        return (UsuarioRepository) Proxy.newProxyInstance(
+            UsuarioRepository.class.getClassLoader(),
+            new Class<?>[] {UsuarioRepository.class},
+            (proxy, metodo, args) -> {
+                if (metodo.getName().equals("findByCorreoElectronicoWithPerfil")) {
+                    return Optional.of(usuario);
+                }
+                throw new UnsupportedOperationException(metodo.getName());
+            });
+    }
+}
@@ -0,0 +1,38 @@
+package com.alura.forohub.benchmark;
+
+import com.alura.forohub.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación y validación de tokens JWT. La validación de un token ya visto sale de la caché de tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil(DatosBenchmark.SECRETO, 3600L, 10_000);
+        token = jwtUtil.generateToken(DatosBenchmark.CORREO);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(DatosBenchmark.CORREO);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+}
@@ -0,0 +1,60 @@
+package com.alura.forohub.benchmark;
+
+import com.alura.forohub.dto.DetalleTopicoDTO;
+import com.alura.forohub.dto.RespuestaDTO;
+import com.alura.forohub.entity.Respuesta;
+import com.alura.forohub.entity.Topico;
+import com.alura.forohub.mapper.RespuestaMapper;
+import com.alura.forohub.mapper.TopicoMapper;
+import com.alura.forohub.service.TopicoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de entidades a DTOs en el detalle de un tópico.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"0", "50"})
+    private int respuestas;
+
+    private TopicoMapper topicoMapper;
+
+    private RespuestaMapper respuestaMapper;
+
+    private Topico topico;
+
+    private List<Respuesta> pagina;
+
+    private Respuesta respuesta;
+
+    @Setup
+    public void preparar() {
+        respuestaMapper = new RespuestaMapper();
+        topicoMapper = new TopicoMapper();
+        ReflectionTestUtils.setField(topicoMapper, "respuestaMapper", respuestaMapper);
+
+        topico = DatosBenchmark.topico(respuestas);
+        pagina = topico.getRespuestas();
+        respuesta = DatosBenchmark.topico(1).getRespuestas().get(0);
+    }
+
+    @Benchmark
+    public DetalleTopicoDTO topicoToDetalleDTO() {
+        return topicoMapper.toDetalleDTO(topico, pagina, 0, TopicoService.TAMANO_PAGINA_RESPUESTAS);
+    }
+
+    @Benchmark
+    public RespuestaDTO respuestaToDTO() {
+        return respuestaMapper.toDTO(respuesta);
+    }
+}
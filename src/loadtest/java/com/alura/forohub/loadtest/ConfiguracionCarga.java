@@ -0,0 +1,46 @@
+package com.alura.forohub.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, leídos de argumentos {@code --nombre=valor}.
+ */
+record ConfiguracionCarga(
+    int usuarios,
+    int topicos,
+    long respuestas,
+    int clientes,
+    Duration calentamiento,
+    Duration duracion,
+    Path salida
+) {
+
+    static ConfiguracionCarga desdeArgumentos(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento no válido: " + arg + " (formato --nombre=valor)");
+            }
+            int igual = arg.indexOf('=');
+            valores.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+
+        ConfiguracionCarga config = new ConfiguracionCarga(
+            Integer.parseInt(valores.getOrDefault("usuarios", "1000")),
+            Integer.parseInt(valores.getOrDefault("topicos", "10000")),
+            Long.parseLong(valores.getOrDefault("respuestas", "100000")),
+            Integer.parseInt(valores.getOrDefault("clientes", "32")),
+            Duration.parse(valores.getOrDefault("calentamiento", "PT10S")),
+            Duration.parse(valores.getOrDefault("duracion", "PT30S")),
+            Path.of(valores.getOrDefault("salida", "target/loadtest-result.json"))
+        );
+
+        if (config.usuarios() < 1 || config.topicos() < 1 || config.respuestas() < 0 || config.clientes() < 1) {
+            throw new IllegalArgumentException("Se requiere al menos un usuario, un tópico y un cliente");
+        }
+        return config;
+    }
+}
@@ -0,0 +1,151 @@
+package com.alura.forohub.loadtest;
+
+import com.alura.forohub.generador.GeneradorDatos;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lanza clientes concurrentes que repiten la mezcla de operaciones contra la API durante el tiempo indicado.
+ * Cada cliente inicia sesión con un usuario sembrado distinto; las latencias del calentamiento se descartan.
+ */
+final class GeneradorCarga {
+
+    private final String baseUrl;
+
+    private final ConfiguracionCarga config;
+
+    private final RangoIds usuarios;
+
+    private final RangoIds topicos;
+
+    private final List<String> terminos = GeneradorDatos.temas();
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    GeneradorCarga(String baseUrl, ConfiguracionCarga config, RangoIds usuarios, RangoIds topicos) {
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.usuarios = usuarios;
+        this.topicos = topicos;
+    }
+
+    Map<Operacion, Latencias> ejecutar() throws Exception {
+        long inicioMedicion = System.nanoTime() + config.calentamiento().toNanos();
+        long fin = inicioMedicion + config.duracion().toNanos();
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(config.clientes());
+        try {
+            List<Future<Map<Operacion, Latencias>>> clientes = new ArrayList<>();
+            for (int i = 0; i < config.clientes(); i++) {
+                int cliente = i;
+                clientes.add(ejecutor.submit(() -> cliente(cliente, inicioMedicion, fin)));
+            }
+
+            Map<Operacion, Latencias> total = nuevasLatencias();
+            for (Future<Map<Operacion, Latencias>> cliente : clientes) {
+                cliente.get().forEach((operacion, latencias) -> total.get(operacion).agregar(latencias));
+            }
+            return total;
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    private Map<Operacion, Latencias> cliente(int indice, long inicioMedicion, long fin) throws Exception {
+        SplittableRandom random = new SplittableRandom(indice);
+        Map<Operacion, Latencias> latencias = nuevasLatencias();
+        String correo = GeneradorDatos.correo(usuarios.primero() + indice % usuarios.cantidad());
+        String token = token(login(correo));
+
+        while (System.nanoTime() < fin) {
+            Operacion operacion = Operacion.elegir(random.nextInt(100));
+            HttpRequest peticion = peticion(operacion, random, correo, token);
+
+            long inicio = System.nanoTime();
+            boolean error;
+            try {
+                HttpResponse<byte[]> respuesta = http.send(peticion, HttpResponse.BodyHandlers.ofByteArray());
+                error = respuesta.statusCode() >= 400;
+            } catch (IOException e) {
+                error = true;
+            }
+            long duracion = System.nanoTime() - inicio;
+
+            if (inicio >= inicioMedicion) {
+                latencias.get(operacion).registrar(duracion, error);
+            }
+        }
+        return latencias;
+    }
+
+    private HttpRequest peticion(Operacion operacion, SplittableRandom random, String correo, String token) {
+        return switch (operacion) {
+            case LISTADO -> get("/topicos?page=" + random.nextInt(10) + "&size=10");
+            case DETALLE -> get("/topicos/" + topicos.aleatorio(random));
+            case BUSQUEDA -> get("/topicos/buscar?q="
+                + URLEncoder.encode(terminos.get(random.nextInt(terminos.size())), StandardCharsets.UTF_8)
+                + "&size=10");
+            case CREAR_RESPUESTA -> HttpRequest.newBuilder(uri("/respuestas/topico/" + topicos.aleatorio(random)))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"mensaje\":\"Respuesta de la prueba de carga\"}"))
+                .build();
+            case LOGIN -> login(correo);
+        };
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(uri(ruta)).GET().build();
+    }
+
+    private HttpRequest login(String correo) {
+        String cuerpo = "{\"correoElectronico\":\"" + correo + "\",\"contrasena\":\"" + PruebaCarga.CONTRASENA + "\"}";
+        return HttpRequest.newBuilder(uri("/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+            .build();
+    }
+
+    private String token(HttpRequest login) throws Exception {
+        HttpResponse<String> respuesta = http.send(login, HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo iniciar sesión: " + respuesta.statusCode() + " " + respuesta.body());
+        }
+        JsonNode cuerpo = objectMapper.readTree(respuesta.body());
+        return cuerpo.get("token").asText();
+    }
+
+    private URI uri(String ruta) {
+        return URI.create(baseUrl + ruta);
+    }
+
+    private static Map<Operacion, Latencias> nuevasLatencias() {
+        Map<Operacion, Latencias> latencias = new EnumMap<>(Operacion.class);
+        for (Operacion operacion : Operacion.values()) {
+            latencias.put(operacion, new Latencias());
+        }
+        return latencias;
+    }
+}
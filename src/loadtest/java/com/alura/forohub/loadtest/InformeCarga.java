@@ -0,0 +1,67 @@
+package com.alura.forohub.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resume las latencias por endpoint y las escribe en JSON.
+ */
+final class InformeCarga {
+
+    record ResultadoEndpoint(
+        String endpoint,
+        long peticiones,
+        long errores,
+        double throughputPorSegundo,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        double maxMs
+    ) {}
+
+    record Resultado(
+        int usuarios,
+        int topicos,
+        long respuestas,
+        int clientes,
+        double duracionSegundos,
+        List<ResultadoEndpoint> endpoints
+    ) {}
+
+    private InformeCarga() {
+    }
+
+    static Resultado resumir(ConfiguracionCarga config, Map<Operacion, Latencias> latencias) {
+        double segundos = config.duracion().toMillis() / 1000.0;
+        List<ResultadoEndpoint> endpoints = new ArrayList<>();
+        latencias.forEach((operacion, valores) -> {
+            double[] p = valores.percentilesMs(50, 95, 99, 100);
+            endpoints.add(new ResultadoEndpoint(operacion.endpoint(), valores.cantidad(), valores.errores(),
+                valores.cantidad() / segundos, p[0], p[1], p[2], p[3]));
+        });
+        return new Resultado(config.usuarios(), config.topicos(), config.respuestas(), config.clientes(), segundos, endpoints);
+    }
+
+    static void escribir(Resultado resultado, ConfiguracionCarga config) throws IOException {
+        if (config.salida().getParent() != null) {
+            Files.createDirectories(config.salida().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.salida().toFile(), resultado);
+    }
+
+    static String tabla(Resultado resultado) {
+        StringBuilder tabla = new StringBuilder(String.format("%-32s %10s %8s %10s %9s %9s %9s %9s%n",
+            "Endpoint", "Peticiones", "Errores", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (ResultadoEndpoint e : resultado.endpoints()) {
+            tabla.append(String.format("%-32s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                e.endpoint(), e.peticiones(), e.errores(), e.throughputPorSegundo(), e.p50Ms(), e.p95Ms(), e.p99Ms(), e.maxMs()));
+        }
+        return tabla.toString();
+    }
+}
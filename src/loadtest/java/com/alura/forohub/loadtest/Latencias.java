@@ -0,0 +1,59 @@
+package com.alura.forohub.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencias en nanosegundos registradas por un cliente, en un arreglo primitivo que crece según se necesita.
+ * No es seguro para uso concurrente: cada cliente tiene las suyas y se combinan al final.
+ */
+final class Latencias {
+
+    private long[] valores = new long[1024];
+
+    private int tamano;
+
+    private long errores;
+
+    void registrar(long nanos, boolean error) {
+        if (tamano == valores.length) {
+            valores = Arrays.copyOf(valores, tamano * 2);
+        }
+        valores[tamano++] = nanos;
+        if (error) {
+            errores++;
+        }
+    }
+
+    void agregar(Latencias otras) {
+        if (tamano + otras.tamano > valores.length) {
+            valores = Arrays.copyOf(valores, Math.max(valores.length * 2, tamano + otras.tamano));
+        }
+        System.arraycopy(otras.valores, 0, valores, tamano, otras.tamano);
+        tamano += otras.tamano;
+        errores += otras.errores;
+    }
+
+    int cantidad() {
+        return tamano;
+    }
+
+    long errores() {
+        return errores;
+    }
+
+    /**
+     * Ordena los valores y calcula los percentiles indicados (entre 0 y 100), en milisegundos.
+     */
+    double[] percentilesMs(double... percentiles) {
+        Arrays.sort(valores, 0, tamano);
+        double[] resultado = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (tamano == 0) {
+                continue;
+            }
+            int indice = (int) Math.ceil(percentiles[i] / 100 * tamano) - 1;
+            resultado[i] = valores[Math.max(0, Math.min(indice, tamano - 1))] / 1_000_000.0;
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,40 @@
+package com.alura.forohub.loadtest;
+
+/**
+ * Tipos de petición de la mezcla de carga, con su peso relativo.
+ */
+enum Operacion {
+
+    LISTADO("GET /topicos", 40),
+    DETALLE("GET /topicos/{id}", 30),
+    BUSQUEDA("GET /topicos/buscar", 15),
+    CREAR_RESPUESTA("POST /respuestas/topico/{id}", 10),
+    LOGIN("POST /auth/login", 5);
+
+    private final String endpoint;
+
+    private final int peso;
+
+    Operacion(String endpoint, int peso) {
+        this.endpoint = endpoint;
+        this.peso = peso;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Elige una operación según los pesos a partir de un número entre 0 y 99.
+     */
+    static Operacion elegir(int valor) {
+        int acumulado = 0;
+        for (Operacion operacion : values()) {
+            acumulado += operacion.peso;
+            if (valor < acumulado) {
+                return operacion;
+            }
+        }
+        return LISTADO;
+    }
+}
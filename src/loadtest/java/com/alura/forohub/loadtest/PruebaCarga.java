@@ -0,0 +1,73 @@
+package com.alura.forohub.loadtest;
+
+import com.alura.forohub.ForoHubApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Prueba de carga de extremo a extremo: arranca la aplicación con los perfiles h2 y generador, que siembra los volúmenes pedidos,
+ * y mide latencia y throughput por endpoint con una mezcla de listado, detalle, búsqueda, login y creación de respuestas.
+ *
+ * <p>Uso: {@code ./mvnw -Ploadtest -DskipTests verify -Dloadtest.args="--topicos=1000000 --respuestas=10000000"}</p>
+ */
+public final class PruebaCarga {
+
+    private static final Logger logger = LoggerFactory.getLogger(PruebaCarga.class);
+
+    static final String CONTRASENA = "carga123";
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga config = ConfiguracionCarga.desdeArgumentos(args);
+
+        // Como argumentos de línea de comandos para que prevalezcan sobre application-h2.yml
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(ForoHubApplication.class)
+            .profiles("h2", "generador")
+            .run(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.com.alura.forohub=INFO",
+                "--logging.file.name=target/loadtest.log",
+                "--forohub.generador.usuarios=" + config.usuarios(),
+                "--forohub.generador.topicos=" + config.topicos(),
+                "--forohub.generador.respuestas=" + config.respuestas(),
+                "--forohub.generador.contrasena=" + CONTRASENA,
+                // Crear respuestas en tópicos cerrados fallaría y se contaría como error
+                "--forohub.generador.proporcion-cerrados=0"
+            );
+
+        try {
+            // El generador se ejecuta antes de que se carguen el índice de búsqueda y las estadísticas
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            RangoIds usuarios = rango(jdbc, "usuarios WHERE correo_electronico LIKE '%@generado.test'");
+            RangoIds topicos = rango(jdbc, "topicos");
+
+            String baseUrl = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port")
+                + contexto.getEnvironment().getProperty("server.servlet.context-path", "");
+            logger.info("Ejecutando carga con {} clientes: {} de calentamiento y {} de medición",
+                config.clientes(), config.calentamiento(), config.duracion());
+
+            InformeCarga.Resultado resultado = InformeCarga.resumir(config,
+                new GeneradorCarga(baseUrl, config, usuarios, topicos).ejecutar());
+            InformeCarga.escribir(resultado, config);
+
+            System.out.println(InformeCarga.tabla(resultado));
+            logger.info("Resultados guardados en {}", config.salida().toAbsolutePath());
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private static RangoIds rango(JdbcTemplate jdbc, String origen) {
+        return jdbc.queryForObject("SELECT MIN(id), COUNT(*) FROM " + origen,
+            (fila, numero) -> new RangoIds(fila.getLong(1), fila.getLong(2)));
+    }
+}
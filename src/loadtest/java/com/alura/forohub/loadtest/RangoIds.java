@@ -0,0 +1,13 @@
+package com.alura.forohub.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Rango contiguo de IDs generados.
+ */
+record RangoIds(long primero, long cantidad) {
+
+    long aleatorio(SplittableRandom random) {
+        return primero + random.nextLong(cantidad);
+    }
+}
@@ -2,12 +2,17 @@ package com.alura.forohub;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class ForoHubApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(ForoHubApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(ForoHubApplication.class, args);
+        // Los CommandLineRunner, como el generador de datos, ya terminaron cuando run() devuelve el contexto
+        if (context.getEnvironment().getProperty("forohub.generador.salir", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
\ No newline at end of file
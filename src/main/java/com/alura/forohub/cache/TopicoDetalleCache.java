@@ -0,0 +1,124 @@
+package com.alura.forohub.cache;
+
+import com.alura.forohub.dto.CacheEstadisticasDTO;
+import com.alura.forohub.dto.DetalleTopicoDTO;
+import com.alura.forohub.util.TransaccionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché acotada en memoria del detalle de tópicos (primera página de respuestas), indexada por ID.
+ */
+@Component
+public class TopicoDetalleCache {
+
+    private final Cache<Long, DetalleTopicoDTO> cache;
+
+    private final long tamanoMaximo;
+
+    /**
+     * Se incrementa en cada invalidación; permite descartar valores leídos antes de una escritura.
+     */
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    public TopicoDetalleCache(
+            @Value("${forohub.cache.topico-detalle.max-size:10000}") long tamanoMaximo,
+            @Value("${forohub.cache.topico-detalle.ttl:10m}") Duration ttl) {
+        this.tamanoMaximo = tamanoMaximo;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(tamanoMaximo)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Obtiene el detalle en caché, o null si no está presente.
+     */
+    public DetalleTopicoDTO obtener(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Versión actual de la caché. Debe leerse antes de consultar la base de datos
+     * y pasarse a {@link #guardar} para no almacenar datos obsoletos.
+     */
+    public long version() {
+        return invalidaciones.get();
+    }
+
+    /**
+     * Guarda el detalle si no hubo invalidaciones desde que se leyó la versión indicada.
+     */
+    public void guardar(Long id, DetalleTopicoDTO detalle, long version) {
+        if (invalidaciones.get() != version) {
+            return;
+        }
+
+        cache.put(id, detalle);
+
+        // Una invalidación concurrente entre la comprobación y el put deja el valor obsoleto
+        if (invalidaciones.get() != version) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Invalida el detalle de un tópico de inmediato y de nuevo tras el commit de la transacción actual,
+     * para descartar lecturas concurrentes que hayan visto el estado anterior.
+     */
+    public void invalidar(Long id) {
+        invalidarAhora(id);
+        TransaccionUtils.despuesDeConfirmar(() -> invalidarAhora(id));
+    }
+
+    /**
+     * Invalida todos los detalles, de inmediato y tras el commit. Para cambios que afectan a muchos tópicos,
+     * como el perfil de un autor.
+     */
+    public void invalidarTodo() {
+        invalidarTodoAhora();
+        TransaccionUtils.despuesDeConfirmar(this::invalidarTodoAhora);
+    }
+
+    /**
+     * Obtiene las métricas de aciertos, fallos y desalojos de la caché.
+     */
+    public CacheEstadisticasDTO estadisticas() {
+        CacheStats stats = cache.stats();
+        return new CacheEstadisticasDTO(
+            "topico-detalle",
+            cache.estimatedSize(),
+            tamanoMaximo,
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount()
+        );
+    }
+
+    /**
+     * Publica en el registro de métricas el tamaño, los aciertos, los fallos y los desalojos de la caché.
+     */
+    public void registrarMetricas(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "topico-detalle");
+    }
+
+    private void invalidarAhora(Long id) {
+        invalidaciones.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    private void invalidarTodoAhora() {
+        invalidaciones.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
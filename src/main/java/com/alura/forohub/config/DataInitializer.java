@@ -9,6 +9,7 @@ import com.alura.forohub.repository.PerfilRepository;
 import com.alura.forohub.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -16,8 +17,10 @@ import java.time.LocalDateTime;
 
 /**
  * Componente para inicializar datos por defecto en la base de datos.
+ * Se ejecuta antes que otros CommandLineRunner, como el generador de datos, que dependen de perfiles y cursos.
  */
 @Component
+@Order(0)
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
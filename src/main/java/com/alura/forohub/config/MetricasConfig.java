@@ -0,0 +1,81 @@
+package com.alura.forohub.config;
+
+import com.alura.forohub.cache.TopicoDetalleCache;
+import com.alura.forohub.eventos.DifusorEventosTopico;
+import com.alura.forohub.monitoreo.ConversorJsonMedido;
+import com.alura.forohub.security.JwtUtil;
+import com.alura.forohub.security.PrincipalCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Métricas propias de la aplicación, además de las que registra Actuator
+ * (peticiones HTTP, métodos de repositorio, pool de Hikari, JVM).
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Añade a {@code http.server.requests} la etiqueta {@code handler} con el método del controlador,
+     * p. ej. {@code TopicoController.obtenerTopico}.
+     */
+    @Bean
+    public ServerRequestObservationConvention convencionPeticiones() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    /**
+     * Sustituye al conversor JSON de Spring Boot para medir la serialización (ver FiltroTiemposPeticion).
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ConversorJsonMedido(objectMapper);
+    }
+
+    @Bean
+    public MeterBinder metricasCaches(TopicoDetalleCache topicoDetalleCache, PrincipalCache principalCache,
+                                      JwtUtil jwtUtil) {
+        return registry -> {
+            topicoDetalleCache.registrarMetricas(registry);
+            principalCache.registrarMetricas(registry);
+            jwtUtil.registrarMetricas(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasEventos(DifusorEventosTopico difusorEventosTopico) {
+        return registry -> {
+            Gauge.builder("forohub.eventos.suscriptores", difusorEventosTopico, DifusorEventosTopico::suscriptores)
+                .description("Conexiones SSE abiertas a eventos de tópicos")
+                .register(registry);
+            FunctionCounter.builder("forohub.eventos.expulsiones", difusorEventosTopico, DifusorEventosTopico::expulsiones)
+                .description("Suscriptores desconectados por no consumir los eventos a tiempo")
+                .register(registry);
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod metodo) {
+            return KeyValue.of("handler", metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName());
+        }
+        return KeyValue.of("handler", "ninguno");
+    }
+}
@@ -0,0 +1,12 @@
+package com.alura.forohub.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas, como la reconciliación de estadísticas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package com.alura.forohub.config;
 
+import com.alura.forohub.monitoreo.FiltroTiemposPeticion;
 import com.alura.forohub.security.JwtAuthenticationFilter;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +44,8 @@ public class SecurityConfig {
                 // Endpoints públicos
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/topicos").permitAll()
+                // El feed de cambios expone todas las modificaciones, incluidas las eliminaciones
+                .requestMatchers(HttpMethod.GET, "/topicos/cambios").authenticated()
                 .requestMatchers(HttpMethod.GET, "/topicos/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/cursos").permitAll()
                 
@@ -51,6 +54,7 @@ public class SecurityConfig {
                 
                 // Actuator endpoints
                 .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMINISTRADOR")
                 
                 // H2 Console (solo para desarrollo)
                 .requestMatchers("/h2-console/**").permitAll()
@@ -86,6 +90,8 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Server-Timing legible desde JavaScript; la Resource Timing API la expone con Timing-Allow-Origin
+        configuration.setExposedHeaders(Arrays.asList("ETag", FiltroTiemposPeticion.SERVER_TIMING));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -35,7 +35,7 @@ public class CursoController {
     })
     public ResponseEntity<List<CursoDTO>> listarCursos() {
         List<CursoDTO> cursos = cursoService.listarCursosActivos();
-        return ResponseEntity.ok(cursos);
+        return Etags.conEtag(cursos);
     }
 
     @GetMapping("/paginado")
@@ -47,7 +47,7 @@ public class CursoController {
             @PageableDefault(size = 10, sort = "nombre", direction = Sort.Direction.ASC) Pageable pageable) {
         
         Page<CursoDTO> cursos = cursoService.listarCursosActivos(pageable);
-        return ResponseEntity.ok(cursos);
+        return Etags.conEtag(cursos);
     }
 
     @GetMapping("/categoria/{categoria}")
@@ -59,7 +59,7 @@ public class CursoController {
             @Parameter(description = "Nombre de la categoría") @PathVariable String categoria) {
         
         List<CursoDTO> cursos = cursoService.listarCursosPorCategoria(categoria);
-        return ResponseEntity.ok(cursos);
+        return Etags.conEtag(cursos);
     }
 
     @GetMapping("/buscar")
@@ -71,7 +71,7 @@ public class CursoController {
             @Parameter(description = "Término de búsqueda") @RequestParam String q) {
         
         List<CursoDTO> cursos = cursoService.buscarCursosPorNombre(q);
-        return ResponseEntity.ok(cursos);
+        return Etags.conEtag(cursos);
     }
 
     @GetMapping("/categorias")
@@ -81,6 +81,6 @@ public class CursoController {
     })
     public ResponseEntity<List<String>> listarCategorias() {
         List<String> categorias = cursoService.listarCategorias();
-        return ResponseEntity.ok(categorias);
+        return Etags.conEtag(categorias);
     }
 }
\ No newline at end of file
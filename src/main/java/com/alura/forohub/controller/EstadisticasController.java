@@ -1,5 +1,7 @@
 package com.alura.forohub.controller;
 
+import com.alura.forohub.cache.TopicoDetalleCache;
+import com.alura.forohub.dto.CacheEstadisticasDTO;
 import com.alura.forohub.dto.EstadisticasDTO;
 import com.alura.forohub.service.EstadisticasService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +25,9 @@ public class EstadisticasController {
     @Autowired
     private EstadisticasService estadisticasService;
 
+    @Autowired
+    private TopicoDetalleCache topicoDetalleCache;
+
     @GetMapping
     @Operation(summary = "Obtener estadísticas", description = "Obtiene estadísticas generales del foro")
     @ApiResponses(value = {
@@ -32,4 +37,13 @@ public class EstadisticasController {
         EstadisticasDTO estadisticas = estadisticasService.obtenerEstadisticas();
         return ResponseEntity.ok(estadisticas);
     }
+
+    @GetMapping("/cache")
+    @Operation(summary = "Obtener estadísticas de caché", description = "Obtiene aciertos, fallos y desalojos de la caché de detalle de tópicos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas de caché obtenidas exitosamente")
+    })
+    public ResponseEntity<CacheEstadisticasDTO> obtenerEstadisticasCache() {
+        return ResponseEntity.ok(topicoDetalleCache.estadisticas());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.alura.forohub.controller;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Construcción de ETags fuertes y respuestas condicionales para los endpoints de consulta, y lectura
+ * de If-Match para las ediciones con bloqueo optimista.
+ */
+final class Etags {
+
+    private static final CacheControl REVALIDAR = CacheControl.noCache();
+
+    private Etags() {}
+
+    /**
+     * Calcula un ETag fuerte a partir de la representación textual de las partes dadas.
+     */
+    static String de(Object... partes) {
+        StringBuilder contenido = new StringBuilder();
+        for (Object parte : partes) {
+            contenido.append(parte).append('|');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(contenido.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * ETag con la versión de una entidad, el valor que las ediciones aceptan en If-Match.
+     */
+    static String deVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Extrae la versión de un If-Match ({@code "3"} o {@code W/"3"}). Devuelve {@code null} si no se envió
+     * o es {@code *}, que acepta cualquier versión.
+     */
+    static Long versionEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match debe contener la versión del recurso, por ejemplo \"3\"");
+        }
+    }
+
+    /**
+     * Responde 200 con el cuerpo y su ETag. Si el cliente envía un If-None-Match coincidente,
+     * Spring responde 304 sin serializar el cuerpo.
+     */
+    static <T> ResponseEntity<T> conEtag(T cuerpo) {
+        String etag = cuerpo instanceof Page<?> pagina
+            ? de(pagina.getContent(), pagina.getNumber(), pagina.getSize(), pagina.getTotalElements())
+            : de(cuerpo);
+        return conEtag(cuerpo, etag);
+    }
+
+    /**
+     * Responde 200 con el cuerpo y el ETag indicado.
+     */
+    static <T> ResponseEntity<T> conEtag(T cuerpo, String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).body(cuerpo);
+    }
+
+    /**
+     * Responde 304 Not Modified tras un {@code WebRequest.checkNotModified} positivo,
+     * que ya escribió el ETag en la respuesta.
+     */
+    static <T> ResponseEntity<T> noModificado() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDAR).build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.alura.forohub.controller;
+
+import com.alura.forohub.service.ExportacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controlador para la exportación completa del foro.
+ */
+@RestController
+@RequestMapping("/exportacion")
+@Tag(name = "Exportación", description = "Exportación completa del foro en NDJSON")
+@PreAuthorize("hasRole('ADMINISTRADOR')")
+public class ExportacionController {
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @GetMapping("/topicos")
+    @Operation(summary = "Exportar tópicos",
+               description = "Descarga todos los tópicos en NDJSON, opcionalmente con sus respuestas y comprimidos con gzip")
+    @SecurityRequirement(name = "bearer-key")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso"),
+        @ApiResponse(responseCode = "401", description = "No autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sin permisos de administrador")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarTopicos(
+            @Parameter(description = "Incluir las respuestas de cada tópico") @RequestParam(defaultValue = "false") boolean respuestas,
+            @Parameter(description = "Comprimir con gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+
+        StreamingResponseBody cuerpo = salida -> {
+            if (gzip) {
+                GZIPOutputStream comprimida = new GZIPOutputStream(salida, 64 * 1024);
+                exportacionService.exportarTopicos(comprimida, respuestas);
+                comprimida.finish();
+            } else {
+                exportacionService.exportarTopicos(salida, respuestas);
+            }
+        };
+
+        String archivo = gzip ? "topicos.ndjson.gz" : "topicos.ndjson";
+        return ResponseEntity.ok()
+            .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+            .body(cuerpo);
+    }
+}
@@ -0,0 +1,99 @@
+package com.alura.forohub.controller;
+
+import com.alura.forohub.dto.ProgresoImportacionDTO;
+import com.alura.forohub.dto.RechazoImportacionDTO;
+import com.alura.forohub.service.ImportacionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Controlador para la importación masiva de contenido.
+ */
+@RestController
+@RequestMapping("/importacion")
+@Tag(name = "Importación", description = "Importación masiva de tópicos y respuestas")
+@PreAuthorize("hasRole('ADMINISTRADOR')")
+public class ImportacionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionController.class);
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * La respuesta es NDJSON y se escribe mientras se lee la entrada: una línea {@code rechazo} por cada
+     * registro inválido, una línea {@code lote} por cada lote confirmado y una línea {@code resumen} al final.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importar tópicos y respuestas",
+               description = "Importa registros NDJSON en lotes e informa el progreso y los rechazos a medida que avanza")
+    @SecurityRequirement(name = "bearer-key")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación procesada; el detalle se informa en la respuesta"),
+        @ApiResponse(responseCode = "401", description = "No autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sin permisos de administrador")
+    })
+    public void importar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer salida = response.getWriter();
+
+        BufferedReader entrada = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        try {
+            ProgresoImportacionDTO resumen = importacionService.importar(entrada, new ImportacionService.Observador() {
+                @Override
+                public void rechazo(RechazoImportacionDTO rechazo) {
+                    escribir(salida, "rechazo", rechazo, false);
+                }
+
+                @Override
+                public void loteConfirmado(ProgresoImportacionDTO progreso) {
+                    escribir(salida, "lote", progreso, true);
+                }
+            });
+            escribir(salida, "resumen", resumen, true);
+        } catch (UncheckedIOException e) {
+            // El cliente cerró la conexión
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            // La respuesta ya está en curso: el error se informa como una línea más
+            logger.error("Importación interrumpida", e);
+            escribir(salida, "error", "Importación interrumpida; los lotes confirmados se conservan", true);
+        }
+    }
+
+    private void escribir(Writer salida, String evento, Object contenido, boolean vaciar) {
+        try {
+            salida.write(objectMapper.writeValueAsString(Map.of(evento, contenido)));
+            salida.write('\n');
+            if (vaciar) {
+                salida.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -91,15 +92,18 @@ public class RespuestaController {
         @ApiResponse(responseCode = "400", description = "Datos inválidos"),
         @ApiResponse(responseCode = "401", description = "No autenticado"),
         @ApiResponse(responseCode = "403", description = "Sin permisos para actualizar esta respuesta"),
-        @ApiResponse(responseCode = "404", description = "Respuesta no encontrada")
+        @ApiResponse(responseCode = "404", description = "Respuesta no encontrada"),
+        @ApiResponse(responseCode = "409", description = "La respuesta cambió desde la versión indicada o por una edición simultánea")
     })
     public ResponseEntity<RespuestaDTO> actualizarRespuesta(
             @Parameter(description = "ID de la respuesta") @PathVariable Long id,
+            @Parameter(description = "Versión de la respuesta sobre la que se edita, p. ej. \"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ActualizarRespuestaDTO dto) {
         
         Usuario autor = authenticationService.obtenerUsuarioActual();
-        RespuestaDTO respuesta = respuestaService.actualizarRespuesta(id, dto, autor);
-        return ResponseEntity.ok(respuesta);
+        RespuestaDTO respuesta = respuestaService.actualizarRespuesta(id, dto, Etags.versionEsperada(ifMatch), autor);
+        return ResponseEntity.ok().eTag(Etags.deVersion(respuesta.version())).body(respuesta);
     }
 
     @DeleteMapping("/{id}")
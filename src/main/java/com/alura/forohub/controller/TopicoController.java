@@ -3,6 +3,7 @@ package com.alura.forohub.controller;
 import com.alura.forohub.dto.*;
 import com.alura.forohub.entity.Usuario;
 import com.alura.forohub.service.AuthenticationService;
+import com.alura.forohub.service.CambioService;
 import com.alura.forohub.service.TopicoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,9 +17,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Controlador para la gestión de tópicos.
@@ -34,6 +39,9 @@ public class TopicoController {
     @Autowired
     private AuthenticationService authenticationService;
 
+    @Autowired
+    private CambioService cambioService;
+
     @GetMapping
     @Operation(summary = "Listar tópicos", description = "Obtiene una lista paginada de todos los tópicos")
     @ApiResponses(value = {
@@ -43,20 +51,76 @@ public class TopicoController {
             @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.DESC) Pageable pageable) {
         
         Page<TopicoResponseDTO> topicos = topicoService.listarTopicos(pageable);
-        return ResponseEntity.ok(topicos);
+        return Etags.conEtag(topicos);
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Listar tópicos por cursor",
+               description = "Obtiene tópicos paginados por cursor, sin calcular el total. Enviar 'after' vacío para la primera página")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Porción de tópicos obtenida exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<CursorPageDTO<TopicoResponseDTO>> listarTopicosPorCursor(
+            @Parameter(description = "Cursor opaco devuelto en 'nextCursor'") @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de la porción (máximo 100)") @RequestParam(defaultValue = "10") int size) {
+        
+        CursorPageDTO<TopicoResponseDTO> topicos = topicoService.listarTopicosPorCursor(after, size);
+        return Etags.conEtag(topicos);
+    }
+
+    @GetMapping("/cambios")
+    @Operation(summary = "Feed de cambios",
+               description = "Lista en orden los tópicos y respuestas creados, editados o eliminados después del cursor. " +
+                             "Enviar 'since' vacío para empezar desde el principio")
+    @SecurityRequirement(name = "bearer-key")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cambios obtenidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "401", description = "No autenticado")
+    })
+    public ResponseEntity<CursorPageDTO<CambioDTO>> listarCambios(
+            @Parameter(description = "Cursor opaco devuelto en 'nextCursor'") @RequestParam(required = false) String since,
+            @Parameter(description = "Número máximo de cambios (máximo 1000)") @RequestParam(defaultValue = "100") int size) {
+
+        return ResponseEntity.ok(cambioService.listarCambios(since, size));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Obtener tópico por ID", description = "Obtiene los detalles completos de un tópico específico")
+    @Operation(summary = "Obtener tópico por ID", description = "Obtiene los detalles de un tópico con una página de sus respuestas")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tópico encontrado"),
+        @ApiResponse(responseCode = "304", description = "El tópico no ha cambiado desde el ETag enviado"),
+        @ApiResponse(responseCode = "400", description = "Página de respuestas inválida"),
         @ApiResponse(responseCode = "404", description = "Tópico no encontrado")
     })
     public ResponseEntity<DetalleTopicoDTO> obtenerTopico(
-            @Parameter(description = "ID del tópico") @PathVariable Long id) {
+            @Parameter(description = "ID del tópico") @PathVariable Long id,
+            @Parameter(description = "Página de respuestas (empezando en 0)") @RequestParam(defaultValue = "0") int respuestasPage,
+            @Parameter(description = "Respuestas por página (50 por defecto, máximo 100)") @RequestParam(required = false) Integer respuestasSize,
+            WebRequest request) {
         
-        DetalleTopicoDTO topico = topicoService.obtenerTopicoPorId(id);
-        return ResponseEntity.ok(topico);
+        int tamanoPagina = respuestasSize != null ? respuestasSize : TopicoService.TAMANO_PAGINA_RESPUESTAS;
+
+        // El ETag se deriva de una consulta de versión ligera, sin cargar el tópico ni sus respuestas
+        String etag = Etags.de(topicoService.obtenerVersionTopico(id), respuestasPage, tamanoPagina);
+        if (request.checkNotModified(etag)) {
+            return Etags.noModificado();
+        }
+
+        DetalleTopicoDTO topico = topicoService.obtenerTopicoPorId(id, respuestasPage, tamanoPagina);
+        return Etags.conEtag(topico, etag);
+    }
+
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Eventos del tópico",
+               description = "Stream SSE con las respuestas creadas, editadas y marcadas o desmarcadas como solución")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suscripción abierta"),
+        @ApiResponse(responseCode = "404", description = "Tópico no encontrado")
+    })
+    public SseEmitter suscribirEventos(@Parameter(description = "ID del tópico") @PathVariable Long id) {
+        return topicoService.suscribirEventos(id);
     }
 
     @PostMapping
@@ -82,15 +146,18 @@ public class TopicoController {
         @ApiResponse(responseCode = "400", description = "Datos inválidos"),
         @ApiResponse(responseCode = "401", description = "No autenticado"),
         @ApiResponse(responseCode = "403", description = "Sin permisos para actualizar este tópico"),
-        @ApiResponse(responseCode = "404", description = "Tópico no encontrado")
+        @ApiResponse(responseCode = "404", description = "Tópico no encontrado"),
+        @ApiResponse(responseCode = "409", description = "El tópico cambió desde la versión indicada o por una edición simultánea")
     })
     public ResponseEntity<TopicoResponseDTO> actualizarTopico(
             @Parameter(description = "ID del tópico") @PathVariable Long id,
+            @Parameter(description = "Versión del tópico sobre la que se edita, p. ej. \"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ActualizarTopicoDTO dto) {
         
         Usuario autor = authenticationService.obtenerUsuarioActual();
-        TopicoResponseDTO topico = topicoService.actualizarTopico(id, dto, autor);
-        return ResponseEntity.ok(topico);
+        TopicoResponseDTO topico = topicoService.actualizarTopico(id, dto, Etags.versionEsperada(ifMatch), autor);
+        return ResponseEntity.ok().eTag(Etags.deVersion(topico.version())).body(topico);
     }
 
     @DeleteMapping("/{id}")
@@ -122,7 +189,25 @@ public class TopicoController {
         
         Usuario autor = authenticationService.obtenerUsuarioActual();
         Page<TopicoResponseDTO> topicos = topicoService.listarTopicosPorAutor(autor, pageable);
-        return ResponseEntity.ok(topicos);
+        return Etags.conEtag(topicos);
+    }
+
+    @GetMapping(value = "/mis-topicos", params = "after")
+    @Operation(summary = "Listar mis tópicos por cursor",
+               description = "Obtiene los tópicos del usuario autenticado paginados por cursor")
+    @SecurityRequirement(name = "bearer-key")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Porción de tópicos del usuario"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "401", description = "No autenticado")
+    })
+    public ResponseEntity<CursorPageDTO<TopicoResponseDTO>> listarMisTopicosPorCursor(
+            @Parameter(description = "Cursor opaco devuelto en 'nextCursor'") @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de la porción (máximo 100)") @RequestParam(defaultValue = "10") int size) {
+        
+        Usuario autor = authenticationService.obtenerUsuarioActual();
+        CursorPageDTO<TopicoResponseDTO> topicos = topicoService.listarTopicosPorAutorPorCursor(autor, after, size);
+        return Etags.conEtag(topicos);
     }
 
     @GetMapping("/buscar")
@@ -135,7 +220,21 @@ public class TopicoController {
             @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.DESC) Pageable pageable) {
         
         Page<TopicoResponseDTO> topicos = topicoService.buscarTopicosPorTitulo(q, pageable);
-        return ResponseEntity.ok(topicos);
+        return Etags.conEtag(topicos);
+    }
+
+    @GetMapping(value = "/buscar", params = "modo=relevancia")
+    @Operation(summary = "Buscar tópicos por relevancia",
+               description = "Busca en título y mensaje con el índice en memoria; resultados ordenados por relevancia (BM25)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultados de búsqueda ordenados por relevancia")
+    })
+    public ResponseEntity<Page<TopicoResponseDTO>> buscarTopicosPorRelevancia(
+            @Parameter(description = "Término de búsqueda; la última palabra se trata como prefijo") @RequestParam String q,
+            @PageableDefault(size = 10) Pageable pageable) {
+        
+        Page<TopicoResponseDTO> topicos = topicoService.buscarTopicosPorRelevancia(q, pageable);
+        return Etags.conEtag(topicos);
     }
 
     @GetMapping("/curso/{cursoId}")
@@ -149,6 +248,23 @@ public class TopicoController {
             @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.DESC) Pageable pageable) {
         
         Page<TopicoResponseDTO> topicos = topicoService.listarTopicosPorCurso(cursoId, pageable);
-        return ResponseEntity.ok(topicos);
+        return Etags.conEtag(topicos);
+    }
+
+    @GetMapping(value = "/curso/{cursoId}", params = "after")
+    @Operation(summary = "Listar tópicos por curso con cursor",
+               description = "Obtiene los tópicos de un curso paginados por cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Porción de tópicos del curso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "404", description = "Curso no encontrado")
+    })
+    public ResponseEntity<CursorPageDTO<TopicoResponseDTO>> listarTopicosPorCursoPorCursor(
+            @Parameter(description = "ID del curso") @PathVariable Long cursoId,
+            @Parameter(description = "Cursor opaco devuelto en 'nextCursor'") @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de la porción (máximo 100)") @RequestParam(defaultValue = "10") int size) {
+        
+        CursorPageDTO<TopicoResponseDTO> topicos = topicoService.listarTopicosPorCursoPorCursor(cursoId, after, size);
+        return Etags.conEtag(topicos);
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.alura.forohub.controller;
+
+import com.alura.forohub.dto.CambiarPerfilDTO;
+import com.alura.forohub.dto.UsuarioDTO;
+import com.alura.forohub.service.UsuarioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador para la administración de usuarios.
+ */
+@RestController
+@RequestMapping("/usuarios")
+@Tag(name = "Usuarios", description = "Endpoints de administración de usuarios")
+@PreAuthorize("hasRole('ADMINISTRADOR')")
+public class UsuarioController {
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @PatchMapping("/{id}/desactivar")
+    @Operation(summary = "Desactivar usuario", description = "Desactiva un usuario; sus tokens dejan de ser aceptados")
+    @SecurityRequirement(name = "bearer-key")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Usuario desactivado exitosamente"),
+        @ApiResponse(responseCode = "401", description = "No autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sin permisos de administrador"),
+        @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
+    })
+    public ResponseEntity<UsuarioDTO> desactivarUsuario(
+            @Parameter(description = "ID del usuario") @PathVariable Long id) {
+
+        return ResponseEntity.ok(usuarioService.desactivarUsuario(id));
+    }
+
+    @PutMapping("/{id}/perfil")
+    @Operation(summary = "Cambiar perfil", description = "Asigna otro perfil a un usuario")
+    @SecurityRequirement(name = "bearer-key")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Perfil actualizado exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+        @ApiResponse(responseCode = "401", description = "No autenticado"),
+        @ApiResponse(responseCode = "403", description = "Sin permisos de administrador"),
+        @ApiResponse(responseCode = "404", description = "Usuario o perfil no encontrado")
+    })
+    public ResponseEntity<UsuarioDTO> cambiarPerfil(
+            @Parameter(description = "ID del usuario") @PathVariable Long id,
+            @Valid @RequestBody CambiarPerfilDTO dto) {
+
+        return ResponseEntity.ok(usuarioService.cambiarPerfil(id, dto));
+    }
+}
@@ -0,0 +1,14 @@
+package com.alura.forohub.dto;
+
+/**
+ * DTO con las métricas de uso de una caché en memoria.
+ */
+public record CacheEstadisticasDTO(
+    String nombre,
+    long tamano,
+    long tamanoMaximo,
+    long aciertos,
+    long fallos,
+    double tasaAciertos,
+    long desalojos
+) {}
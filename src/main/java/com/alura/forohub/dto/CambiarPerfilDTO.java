@@ -0,0 +1,11 @@
+package com.alura.forohub.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO para cambiar el perfil de un usuario.
+ */
+public record CambiarPerfilDTO(
+    @NotNull(message = "El perfil es obligatorio")
+    Long perfilId
+) {}
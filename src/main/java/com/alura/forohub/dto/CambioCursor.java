@@ -0,0 +1,42 @@
+package com.alura.forohub.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco del feed de cambios: la posición de la última entrada entregada.
+ */
+public record CambioCursor(Long posicion) {
+
+    /**
+     * Cursor anterior a cualquier cambio registrado.
+     */
+    public static final CambioCursor INICIO = new CambioCursor(0L);
+
+    /**
+     * Codifica el cursor como un token opaco seguro para URLs.
+     */
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicion.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token opaco. Retorna {@link #INICIO} si el token está vacío.
+     */
+    public static CambioCursor decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return INICIO;
+        }
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            long posicion = Long.parseLong(valor);
+            if (posicion < 0) {
+                throw new IllegalArgumentException("Cursor de cambios inválido");
+            }
+            return new CambioCursor(posicion);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de cambios inválido");
+        }
+    }
+}
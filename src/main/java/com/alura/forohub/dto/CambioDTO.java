@@ -0,0 +1,17 @@
+package com.alura.forohub.dto;
+
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de una entrada del feed incremental de cambios.
+ */
+public record CambioDTO(
+    EntidadCambio entidad,
+    Long id,
+    OperacionCambio operacion,
+    Long version,
+    LocalDateTime fecha
+) {}
@@ -0,0 +1,9 @@
+package com.alura.forohub.dto;
+
+/**
+ * Número de respuestas a tópicos de un curso.
+ */
+public record ConteoRespuestasDTO(
+    Long cursoId,
+    Long total
+) {}
@@ -0,0 +1,12 @@
+package com.alura.forohub.dto;
+
+import com.alura.forohub.entity.StatusTopico;
+
+/**
+ * Número de tópicos de un curso con un status dado.
+ */
+public record ConteoTopicosDTO(
+    Long cursoId,
+    StatusTopico status,
+    Long total
+) {}
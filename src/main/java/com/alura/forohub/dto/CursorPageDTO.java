@@ -0,0 +1,13 @@
+package com.alura.forohub.dto;
+
+import java.util.List;
+
+/**
+ * DTO para resultados paginados por cursor (sin conteo total).
+ */
+public record CursorPageDTO<T>(
+    List<T> content,
+    String nextCursor,
+    boolean hasNext,
+    int size
+) {}
@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 /**
- * DTO para el detalle completo de un tópico.
+ * DTO para el detalle de un tópico con una página de sus respuestas.
  */
 public record DetalleTopicoDTO(
     Long id,
@@ -14,7 +14,11 @@ public record DetalleTopicoDTO(
     LocalDateTime fechaCreacion,
     LocalDateTime fechaActualizacion,
     StatusTopico status,
+    Long version,
     UsuarioDTO autor,
     CursoDTO curso,
-    List<RespuestaDTO> respuestas
+    List<RespuestaDTO> respuestas,
+    Integer totalRespuestas,
+    int paginaRespuestas,
+    int totalPaginasRespuestas
 ) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.alura.forohub.dto;
+
+/**
+ * DTO para estadísticas de un curso.
+ */
+public record EstadisticasCursoDTO(
+    Long cursoId,
+    Long totalTopicos,
+    Long totalRespuestas
+) {}
@@ -1,5 +1,7 @@
 package com.alura.forohub.dto;
 
+import java.util.List;
+
 /**
  * DTO para estadísticas generales del foro.
  */
@@ -9,5 +11,7 @@ public record EstadisticasDTO(
     Long totalUsuarios,
     Long totalCursos,
     Long topicosResueltos,
-    Long topicosAbiertos
-) {}
\ No newline at end of file
+    Long topicosAbiertos,
+    Long topicosCerrados,
+    List<EstadisticasCursoDTO> cursos
+) {}
@@ -0,0 +1,12 @@
+package com.alura.forohub.dto;
+
+/**
+ * DTO para el progreso acumulado de una importación tras confirmar un lote.
+ */
+public record ProgresoImportacionDTO(
+    int lotes,
+    long lineas,
+    long topicos,
+    long respuestas,
+    long rechazadas
+) {}
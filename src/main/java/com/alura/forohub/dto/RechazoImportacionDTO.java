@@ -0,0 +1,9 @@
+package com.alura.forohub.dto;
+
+/**
+ * DTO para una línea rechazada durante una importación.
+ */
+public record RechazoImportacionDTO(
+    long linea,
+    String motivo
+) {}
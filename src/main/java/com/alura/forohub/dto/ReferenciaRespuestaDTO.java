@@ -0,0 +1,9 @@
+package com.alura.forohub.dto;
+
+/**
+ * DTO con el ID y la versión de una respuesta, para registrar su eliminación sin cargar la entidad.
+ */
+public record ReferenciaRespuestaDTO(
+    Long id,
+    Long version
+) {}
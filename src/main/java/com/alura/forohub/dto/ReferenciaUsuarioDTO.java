@@ -0,0 +1,9 @@
+package com.alura.forohub.dto;
+
+/**
+ * DTO con el ID y el correo de un usuario, para resolver autores sin cargar la entidad.
+ */
+public record ReferenciaUsuarioDTO(
+    Long id,
+    String correoElectronico
+) {}
@@ -0,0 +1,24 @@
+package com.alura.forohub.dto;
+
+import com.alura.forohub.entity.StatusTopico;
+
+/**
+ * DTO para una línea de la importación NDJSON: un tópico o una respuesta.
+ * Los tópicos declaran una referencia propia ({@code ref}) que las respuestas posteriores usan en {@code topico}.
+ */
+public record RegistroImportacionDTO(
+    String tipo,
+    String ref,
+    String titulo,
+    String mensaje,
+    String curso,
+    String autor,
+    StatusTopico status,
+    String topico,
+    Boolean solucion
+) {
+
+    public static final String TIPO_TOPICO = "topico";
+
+    public static final String TIPO_RESPUESTA = "respuesta";
+}
@@ -11,5 +11,6 @@ public record RespuestaDTO(
     LocalDateTime fechaCreacion,
     LocalDateTime fechaActualizacion,
     UsuarioDTO autor,
-    Boolean solucion
+    Boolean solucion,
+    Long version
 ) {}
\ No newline at end of file
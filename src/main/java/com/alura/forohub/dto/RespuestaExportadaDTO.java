@@ -0,0 +1,25 @@
+package com.alura.forohub.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para una respuesta exportada; {@code topico} es la referencia del tópico exportado.
+ */
+@JsonPropertyOrder({"tipo", "topico"})
+public record RespuestaExportadaDTO(
+    Long id,
+    Long topico,
+    String mensaje,
+    String autor,
+    Boolean solucion,
+    LocalDateTime fechaCreacion
+) {
+
+    @JsonProperty
+    public String tipo() {
+        return RegistroImportacionDTO.TIPO_RESPUESTA;
+    }
+}
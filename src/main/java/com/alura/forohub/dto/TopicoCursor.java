@@ -0,0 +1,54 @@
+package com.alura.forohub.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para la paginación por keyset de tópicos (fecha de creación + ID).
+ */
+public record TopicoCursor(
+    LocalDateTime fechaCreacion,
+    Long id
+) {
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Construye el cursor que apunta al tópico dado.
+     */
+    public static TopicoCursor desde(TopicoResponseDTO topico) {
+        return new TopicoCursor(topico.fechaCreacion(), topico.id());
+    }
+
+    /**
+     * Codifica el cursor como un token opaco seguro para URLs.
+     */
+    public String codificar() {
+        String valor = fechaCreacion + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token opaco. Retorna null si el token está vacío (primera página).
+     */
+    public static TopicoCursor decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            return new TopicoCursor(
+                LocalDateTime.parse(valor.substring(0, separador)),
+                Long.valueOf(valor.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+}
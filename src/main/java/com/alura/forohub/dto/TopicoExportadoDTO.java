@@ -0,0 +1,35 @@
+package com.alura.forohub.dto;
+
+import com.alura.forohub.entity.StatusTopico;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para un tópico exportado. Incluye {@code tipo} y {@code ref}, así que la línea
+ * puede volver a importarse con POST /importacion.
+ */
+@JsonPropertyOrder({"tipo", "ref"})
+public record TopicoExportadoDTO(
+    Long id,
+    String titulo,
+    String mensaje,
+    String curso,
+    String autor,
+    StatusTopico status,
+    LocalDateTime fechaCreacion,
+    LocalDateTime fechaActualizacion,
+    Integer totalRespuestas
+) {
+
+    @JsonProperty
+    public String tipo() {
+        return RegistroImportacionDTO.TIPO_TOPICO;
+    }
+
+    @JsonProperty
+    public String ref() {
+        return String.valueOf(id);
+    }
+}
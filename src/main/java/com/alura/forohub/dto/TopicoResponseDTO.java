@@ -14,5 +14,6 @@ public record TopicoResponseDTO(
     StatusTopico status,
     String autorNombre,
     String cursoNombre,
-    Integer totalRespuestas
+    Integer totalRespuestas,
+    Long version
 ) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.alura.forohub.dto;
+
+/**
+ * Texto indexable de un tópico para la búsqueda por relevancia.
+ */
+public record TopicoTextoDTO(
+    Long id,
+    String titulo,
+    String mensaje
+) {}
@@ -0,0 +1,18 @@
+package com.alura.forohub.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos mínimos que cambian cada vez que cambia el detalle de un tópico; se usan para calcular su ETag.
+ */
+public record TopicoVersionDTO(
+    Long version,
+    LocalDateTime fechaActualizacion,
+    Integer totalRespuestas,
+    LocalDateTime ultimaActualizacionRespuestas,
+    LocalDateTime fechaActualizacionAutor,
+    LocalDateTime ultimaActualizacionAutoresRespuestas,
+    String nombreCurso,
+    String categoriaCurso,
+    String descripcionCurso
+) {}
@@ -0,0 +1,78 @@
+package com.alura.forohub.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del registro de cambios: se escribe en la misma transacción que la modificación
+ * de la entidad y su ID ordena el feed incremental.
+ */
+@Entity
+@Table(name = "cambios", indexes = {
+    @Index(name = "idx_cambio_entidad", columnList = "entidad, entidad_id, id"),
+    @Index(name = "idx_cambio_fecha", columnList = "fecha")
+})
+public class Cambio {
+
+    /**
+     * Autoincremental: los bloques de {@link SecuenciasId} no crecen en el orden de inserción con varias instancias.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entidad", nullable = false, length = 20)
+    private EntidadCambio entidad;
+
+    @Column(name = "entidad_id", nullable = false)
+    private Long entidadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operacion", nullable = false, length = 20)
+    private OperacionCambio operacion;
+
+    /**
+     * Versión de la entidad tras el cambio; en una eliminación, la última que tuvo.
+     */
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+
+    public Cambio() {}
+
+    public Cambio(EntidadCambio entidad, Long entidadId, OperacionCambio operacion, Long version) {
+        this.entidad = entidad;
+        this.entidadId = entidadId;
+        this.operacion = operacion;
+        this.version = version;
+        this.fecha = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public EntidadCambio getEntidad() {
+        return entidad;
+    }
+
+    public Long getEntidadId() {
+        return entidadId;
+    }
+
+    public OperacionCambio getOperacion() {
+        return operacion;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+}
@@ -16,7 +16,9 @@ import java.util.Objects;
 public class Curso {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cursos_id")
+    @TableGenerator(name = "cursos_id", table = SecuenciasId.TABLA, pkColumnName = SecuenciasId.COLUMNA_NOMBRE,
+        valueColumnName = SecuenciasId.COLUMNA_VALOR, pkColumnValue = "cursos", allocationSize = SecuenciasId.ASIGNACION)
     private Long id;
 
     @NotBlank
@@ -36,7 +38,10 @@ public class Curso {
     @Column(name = "activo", nullable = false)
     private Boolean activo = true;
 
-    @OneToMany(mappedBy = "curso", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    /**
+     * Sin cascada: los cursos se desactivan en lugar de eliminarse.
+     */
+    @OneToMany(mappedBy = "curso", fetch = FetchType.LAZY)
     private List<Topico> topicos = new ArrayList<>();
 
     // Constructores
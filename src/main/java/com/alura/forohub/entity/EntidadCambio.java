@@ -0,0 +1,9 @@
+package com.alura.forohub.entity;
+
+/**
+ * Tipo de entidad afectada por un cambio del feed incremental.
+ */
+public enum EntidadCambio {
+    TOPICO,
+    RESPUESTA
+}
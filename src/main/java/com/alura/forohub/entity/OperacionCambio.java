@@ -0,0 +1,13 @@
+package com.alura.forohub.entity;
+
+/**
+ * Operación registrada en el feed incremental de cambios.
+ */
+public enum OperacionCambio {
+    CREACION,
+    ACTUALIZACION,
+    /**
+     * La entidad ya no existe; eliminar un tópico elimina también sus respuestas sin registrarlas una a una
+     */
+    ELIMINACION
+}
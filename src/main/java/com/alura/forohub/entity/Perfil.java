@@ -14,7 +14,9 @@ import java.util.Objects;
 public class Perfil {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "perfiles_id")
+    @TableGenerator(name = "perfiles_id", table = SecuenciasId.TABLA, pkColumnName = SecuenciasId.COLUMNA_NOMBRE,
+        valueColumnName = SecuenciasId.COLUMNA_VALOR, pkColumnValue = "perfiles", allocationSize = SecuenciasId.ASIGNACION)
     private Long id;
 
     @NotBlank
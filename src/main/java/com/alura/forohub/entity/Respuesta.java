@@ -3,7 +3,10 @@ package com.alura.forohub.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,11 +16,17 @@ import java.util.Objects;
  * Entidad que representa una respuesta a un tópico en el foro.
  */
 @Entity
-@Table(name = "respuestas")
+@Table(name = "respuestas", indexes = {
+    @Index(name = "idx_respuesta_topico_fecha", columnList = "topico_id, fecha_creacion, id"),
+    @Index(name = "idx_respuesta_topico_solucion", columnList = "topico_id, solucion"),
+    @Index(name = "idx_respuesta_autor_fecha", columnList = "autor_id, fecha_creacion, id")
+})
 public class Respuesta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "respuestas_id")
+    @TableGenerator(name = "respuestas_id", table = SecuenciasId.TABLA, pkColumnName = SecuenciasId.COLUMNA_NOMBRE,
+        valueColumnName = SecuenciasId.COLUMNA_VALOR, pkColumnValue = "respuestas", allocationSize = SecuenciasId.ASIGNACION)
     private Long id;
 
     @NotBlank
@@ -35,6 +44,7 @@ public class Respuesta {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topico_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Topico topico;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -44,6 +54,14 @@ public class Respuesta {
     @Column(name = "solucion", nullable = false)
     private Boolean solucion = false;
 
+    /**
+     * Versión para el bloqueo optimista; las sentencias masivas que marcan la solución también la incrementan.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructores
     public Respuesta() {}
 
@@ -108,10 +126,14 @@ public class Respuesta {
 
     public void setSolucion(Boolean solucion) {
         this.solucion = solucion;
-        // Si se marca como solución, actualizar el status del tópico
-        if (solucion && topico != null) {
-            topico.marcarComoResuelto();
-        }
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
     // Métodos de utilidad
@@ -0,0 +1,27 @@
+package com.alura.forohub.entity;
+
+/**
+ * Tabla de secuencias compartida por los generadores de IDs de las entidades.
+ * Cada entidad reserva bloques de {@link #ASIGNACION} IDs con el optimizador pooled de Hibernate,
+ * de modo que los inserts no necesitan un viaje a la base de datos por fila y pueden agruparse en lotes.
+ */
+public final class SecuenciasId {
+
+    public static final String TABLA = "secuencias_id";
+
+    public static final String COLUMNA_NOMBRE = "nombre";
+
+    /**
+     * Último valor reservado. Al leer un valor {@code v}, Hibernate toma el bloque de IDs
+     * {@code [v - ASIGNACION + 2, v + 1]} y guarda {@code v + ASIGNACION}.
+     */
+    public static final String COLUMNA_VALOR = "valor";
+
+    /**
+     * Tamaño del bloque reservado en cada acceso a la tabla; coincide con hibernate.jdbc.batch_size.
+     */
+    public static final int ASIGNACION = 50;
+
+    private SecuenciasId() {
+    }
+}
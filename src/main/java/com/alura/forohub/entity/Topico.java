@@ -3,6 +3,7 @@ package com.alura.forohub.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,11 +16,16 @@ import java.util.Objects;
  * Entidad que representa un tópico en el foro.
  */
 @Entity
-@Table(name = "topicos")
+@Table(name = "topicos", indexes = {
+    @Index(name = "idx_topico_curso_fecha", columnList = "curso_id, fecha_creacion, id"),
+    @Index(name = "idx_topico_autor_fecha", columnList = "autor_id, fecha_creacion, id")
+})
 public class Topico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "topicos_id")
+    @TableGenerator(name = "topicos_id", table = SecuenciasId.TABLA, pkColumnName = SecuenciasId.COLUMNA_NOMBRE,
+        valueColumnName = SecuenciasId.COLUMNA_VALOR, pkColumnValue = "topicos", allocationSize = SecuenciasId.ASIGNACION)
     private Long id;
 
     @NotBlank
@@ -52,9 +58,28 @@ public class Topico {
     @JoinColumn(name = "curso_id", nullable = false)
     private Curso curso;
 
-    @OneToMany(mappedBy = "topico", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    /**
+     * Sin cascada de JPA: al eliminar un tópico la base de datos borra sus respuestas (ON DELETE CASCADE).
+     */
+    @OneToMany(mappedBy = "topico", fetch = FetchType.LAZY)
     private List<Respuesta> respuestas = new ArrayList<>();
 
+    /**
+     * Contador desnormalizado de respuestas. Solo se modifica mediante UPDATE atómicos
+     * desde el repositorio, por eso Hibernate nunca lo escribe.
+     */
+    @ColumnDefault("0")
+    @Column(name = "total_respuestas", nullable = false, insertable = false, updatable = false)
+    private Integer totalRespuestas = 0;
+
+    /**
+     * Versión para el bloqueo optimista; las sentencias masivas que cambian el status también la incrementan.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructores
     public Topico() {}
 
@@ -142,15 +167,26 @@ public class Topico {
     public void addRespuesta(Respuesta respuesta) {
         respuestas.add(respuesta);
         respuesta.setTopico(this);
+        totalRespuestas++;
     }
 
     public void removeRespuesta(Respuesta respuesta) {
-        respuestas.remove(respuesta);
+        if (respuestas.remove(respuesta)) {
+            totalRespuestas--;
+        }
         respuesta.setTopico(null);
     }
 
     public int getTotalRespuestas() {
-        return respuestas.size();
+        return totalRespuestas;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
     public boolean tieneRespuestaSolucion() {
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -19,7 +20,9 @@ import java.util.Objects;
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "usuarios_id")
+    @TableGenerator(name = "usuarios_id", table = SecuenciasId.TABLA, pkColumnName = SecuenciasId.COLUMNA_NOMBRE,
+        valueColumnName = SecuenciasId.COLUMNA_VALOR, pkColumnValue = "usuarios", allocationSize = SecuenciasId.ASIGNACION)
     private Long id;
 
     @NotBlank
@@ -46,13 +49,21 @@ public class Usuario {
     @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
+    @UpdateTimestamp
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+
     @Column(name = "activo", nullable = false)
     private Boolean activo = true;
 
-    @OneToMany(mappedBy = "autor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    /**
+     * Sin cascada: los usuarios se desactivan en lugar de eliminarse, y una cascada de JPA cargaría
+     * y borraría su contenido fila por fila.
+     */
+    @OneToMany(mappedBy = "autor", fetch = FetchType.LAZY)
     private List<Topico> topicos = new ArrayList<>();
 
-    @OneToMany(mappedBy = "autor", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "autor", fetch = FetchType.LAZY)
     private List<Respuesta> respuestas = new ArrayList<>();
 
     // Constructores
@@ -114,6 +125,10 @@ public class Usuario {
         this.fechaCreacion = fechaCreacion;
     }
 
+    public LocalDateTime getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
     public Boolean getActivo() {
         return activo;
     }
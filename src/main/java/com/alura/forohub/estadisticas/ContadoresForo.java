@@ -0,0 +1,189 @@
+package com.alura.forohub.estadisticas;
+
+import com.alura.forohub.dto.ConteoRespuestasDTO;
+import com.alura.forohub.dto.ConteoTopicosDTO;
+import com.alura.forohub.dto.EstadisticasCursoDTO;
+import com.alura.forohub.dto.EstadisticasDTO;
+import com.alura.forohub.entity.StatusTopico;
+import com.alura.forohub.util.TransaccionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores en memoria de las estadísticas del foro, mantenidos desde las operaciones de escritura.
+ * Los cambios se aplican tras el commit de la transacción actual, y {@link ReconciliadorEstadisticas}
+ * los corrige periódicamente contra la base de datos.
+ */
+@Component
+public class ContadoresForo {
+
+    private final Map<StatusTopico, AtomicLong> topicosPorStatus = new EnumMap<>(StatusTopico.class);
+
+    private final ConcurrentMap<Long, ContadorCurso> cursos = new ConcurrentHashMap<>();
+
+    private final AtomicLong totalRespuestas = new AtomicLong();
+
+    private final AtomicLong totalUsuarios = new AtomicLong();
+
+    private final AtomicLong totalCursos = new AtomicLong();
+
+    private record ContadorCurso(AtomicLong topicos, AtomicLong respuestas) {
+
+        ContadorCurso() {
+            this(new AtomicLong(), new AtomicLong());
+        }
+    }
+
+    public ContadoresForo() {
+        for (StatusTopico status : StatusTopico.values()) {
+            topicosPorStatus.put(status, new AtomicLong());
+        }
+    }
+
+    /**
+     * Registra un tópico nuevo.
+     */
+    public void topicoCreado(Long cursoId, StatusTopico status) {
+        TransaccionUtils.despuesDeConfirmar(() -> {
+            topicosPorStatus.get(status).incrementAndGet();
+            curso(cursoId).topicos().incrementAndGet();
+        });
+    }
+
+    /**
+     * Registra la eliminación de un tópico junto con sus respuestas.
+     */
+    public void topicoEliminado(Long cursoId, StatusTopico status, long respuestas) {
+        TransaccionUtils.despuesDeConfirmar(() -> {
+            topicosPorStatus.get(status).decrementAndGet();
+            curso(cursoId).topicos().decrementAndGet();
+            curso(cursoId).respuestas().addAndGet(-respuestas);
+            totalRespuestas.addAndGet(-respuestas);
+        });
+    }
+
+    /**
+     * Registra un cambio de curso o de status de un tópico; sus respuestas pasan al nuevo curso.
+     */
+    public void topicoCambiado(Long cursoAnterior, StatusTopico statusAnterior,
+                               Long cursoNuevo, StatusTopico statusNuevo, long respuestas) {
+        if (Objects.equals(cursoAnterior, cursoNuevo) && statusAnterior == statusNuevo) {
+            return;
+        }
+
+        TransaccionUtils.despuesDeConfirmar(() -> {
+            topicosPorStatus.get(statusAnterior).decrementAndGet();
+            topicosPorStatus.get(statusNuevo).incrementAndGet();
+            if (!Objects.equals(cursoAnterior, cursoNuevo)) {
+                curso(cursoAnterior).topicos().decrementAndGet();
+                curso(cursoAnterior).respuestas().addAndGet(-respuestas);
+                curso(cursoNuevo).topicos().incrementAndGet();
+                curso(cursoNuevo).respuestas().addAndGet(respuestas);
+            }
+        });
+    }
+
+    /**
+     * Registra una respuesta nueva en un tópico del curso dado.
+     */
+    public void respuestaCreada(Long cursoId) {
+        TransaccionUtils.despuesDeConfirmar(() -> {
+            totalRespuestas.incrementAndGet();
+            curso(cursoId).respuestas().incrementAndGet();
+        });
+    }
+
+    /**
+     * Registra la eliminación de una respuesta en un tópico del curso dado.
+     */
+    public void respuestaEliminada(Long cursoId) {
+        TransaccionUtils.despuesDeConfirmar(() -> {
+            totalRespuestas.decrementAndGet();
+            curso(cursoId).respuestas().decrementAndGet();
+        });
+    }
+
+    /**
+     * Registra un usuario nuevo.
+     */
+    public void usuarioRegistrado() {
+        TransaccionUtils.despuesDeConfirmar(totalUsuarios::incrementAndGet);
+    }
+
+    /**
+     * Reemplaza todos los contadores por los valores contados en la base de datos.
+     * Retorna la diferencia absoluta en el total de tópicos y respuestas respecto a los valores anteriores.
+     */
+    public long reemplazar(Collection<ConteoTopicosDTO> topicos, Collection<ConteoRespuestasDTO> respuestas,
+                           long usuarios, long totalCursos) {
+        Map<StatusTopico, Long> porStatus = new EnumMap<>(StatusTopico.class);
+        Map<Long, long[]> porCurso = new HashMap<>();
+        for (ConteoTopicosDTO conteo : topicos) {
+            porStatus.merge(conteo.status(), conteo.total(), Long::sum);
+            porCurso.computeIfAbsent(conteo.cursoId(), id -> new long[2])[0] += conteo.total();
+        }
+        long respuestasTotales = 0;
+        for (ConteoRespuestasDTO conteo : respuestas) {
+            respuestasTotales += conteo.total();
+            porCurso.computeIfAbsent(conteo.cursoId(), id -> new long[2])[1] += conteo.total();
+        }
+
+        long desviacion = 0;
+        for (StatusTopico status : StatusTopico.values()) {
+            long anterior = topicosPorStatus.get(status).getAndSet(porStatus.getOrDefault(status, 0L));
+            desviacion += Math.abs(anterior - porStatus.getOrDefault(status, 0L));
+        }
+        desviacion += Math.abs(totalRespuestas.getAndSet(respuestasTotales) - respuestasTotales);
+
+        cursos.keySet().retainAll(porCurso.keySet());
+        porCurso.forEach((cursoId, valores) -> {
+            ContadorCurso contador = curso(cursoId);
+            contador.topicos().set(valores[0]);
+            contador.respuestas().set(valores[1]);
+        });
+
+        totalUsuarios.set(usuarios);
+        this.totalCursos.set(totalCursos);
+        return desviacion;
+    }
+
+    /**
+     * Obtiene las estadísticas actuales sin consultar la base de datos.
+     */
+    public EstadisticasDTO estadisticas() {
+        long resueltos = topicosPorStatus.get(StatusTopico.RESUELTO).get();
+        long abiertos = topicosPorStatus.get(StatusTopico.ABIERTO).get();
+        long cerrados = topicosPorStatus.get(StatusTopico.CERRADO).get();
+        long totalTopicos = topicosPorStatus.values().stream().mapToLong(AtomicLong::get).sum();
+
+        List<EstadisticasCursoDTO> porCurso = cursos.entrySet().stream()
+            .map(e -> new EstadisticasCursoDTO(e.getKey(), e.getValue().topicos().get(), e.getValue().respuestas().get()))
+            .sorted(Comparator.comparing(EstadisticasCursoDTO::cursoId))
+            .toList();
+
+        return new EstadisticasDTO(
+            totalTopicos,
+            totalRespuestas.get(),
+            totalUsuarios.get(),
+            totalCursos.get(),
+            resueltos,
+            abiertos,
+            cerrados,
+            porCurso
+        );
+    }
+
+    private ContadorCurso curso(Long cursoId) {
+        return cursos.computeIfAbsent(cursoId, id -> new ContadorCurso());
+    }
+}
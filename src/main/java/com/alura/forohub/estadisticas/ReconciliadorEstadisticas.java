@@ -0,0 +1,65 @@
+package com.alura.forohub.estadisticas;
+
+import com.alura.forohub.repository.CursoRepository;
+import com.alura.forohub.repository.RespuestaRepository;
+import com.alura.forohub.repository.TopicoRepository;
+import com.alura.forohub.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carga los contadores de estadísticas al arrancar y los reconcilia periódicamente con la base de datos,
+ * corrigiendo la desviación que dejen escrituras concurrentes con una reconciliación anterior.
+ */
+@Component
+public class ReconciliadorEstadisticas {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliadorEstadisticas.class);
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespuestaRepository respuestaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private ContadoresForo contadoresForo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        recargar();
+        logger.info("Estadísticas cargadas desde la base de datos");
+    }
+
+    /**
+     * Vuelve a contar en la base de datos y reemplaza los contadores en memoria.
+     */
+    @Scheduled(fixedDelayString = "${forohub.estadisticas.reconciliacion:PT5M}",
+               initialDelayString = "${forohub.estadisticas.reconciliacion:PT5M}")
+    public void reconciliar() {
+        long desviacion = recargar();
+        if (desviacion > 0) {
+            logger.info("Estadísticas reconciliadas; desviación corregida: {}", desviacion);
+        }
+    }
+
+    private long recargar() {
+        return contadoresForo.reemplazar(
+            topicoRepository.contarPorCursoYStatus(),
+            respuestaRepository.contarPorCurso(),
+            usuarioRepository.count(),
+            cursoRepository.count()
+        );
+    }
+}
@@ -0,0 +1,259 @@
+package com.alura.forohub.eventos;
+
+import com.alura.forohub.util.TransaccionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Difunde en memoria los eventos de cada tópico a sus suscriptores SSE.
+ *
+ * <p>Las conexiones inactivas no ocupan hilos: el emisor usa el procesamiento asíncrono del
+ * servlet y solo un grupo fijo de hilos escribe los eventos. Cada suscriptor tiene un buffer
+ * acotado; si se llena porque el cliente no consume al ritmo de los eventos, se le desconecta
+ * para que un cliente lento no acumule memoria ni retrase a los demás.</p>
+ */
+@Component
+public class DifusorEventosTopico {
+
+    private static final Logger logger = LoggerFactory.getLogger(DifusorEventosTopico.class);
+
+    private static final Set<DataWithMediaType> LATIDO = SseEmitter.event().comment("latido").build();
+
+    private final ConcurrentHashMap<Long, Set<Suscriptor>> suscriptores = new ConcurrentHashMap<>();
+
+    private final AtomicInteger totalSuscriptores = new AtomicInteger();
+
+    private final AtomicLong expulsiones = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+
+    private final int capacidadBuffer;
+
+    private final Duration timeout;
+
+    private final ExecutorService envios;
+
+    @Autowired
+    public DifusorEventosTopico(
+            ObjectMapper objectMapper,
+            @Value("${forohub.eventos.buffer:32}") int capacidadBuffer,
+            @Value("${forohub.eventos.timeout:30m}") Duration timeout,
+            @Value("${forohub.eventos.hilos-envio:4}") int hilosEnvio) {
+        this(objectMapper, capacidadBuffer, timeout, crearHilosEnvio(hilosEnvio));
+    }
+
+    DifusorEventosTopico(ObjectMapper objectMapper, int capacidadBuffer, Duration timeout, ExecutorService envios) {
+        this.objectMapper = objectMapper;
+        this.capacidadBuffer = capacidadBuffer;
+        this.timeout = timeout;
+        this.envios = envios;
+    }
+
+    /**
+     * Registra un nuevo suscriptor a los eventos de un tópico. El cliente debe reconectarse
+     * al expirar el timeout; los eventos emitidos mientras estaba desconectado no se reenvían.
+     */
+    public SseEmitter suscribir(Long topicoId) {
+        SseEmitter emisor = new SseEmitter(timeout.toMillis());
+        Suscriptor suscriptor = new Suscriptor(topicoId, emisor, new ArrayBlockingQueue<>(capacidadBuffer));
+        emisor.onTimeout(emisor::complete);
+        emisor.onCompletion(() -> quitar(suscriptor));
+        emisor.onError(error -> quitar(suscriptor));
+
+        // Alta y baja se hacen dentro de compute para no añadir a un conjunto que otro hilo acaba de retirar
+        suscriptores.compute(topicoId, (id, actuales) -> {
+            Set<Suscriptor> delTopico = actuales != null ? actuales : ConcurrentHashMap.newKeySet();
+            delTopico.add(suscriptor);
+            return delTopico;
+        });
+        totalSuscriptores.incrementAndGet();
+
+        // Confirma la conexión enseguida, sin esperar al primer evento
+        encolar(suscriptor, SseEmitter.event().comment("conectado").build());
+        return emisor;
+    }
+
+    /**
+     * Publica un evento a los suscriptores del tópico tras el commit de la transacción actual.
+     */
+    public void publicar(Long topicoId, TipoEventoTopico tipo, Object datos) {
+        TransaccionUtils.despuesDeConfirmar(() -> difundir(topicoId, tipo, datos));
+    }
+
+    /**
+     * Desconecta a los suscriptores de un tópico tras el commit, p. ej. al eliminarlo.
+     */
+    public void cerrar(Long topicoId) {
+        TransaccionUtils.despuesDeConfirmar(() -> {
+            Set<Suscriptor> delTopico = suscriptores.get(topicoId);
+            if (delTopico != null) {
+                delTopico.forEach(this::expulsar);
+            }
+        });
+    }
+
+    /**
+     * Envía un comentario periódico a todas las conexiones para que los proxies no las cierren
+     * por inactividad y para detectar las que el cliente ya abandonó.
+     */
+    @Scheduled(fixedDelayString = "${forohub.eventos.latido:PT30S}",
+               initialDelayString = "${forohub.eventos.latido:PT30S}")
+    public void enviarLatidos() {
+        suscriptores.values().forEach(delTopico -> delTopico.forEach(suscriptor -> encolar(suscriptor, LATIDO)));
+    }
+
+    /**
+     * Número de conexiones abiertas en todos los tópicos.
+     */
+    public int suscriptores() {
+        return totalSuscriptores.get();
+    }
+
+    /**
+     * Número de suscriptores desconectados por no consumir los eventos a tiempo.
+     */
+    public long expulsiones() {
+        return expulsiones.get();
+    }
+
+    @PreDestroy
+    void detener() {
+        suscriptores.values().forEach(delTopico -> delTopico.forEach(suscriptor -> suscriptor.emisor().complete()));
+        envios.shutdownNow();
+    }
+
+    private static ExecutorService crearHilosEnvio(int hilosEnvio) {
+        AtomicInteger hilos = new AtomicInteger();
+        return Executors.newFixedThreadPool(hilosEnvio, tarea -> {
+            Thread hilo = new Thread(tarea, "eventos-topico-" + hilos.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    private void difundir(Long topicoId, TipoEventoTopico tipo, Object datos) {
+        Set<Suscriptor> delTopico = suscriptores.get(topicoId);
+        if (delTopico == null || delTopico.isEmpty()) {
+            return;
+        }
+
+        // Se serializa una sola vez para todos los suscriptores
+        Set<DataWithMediaType> evento;
+        try {
+            evento = SseEmitter.event()
+                .name(tipo.getNombre())
+                .data(objectMapper.writeValueAsString(datos), MediaType.APPLICATION_JSON)
+                .build();
+        } catch (JsonProcessingException e) {
+            logger.error("No se pudo serializar el evento {} del tópico {}", tipo, topicoId, e);
+            return;
+        }
+
+        delTopico.forEach(suscriptor -> encolar(suscriptor, evento));
+    }
+
+    private void encolar(Suscriptor suscriptor, Set<DataWithMediaType> evento) {
+        if (suscriptor.expulsado().get()) {
+            return;
+        }
+        if (suscriptor.pendientes().offer(evento)) {
+            programarEnvio(suscriptor);
+        } else {
+            expulsiones.incrementAndGet();
+            expulsar(suscriptor);
+        }
+    }
+
+    /**
+     * Lo quita del tópico de inmediato; el emisor se completa desde el hilo de envío,
+     * que puede estar bloqueado escribiendo a ese mismo cliente.
+     */
+    private void expulsar(Suscriptor suscriptor) {
+        if (suscriptor.expulsado().compareAndSet(false, true)) {
+            quitar(suscriptor);
+            suscriptor.pendientes().clear();
+            programarEnvio(suscriptor);
+        }
+    }
+
+    private void programarEnvio(Suscriptor suscriptor) {
+        if (suscriptor.enviando().compareAndSet(false, true)) {
+            envios.execute(() -> enviarPendientes(suscriptor));
+        }
+    }
+
+    private void enviarPendientes(Suscriptor suscriptor) {
+        do {
+            if (suscriptor.expulsado().get()) {
+                suscriptor.emisor().complete();
+                return;
+            }
+
+            Set<DataWithMediaType> evento;
+            while (!suscriptor.expulsado().get() && (evento = suscriptor.pendientes().poll()) != null) {
+                try {
+                    suscriptor.emisor().send(evento);
+                } catch (IOException | IllegalStateException e) {
+                    // El cliente cerró la conexión o el emisor ya se completó
+                    suscriptor.expulsado().set(true);
+                    quitar(suscriptor);
+                    return;
+                }
+            }
+
+            suscriptor.enviando().set(false);
+            // Un evento encolado tras vaciar el buffer no programó envío porque este seguía en curso
+        } while ((suscriptor.expulsado().get() || !suscriptor.pendientes().isEmpty())
+            && suscriptor.enviando().compareAndSet(false, true));
+    }
+
+    private void quitar(Suscriptor suscriptor) {
+        suscriptores.computeIfPresent(suscriptor.topicoId(), (id, actuales) -> {
+            if (actuales.remove(suscriptor)) {
+                totalSuscriptores.decrementAndGet();
+            }
+            return actuales.isEmpty() ? null : actuales;
+        });
+    }
+
+    private record Suscriptor(Long topicoId, SseEmitter emisor, BlockingQueue<Set<DataWithMediaType>> pendientes,
+                              AtomicBoolean enviando, AtomicBoolean expulsado) {
+
+        Suscriptor(Long topicoId, SseEmitter emisor, BlockingQueue<Set<DataWithMediaType>> pendientes) {
+            this(topicoId, emisor, pendientes, new AtomicBoolean(), new AtomicBoolean());
+        }
+
+        // Identidad por instancia: dos conexiones al mismo tópico son suscriptores distintos
+        @Override
+        public boolean equals(Object otro) {
+            return this == otro;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
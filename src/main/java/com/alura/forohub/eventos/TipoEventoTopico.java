@@ -0,0 +1,25 @@
+package com.alura.forohub.eventos;
+
+/**
+ * Tipos de evento emitidos a los suscriptores de un tópico, con su nombre en el stream SSE.
+ */
+public enum TipoEventoTopico {
+
+    RESPUESTA_CREADA("respuesta-creada"),
+    RESPUESTA_ACTUALIZADA("respuesta-actualizada"),
+    /**
+     * La respuesta pasa a ser la única solución; cualquier solución anterior deja de serlo.
+     */
+    SOLUCION_MARCADA("solucion-marcada"),
+    SOLUCION_DESMARCADA("solucion-desmarcada");
+
+    private final String nombre;
+
+    TipoEventoTopico(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+}
@@ -0,0 +1,67 @@
+package com.alura.forohub.generador;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribución de Zipf sobre los rangos {@code 0..n-1}: el rango k tiene probabilidad proporcional a 1/(k+1)^s.
+ * Guarda la función de distribución acumulada para muestrear con búsqueda binaria.
+ */
+final class DistribucionZipf {
+
+    private final double[] acumulada;
+
+    DistribucionZipf(int n, double exponente) {
+        if (n < 1) {
+            throw new IllegalArgumentException("La distribución necesita al menos un elemento");
+        }
+
+        acumulada = new double[n];
+        double suma = 0;
+        for (int k = 0; k < n; k++) {
+            suma += 1 / Math.pow(k + 1, exponente);
+            acumulada[k] = suma;
+        }
+        for (int k = 0; k < n; k++) {
+            acumulada[k] /= suma;
+        }
+        acumulada[n - 1] = 1.0;
+    }
+
+    int tamano() {
+        return acumulada.length;
+    }
+
+    /**
+     * Probabilidad del rango k.
+     */
+    double probabilidad(int k) {
+        return k == 0 ? acumulada[0] : acumulada[k] - acumulada[k - 1];
+    }
+
+    /**
+     * Obtiene un rango al azar según la distribución.
+     */
+    int muestra(SplittableRandom random) {
+        int indice = Arrays.binarySearch(acumulada, random.nextDouble());
+        return indice >= 0 ? indice : -indice - 1;
+    }
+
+    /**
+     * Reparte {@code total} unidades entre los rangos en proporción a su probabilidad, de forma exacta:
+     * el resto del redondeo se asigna a los rangos más probables.
+     */
+    int[] repartir(long total) {
+        int[] cantidades = new int[acumulada.length];
+        long asignadas = 0;
+        for (int k = 0; k < cantidades.length; k++) {
+            cantidades[k] = (int) Math.min(Integer.MAX_VALUE, (long) Math.floor(total * probabilidad(k)));
+            asignadas += cantidades[k];
+        }
+        for (int k = 0; asignadas < total; k = (k + 1) % cantidades.length) {
+            cantidades[k]++;
+            asignadas++;
+        }
+        return cantidades;
+    }
+}
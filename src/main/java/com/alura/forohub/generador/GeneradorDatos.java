@@ -0,0 +1,370 @@
+package com.alura.forohub.generador;
+
+import com.alura.forohub.entity.SecuenciasId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Genera usuarios, tópicos y respuestas sintéticos para pruebas de rendimiento. Se activa con el perfil {@code generador}.
+ *
+ * <p>Inserta con JDBC por lotes y sentencias de varias filas, repartiendo el trabajo entre varios productores
+ * con su propia conexión. Las respuestas por tópico siguen una distribución de Zipf, igual que los cursos
+ * y los autores elegidos. Los IDs se asignan de forma explícita dentro de un rango reservado en la tabla de secuencias.</p>
+ */
+@Component
+@Profile("generador")
+@Order(1)
+public class GeneradorDatos implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorDatos.class);
+
+    private static final int USUARIOS_POR_TAREA = 10_000;
+
+    private static final int TOPICOS_POR_TAREA = 1_000;
+
+    private static final long SEGUNDOS_POR_ANIO = 365L * 24 * 3600;
+
+    static final String[] TEMAS = {
+        "spring", "java", "jpa", "hibernate", "docker", "react", "typescript", "mysql", "jwt", "seguridad",
+        "maven", "kotlin", "python", "junit", "mockito", "flyway", "redis", "kafka", "angular", "css"
+    };
+
+    private static final String[] PLANTILLAS = {
+        "Error al configurar %s con %s",
+        "¿Cómo integrar %s en un proyecto de %s?",
+        "Duda sobre el rendimiento de %s y %s",
+        "Problema de dependencias entre %s y %s"
+    };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${forohub.generador.usuarios:100000}")
+    private int usuarios;
+
+    @Value("${forohub.generador.topicos:1000000}")
+    private int topicos;
+
+    @Value("${forohub.generador.respuestas:10000000}")
+    private long respuestas;
+
+    @Value("${forohub.generador.productores:0}")
+    private int productores;
+
+    @Value("${forohub.generador.filas-por-sentencia:500}")
+    private int filasPorSentencia;
+
+    @Value("${forohub.generador.sentencias-por-lote:10}")
+    private int sentenciasPorLote;
+
+    @Value("${forohub.generador.exponente-respuestas:1.0}")
+    private double exponenteRespuestas;
+
+    @Value("${forohub.generador.exponente-cursos:1.0}")
+    private double exponenteCursos;
+
+    @Value("${forohub.generador.exponente-autores:0.8}")
+    private double exponenteAutores;
+
+    @Value("${forohub.generador.proporcion-resueltos:0.25}")
+    private double proporcionResueltos;
+
+    @Value("${forohub.generador.proporcion-cerrados:0.05}")
+    private double proporcionCerrados;
+
+    @Value("${forohub.generador.contrasena:generado123}")
+    private String contrasena;
+
+    @Value("${forohub.generador.semilla:42}")
+    private long semilla;
+
+    /**
+     * Temas que aparecen en los títulos generados; sirven como términos de búsqueda con resultados.
+     */
+    public static List<String> temas() {
+        return List.of(TEMAS);
+    }
+
+    /**
+     * Correo del usuario generado con el ID dado; la contraseña es {@code forohub.generador.contrasena}.
+     */
+    public static String correo(long id) {
+        return "usuario" + id + "@generado.test";
+    }
+
+    static String titulo(long indice) {
+        String plantilla = PLANTILLAS[(int) (indice % PLANTILLAS.length)];
+        return String.format(plantilla, TEMAS[(int) (indice * 7 % TEMAS.length)], TEMAS[(int) (indice * 13 % TEMAS.length)])
+            + " #" + indice;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        generar();
+    }
+
+    /**
+     * Genera los volúmenes configurados.
+     */
+    public void generar() throws Exception {
+        int hilos = productores > 0 ? productores : Runtime.getRuntime().availableProcessors();
+        Long perfilId = jdbcTemplate.queryForObject(
+            "SELECT id FROM perfiles WHERE tipo = 'USUARIO' ORDER BY id LIMIT 1", Long.class);
+        List<Long> cursos = jdbcTemplate.queryForList("SELECT id FROM cursos WHERE activo = TRUE ORDER BY id", Long.class);
+        if (perfilId == null || cursos.isEmpty()) {
+            throw new IllegalStateException("Se requieren el perfil USUARIO y al menos un curso activo");
+        }
+
+        logger.info("Generando {} usuarios, {} tópicos y {} respuestas con {} productores",
+            usuarios, topicos, respuestas, hilos);
+
+        String hash = passwordEncoder.encode(contrasena);
+        long primerUsuario = reservarIds("usuarios", usuarios);
+        long primerTopico = reservarIds("topicos", topicos);
+        long primerRespuesta = reservarIds("respuestas", respuestas);
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            long inicio = System.currentTimeMillis();
+            List<Tarea> tareasUsuarios = new ArrayList<>();
+            for (int desde = 0; desde < usuarios; desde += USUARIOS_POR_TAREA) {
+                int d = desde;
+                int h = Math.min(usuarios, desde + USUARIOS_POR_TAREA);
+                tareasUsuarios.add(conexion -> insertarUsuarios(conexion, primerUsuario, d, h, perfilId, hash));
+            }
+            ejecutar(ejecutor, tareasUsuarios);
+            informar("usuarios", usuarios, inicio);
+
+            inicio = System.currentTimeMillis();
+            PlanTopicos plan = planificar(primerUsuario, primerTopico, primerRespuesta, cursos);
+            AtomicLong respuestasInsertadas = new AtomicLong();
+            List<Tarea> tareasTopicos = new ArrayList<>();
+            for (int desde = 0; desde < topicos; desde += TOPICOS_POR_TAREA) {
+                int d = desde;
+                int h = Math.min(topicos, desde + TOPICOS_POR_TAREA);
+                tareasTopicos.add(conexion -> respuestasInsertadas.addAndGet(insertarTopicos(conexion, plan, d, h)));
+            }
+            ejecutar(ejecutor, tareasTopicos);
+            informar("tópicos", topicos, inicio);
+            informar("respuestas", respuestasInsertadas.get(), inicio);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Trabajo de un productor sobre su propia conexión; la transacción se confirma al terminar.
+     */
+    @FunctionalInterface
+    private interface Tarea {
+        void ejecutar(Connection conexion) throws SQLException;
+    }
+
+    /**
+     * Datos compartidos y de solo lectura que necesitan los productores de tópicos.
+     */
+    private record PlanTopicos(
+        long primerUsuario,
+        long primerTopico,
+        long primerRespuesta,
+        List<Long> cursos,
+        int[] respuestasPorTopico,
+        long[] primeraRespuestaDe,
+        DistribucionZipf autores,
+        long multiplicadorAutores,
+        DistribucionZipf distribucionCursos,
+        LocalDateTime inicio
+    ) {}
+
+    private PlanTopicos planificar(long primerUsuario, long primerTopico, long primerRespuesta, List<Long> cursos) {
+        // Se reparten las respuestas por rango de popularidad y se desordenan para no favorecer a los primeros IDs
+        int[] porRango = new DistribucionZipf(topicos, exponenteRespuestas).repartir(respuestas);
+        int[] porTopico = new int[topicos];
+        long multiplicador = multiplicadorCoprimo(topicos);
+        for (int rango = 0; rango < topicos; rango++) {
+            porTopico[permutar(rango, topicos, multiplicador)] = porRango[rango];
+        }
+
+        long[] primeraRespuestaDe = new long[topicos];
+        long acumuladas = 0;
+        for (int i = 0; i < topicos; i++) {
+            primeraRespuestaDe[i] = primerRespuesta + acumuladas;
+            acumuladas += porTopico[i];
+        }
+
+        return new PlanTopicos(primerUsuario, primerTopico, primerRespuesta, cursos, porTopico, primeraRespuestaDe,
+            new DistribucionZipf(usuarios, exponenteAutores), multiplicadorCoprimo(usuarios),
+            new DistribucionZipf(cursos.size(), exponenteCursos),
+            LocalDateTime.now().minusYears(1));
+    }
+
+    private void insertarUsuarios(Connection conexion, long primerId, int desde, int hasta,
+                                  Long perfilId, String hash) throws SQLException {
+        Timestamp fecha = Timestamp.valueOf(LocalDateTime.now().minusYears(1));
+        try (InsercionMultiFila insercion = new InsercionMultiFila(conexion, "usuarios",
+                new String[] {"id", "nombre", "correo_electronico", "contrasena", "perfil_id", "fecha_creacion",
+                    "fecha_actualizacion", "activo"},
+                filasPorSentencia, sentenciasPorLote)) {
+            for (int i = desde; i < hasta; i++) {
+                long id = primerId + i;
+                insercion.agregar(id, "Usuario " + id, correo(id), hash, perfilId, fecha, fecha, true);
+            }
+            insercion.vaciar();
+        }
+    }
+
+    private long insertarTopicos(Connection conexion, PlanTopicos plan, int desde, int hasta) throws SQLException {
+        SplittableRandom random = new SplittableRandom(semilla + desde);
+        long segundosPorTopico = Math.max(1, SEGUNDOS_POR_ANIO / topicos);
+
+        try (InsercionMultiFila insercionTopicos = new InsercionMultiFila(conexion, "topicos",
+                new String[] {"id", "titulo", "mensaje", "fecha_creacion", "fecha_actualizacion", "status",
+                    "autor_id", "curso_id", "total_respuestas"},
+                filasPorSentencia, sentenciasPorLote);
+             InsercionMultiFila insercionRespuestas = new InsercionMultiFila(conexion, "respuestas",
+                new String[] {"id", "mensaje", "fecha_creacion", "fecha_actualizacion", "topico_id", "autor_id", "solucion"},
+                filasPorSentencia, sentenciasPorLote)) {
+
+            String[] status = new String[hasta - desde];
+            for (int i = desde; i < hasta; i++) {
+                int totalRespuestas = plan.respuestasPorTopico()[i];
+                double azar = random.nextDouble();
+                status[i - desde] = azar < proporcionCerrados ? "CERRADO"
+                    : azar < proporcionCerrados + proporcionResueltos && totalRespuestas > 0 ? "RESUELTO"
+                    : "ABIERTO";
+
+                Timestamp fecha = Timestamp.valueOf(plan.inicio().plusSeconds(i * segundosPorTopico));
+                insercionTopicos.agregar(plan.primerTopico() + i, titulo(i),
+                    "Mensaje del tópico " + i + " sobre " + TEMAS[i % TEMAS.length], fecha, fecha, status[i - desde],
+                    autor(plan, random), plan.cursos().get(plan.distribucionCursos().muestra(random)), totalRespuestas);
+            }
+            // Los tópicos deben existir antes que sus respuestas
+            insercionTopicos.vaciar();
+
+            for (int i = desde; i < hasta; i++) {
+                LocalDateTime fechaTopico = plan.inicio().plusSeconds(i * segundosPorTopico);
+                long primerId = plan.primeraRespuestaDe()[i];
+                for (int j = 0; j < plan.respuestasPorTopico()[i]; j++) {
+                    Timestamp fecha = Timestamp.valueOf(fechaTopico.plusSeconds(j + 1L));
+                    boolean solucion = j == 0 && "RESUELTO".equals(status[i - desde]);
+                    insercionRespuestas.agregar(primerId + j, "Respuesta " + (primerId + j), fecha, fecha,
+                        plan.primerTopico() + i, autor(plan, random), solucion);
+                }
+            }
+            insercionRespuestas.vaciar();
+            return insercionRespuestas.filasInsertadas();
+        }
+    }
+
+    private long autor(PlanTopicos plan, SplittableRandom random) {
+        return plan.primerUsuario() + permutar(plan.autores().muestra(random), usuarios, plan.multiplicadorAutores());
+    }
+
+    /**
+     * Biyección de {@code 0..n-1} en sí mismo, para desacoplar la popularidad del orden de los IDs.
+     * El multiplicador debe ser coprimo con n.
+     */
+    static int permutar(int rango, int n, long multiplicador) {
+        return (int) (rango * multiplicador % n);
+    }
+
+    static long multiplicadorCoprimo(int n) {
+        long multiplicador = 1_000_003L;
+        while (mcd(multiplicador, n) != 1) {
+            multiplicador += 2;
+        }
+        return multiplicador;
+    }
+
+    private static long mcd(long a, long b) {
+        return b == 0 ? a : mcd(b, a % b);
+    }
+
+    private void ejecutar(ExecutorService ejecutor, List<Tarea> tareas) throws Exception {
+        List<Future<?>> pendientes = new ArrayList<>();
+        for (Tarea tarea : tareas) {
+            pendientes.add(ejecutor.submit(() -> {
+                try (Connection conexion = dataSource.getConnection()) {
+                    conexion.setAutoCommit(false);
+                    tarea.ejecutar(conexion);
+                    conexion.commit();
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> pendiente : pendientes) {
+                pendiente.get();
+            }
+        } catch (ExecutionException e) {
+            pendientes.forEach(p -> p.cancel(true));
+            throw (e.getCause() instanceof Exception causa) ? causa : e;
+        }
+    }
+
+    /**
+     * Reserva un rango de IDs en la tabla de secuencias para insertarlos de forma explícita.
+     * Hibernate seguirá asignando bloques a partir del final del rango, así que no hay colisiones
+     * con las entidades creadas por la aplicación mientras el generador trabaja.
+     */
+    private long reservarIds(String secuencia, long cantidad) {
+        return transactionTemplate.execute(estado -> {
+            List<Long> valores = jdbcTemplate.queryForList(
+                "SELECT " + SecuenciasId.COLUMNA_VALOR + " FROM " + SecuenciasId.TABLA
+                    + " WHERE " + SecuenciasId.COLUMNA_NOMBRE + " = ? FOR UPDATE", Long.class, secuencia);
+            long maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + secuencia, Long.class);
+
+            // Hibernate pudo haber repartido IDs hasta el valor guardado + 1
+            long primero = Math.max(valores.isEmpty() ? 1 : valores.get(0) + 2, maximo + 1);
+            // Su próximo bloque, al leer el nuevo valor v, empieza en v - ASIGNACION + 2: justo tras el rango
+            long nuevoValor = primero + cantidad + SecuenciasId.ASIGNACION - 2;
+
+            if (valores.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO " + SecuenciasId.TABLA + " (" + SecuenciasId.COLUMNA_NOMBRE + ", "
+                    + SecuenciasId.COLUMNA_VALOR + ") VALUES (?, ?)", secuencia, nuevoValor);
+            } else {
+                jdbcTemplate.update("UPDATE " + SecuenciasId.TABLA + " SET " + SecuenciasId.COLUMNA_VALOR + " = ? WHERE "
+                    + SecuenciasId.COLUMNA_NOMBRE + " = ?", nuevoValor, secuencia);
+            }
+            return primero;
+        });
+    }
+
+    private void informar(String entidad, long cantidad, long inicio) {
+        long milisegundos = Math.max(1, System.currentTimeMillis() - inicio);
+        logger.info("Generados {} {} en {} s ({} filas/s)", cantidad, entidad, milisegundos / 1000,
+            cantidad * 1000 / milisegundos);
+    }
+}
@@ -0,0 +1,102 @@
+package com.alura.forohub.generador;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * Acumula filas y las inserta con sentencias INSERT de varias filas, agrupadas a su vez en lotes JDBC.
+ * No es segura para uso concurrente; cada productor usa la suya sobre su propia conexión.
+ */
+final class InsercionMultiFila implements AutoCloseable {
+
+    private final Connection conexion;
+
+    private final String prefijo;
+
+    private final String fila;
+
+    private final int columnas;
+
+    private final int filasPorSentencia;
+
+    private final int sentenciasPorLote;
+
+    private final PreparedStatement sentencia;
+
+    private final Object[] pendientes;
+
+    private int filasPendientes;
+
+    private int sentenciasEnLote;
+
+    private long filasInsertadas;
+
+    InsercionMultiFila(Connection conexion, String tabla, String[] columnas,
+                       int filasPorSentencia, int sentenciasPorLote) throws SQLException {
+        this.conexion = conexion;
+        this.prefijo = "INSERT INTO " + tabla + " (" + String.join(", ", columnas) + ") VALUES ";
+        this.fila = "(" + String.join(", ", Collections.nCopies(columnas.length, "?")) + ")";
+        this.columnas = columnas.length;
+        this.filasPorSentencia = filasPorSentencia;
+        this.sentenciasPorLote = sentenciasPorLote;
+        this.sentencia = conexion.prepareStatement(sql(filasPorSentencia));
+        this.pendientes = new Object[filasPorSentencia * columnas.length];
+    }
+
+    /**
+     * Agrega una fila con los valores en el orden de las columnas.
+     */
+    void agregar(Object... valores) throws SQLException {
+        System.arraycopy(valores, 0, pendientes, filasPendientes * columnas, columnas);
+        filasPendientes++;
+        if (filasPendientes == filasPorSentencia) {
+            asignarParametros(sentencia, filasPendientes);
+            sentencia.addBatch();
+            filasInsertadas += filasPendientes;
+            filasPendientes = 0;
+            if (++sentenciasEnLote == sentenciasPorLote) {
+                sentencia.executeBatch();
+                sentenciasEnLote = 0;
+            }
+        }
+    }
+
+    /**
+     * Ejecuta el lote pendiente y las filas que no completaron una sentencia. No confirma la transacción.
+     */
+    void vaciar() throws SQLException {
+        if (sentenciasEnLote > 0) {
+            sentencia.executeBatch();
+            sentenciasEnLote = 0;
+        }
+        if (filasPendientes > 0) {
+            try (PreparedStatement resto = conexion.prepareStatement(sql(filasPendientes))) {
+                asignarParametros(resto, filasPendientes);
+                resto.executeUpdate();
+            }
+            filasInsertadas += filasPendientes;
+            filasPendientes = 0;
+        }
+    }
+
+    long filasInsertadas() {
+        return filasInsertadas;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        sentencia.close();
+    }
+
+    private void asignarParametros(PreparedStatement destino, int filas) throws SQLException {
+        for (int i = 0; i < filas * columnas; i++) {
+            destino.setObject(i + 1, pendientes[i]);
+        }
+    }
+
+    private String sql(int filas) {
+        return prefijo + String.join(", ", Collections.nCopies(filas, fila));
+    }
+}
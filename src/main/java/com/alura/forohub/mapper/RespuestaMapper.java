@@ -32,7 +32,8 @@ public class RespuestaMapper {
             respuesta.getFechaCreacion(),
             respuesta.getFechaActualizacion(),
             autorDTO,
-            respuesta.getSolucion()
+            respuesta.getSolucion(),
+            respuesta.getVersion()
         );
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.alura.forohub.mapper;
 
 import com.alura.forohub.dto.*;
+import com.alura.forohub.entity.Respuesta;
 import com.alura.forohub.entity.Topico;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -13,6 +15,9 @@ import java.util.stream.Collectors;
 @Component
 public class TopicoMapper {
 
+    @Autowired
+    private RespuestaMapper respuestaMapper;
+
     public TopicoResponseDTO toResponseDTO(Topico topico) {
         return new TopicoResponseDTO(
             topico.getId(),
@@ -22,11 +27,32 @@ public class TopicoMapper {
             topico.getStatus(),
             topico.getAutor().getNombre(),
             topico.getCurso().getNombre(),
+            topico.getTotalRespuestas(),
+            topico.getVersion()
+        );
+    }
+
+    /**
+     * Convierte un tópico con autor y curso cargados en su registro de exportación.
+     */
+    public TopicoExportadoDTO toExportadoDTO(Topico topico) {
+        return new TopicoExportadoDTO(
+            topico.getId(),
+            topico.getTitulo(),
+            topico.getMensaje(),
+            topico.getCurso().getNombre(),
+            topico.getAutor().getCorreoElectronico(),
+            topico.getStatus(),
+            topico.getFechaCreacion(),
+            topico.getFechaActualizacion(),
             topico.getTotalRespuestas()
         );
     }
 
-    public DetalleTopicoDTO toDetalleDTO(Topico topico) {
+    /**
+     * Construye el detalle de un tópico con la página de respuestas indicada.
+     */
+    public DetalleTopicoDTO toDetalleDTO(Topico topico, List<Respuesta> respuestas, int pagina, int tamanoPagina) {
         UsuarioDTO autorDTO = new UsuarioDTO(
             topico.getAutor().getId(),
             topico.getAutor().getNombre(),
@@ -47,28 +73,13 @@ public class TopicoMapper {
             topico.getCurso().getDescripcion()
         );
 
-        List<RespuestaDTO> respuestasDTO = topico.getRespuestas().stream()
-            .map(respuesta -> new RespuestaDTO(
-                respuesta.getId(),
-                respuesta.getMensaje(),
-                respuesta.getFechaCreacion(),
-                respuesta.getFechaActualizacion(),
-                new UsuarioDTO(
-                    respuesta.getAutor().getId(),
-                    respuesta.getAutor().getNombre(),
-                    respuesta.getAutor().getCorreoElectronico(),
-                    respuesta.getAutor().getFechaCreacion(),
-                    new PerfilDTO(
-                        respuesta.getAutor().getPerfil().getId(),
-                        respuesta.getAutor().getPerfil().getNombre(),
-                        respuesta.getAutor().getPerfil().getTipo(),
-                        respuesta.getAutor().getPerfil().getDescripcion()
-                    )
-                ),
-                respuesta.getSolucion()
-            ))
+        List<RespuestaDTO> respuestasDTO = respuestas.stream()
+            .map(respuestaMapper::toDTO)
             .collect(Collectors.toList());
 
+        int totalRespuestas = topico.getTotalRespuestas();
+        int totalPaginas = (totalRespuestas + tamanoPagina - 1) / tamanoPagina;
+
         return new DetalleTopicoDTO(
             topico.getId(),
             topico.getTitulo(),
@@ -76,9 +87,13 @@ public class TopicoMapper {
             topico.getFechaCreacion(),
             topico.getFechaActualizacion(),
             topico.getStatus(),
+            topico.getVersion(),
             autorDTO,
             cursoDTO,
-            respuestasDTO
+            respuestasDTO,
+            totalRespuestas,
+            pagina,
+            totalPaginas
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.alura.forohub.monitoreo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON que mide la serialización de los cuerpos de respuesta como fase de la petición.
+ *
+ * <p>Si la respuesta debe llevar Server-Timing, serializa primero en memoria para incluir la
+ * serialización en la cabecera, que ya no se puede añadir una vez enviado el cuerpo. El resto de
+ * respuestas se escriben directamente, y su medición incluye la escritura al cliente.</p>
+ */
+public class ConversorJsonMedido extends MappingJackson2HttpMessageConverter {
+
+    public ConversorJsonMedido(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        TiemposPeticion tiempos = TiemposPeticion.actual();
+        if (tiempos == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        if (!tiempos.conCabecera()) {
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                TiemposPeticion.registrar(FasePeticion.SERIALIZACION, System.nanoTime() - inicio);
+            }
+            return;
+        }
+
+        ByteArrayOutputStream cuerpo = new ByteArrayOutputStream();
+        super.writeInternal(object, type, new MensajeEnMemoria(outputMessage.getHeaders(), cuerpo));
+        TiemposPeticion.registrar(FasePeticion.SERIALIZACION, System.nanoTime() - inicio);
+
+        outputMessage.getHeaders().set(FiltroTiemposPeticion.SERVER_TIMING, tiempos.cabeceraServerTiming());
+        outputMessage.getHeaders().set(FiltroTiemposPeticion.TIMING_ALLOW_ORIGIN, "*");
+        cuerpo.writeTo(outputMessage.getBody());
+    }
+
+    /**
+     * Mensaje que comparte las cabeceras de la respuesta pero acumula el cuerpo en memoria.
+     */
+    private static class MensajeEnMemoria implements HttpOutputMessage {
+
+        private final HttpHeaders cabeceras;
+        private final OutputStream cuerpo;
+
+        MensajeEnMemoria(HttpHeaders cabeceras, OutputStream cuerpo) {
+            this.cabeceras = cabeceras;
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return cabeceras;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return cuerpo;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.alura.forohub.monitoreo;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Cuenta cada ejecución JDBC de Hibernate y su duración en {@link SentenciasSql}.
+ * Un lote de inserts o updates cuenta como una sola ejecución.
+ *
+ * <p>Hibernate crea una instancia por sesión a partir de {@code hibernate.session.events.auto}.</p>
+ */
+public class EscuchaSentenciasSql implements SessionEventListener {
+
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SentenciasSql.registrar(System.nanoTime() - inicio);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SentenciasSql.registrar(System.nanoTime() - inicio);
+    }
+}
@@ -0,0 +1,34 @@
+package com.alura.forohub.monitoreo;
+
+/**
+ * Fases de una petición cuyo tiempo se mide por separado. El tiempo en la base de datos
+ * se obtiene de {@link SentenciasSql} y no es una fase: se solapa con las demás.
+ */
+public enum FasePeticion {
+
+    AUTENTICACION("auth", "Token JWT"),
+    MAPEO("mapeo", "Entidades a DTOs"),
+    SERIALIZACION("serializacion", "JSON");
+
+    private final String nombre;
+    private final String descripcion;
+
+    FasePeticion(String nombre, String descripcion) {
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+    }
+
+    /**
+     * Nombre en la cabecera Server-Timing y en la etiqueta {@code fase} de las métricas.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Descripción en la cabecera Server-Timing; solo admite ASCII.
+     */
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
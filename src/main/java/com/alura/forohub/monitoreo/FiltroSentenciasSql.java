@@ -0,0 +1,87 @@
+package com.alura.forohub.monitoreo;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las sentencias SQL y el tiempo en la base de datos de cada petición HTTP, los publica como
+ * métricas por URI y avisa en el log de las peticiones que superan los umbrales, típico de un N+1.
+ *
+ * <p>Se ejecuta antes que la cadena de seguridad para incluir la carga del usuario autenticado.
+ * Solo cuenta lo ejecutado en el hilo de la petición, no en el procesamiento asíncrono.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FiltroSentenciasSql extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FiltroSentenciasSql.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forohub.sql.umbral-sentencias:20}")
+    private long umbralSentencias = 20;
+
+    @Value("${forohub.sql.umbral-tiempo:500ms}")
+    private Duration umbralTiempo = Duration.ofMillis(500);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SentenciasSql.Instantanea antes = SentenciasSql.instantanea();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            registrar(request, SentenciasSql.instantanea().desde(antes));
+        }
+    }
+
+    private void registrar(HttpServletRequest request, SentenciasSql.Instantanea medicion) {
+        String uri = uri(request);
+
+        DistributionSummary.builder("forohub.sql.sentencias")
+            .description("Sentencias SQL ejecutadas por petición HTTP")
+            .tags("method", request.getMethod(), "uri", uri)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(medicion.sentencias());
+        Timer.builder("forohub.sql.tiempo")
+            .description("Tiempo en la base de datos por petición HTTP")
+            .tags("method", request.getMethod(), "uri", uri)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(medicion.nanos(), TimeUnit.NANOSECONDS);
+
+        if (medicion.sentencias() > umbralSentencias || medicion.nanos() > umbralTiempo.toNanos()) {
+            logger.warn("{} {} ejecutó {} sentencias SQL en {} ms", request.getMethod(), request.getRequestURI(),
+                medicion.sentencias(), medicion.milisegundos());
+        }
+    }
+
+    /**
+     * Etiqueta {@code uri} de las métricas por petición. El patrón de la ruta mantiene acotadas
+     * las etiquetas; las peticiones sin handler se agrupan todas en una.
+     */
+    static String uri(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return patron != null ? patron.toString() : "DESCONOCIDA";
+    }
+}
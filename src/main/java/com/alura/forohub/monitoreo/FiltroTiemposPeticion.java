@@ -0,0 +1,88 @@
+package com.alura.forohub.monitoreo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide por fases cada petición HTTP (autenticación, mapeo y serialización) y publica un histograma
+ * por fase y URI.
+ *
+ * <p>Las peticiones con la cabecera {@code X-Server-Timing: true}, más una fracción de muestreo
+ * configurable, reciben además la cabecera {@code Server-Timing} con el desglose, la base de datos
+ * y el total, visible en las herramientas de desarrollo del navegador. Las respuestas JSON la
+ * reciben de {@link ConversorJsonMedido} antes de escribir el cuerpo; las respuestas sin cuerpo,
+ * al terminar la petición. Las respuestas en streaming no la llevan.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class FiltroTiemposPeticion extends OncePerRequestFilter {
+
+    public static final String SOLICITUD = "X-Server-Timing";
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    public static final String TIMING_ALLOW_ORIGIN = "Timing-Allow-Origin";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forohub.server-timing.muestreo:0}")
+    private double muestreo = 0;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        TiemposPeticion tiempos = TiemposPeticion.iniciar(conCabecera(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TiemposPeticion.terminar();
+            if (tiempos.conCabecera() && !response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                agregarCabecera(response, tiempos);
+            }
+            registrar(request, tiempos);
+        }
+    }
+
+    /**
+     * Añade la cabecera Server-Timing; el navegador solo la expone a otros orígenes con Timing-Allow-Origin.
+     */
+    private static void agregarCabecera(HttpServletResponse response, TiemposPeticion tiempos) {
+        response.setHeader(SERVER_TIMING, tiempos.cabeceraServerTiming());
+        response.setHeader(TIMING_ALLOW_ORIGIN, "*");
+    }
+
+    private boolean conCabecera(HttpServletRequest request) {
+        return Boolean.parseBoolean(request.getHeader(SOLICITUD))
+            || (muestreo > 0 && ThreadLocalRandom.current().nextDouble() < muestreo);
+    }
+
+    private void registrar(HttpServletRequest request, TiemposPeticion tiempos) {
+        String uri = FiltroSentenciasSql.uri(request);
+        for (FasePeticion fase : FasePeticion.values()) {
+            long nanos = tiempos.nanos(fase);
+            if (nanos >= 0) {
+                Timer.builder("forohub.peticion.fase")
+                    .description("Tiempo por fase de la petición HTTP")
+                    .tags("method", request.getMethod(), "uri", uri, "fase", fase.getNombre())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
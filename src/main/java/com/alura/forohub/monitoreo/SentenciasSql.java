@@ -0,0 +1,54 @@
+package com.alura.forohub.monitoreo;
+
+/**
+ * Contadores por hilo de las sentencias SQL ejecutadas y del tiempo que pasaron en la base de datos.
+ *
+ * <p>Son acumulativos y nunca se reinician: una medición es la diferencia entre dos
+ * {@link #instantanea()} del mismo hilo, así que las mediciones anidadas (una petición dentro
+ * de un test, por ejemplo) no se interfieren.</p>
+ */
+public final class SentenciasSql {
+
+    private static final ThreadLocal<Acumulado> ACUMULADO = ThreadLocal.withInitial(Acumulado::new);
+
+    private SentenciasSql() {}
+
+    /**
+     * Totales del hilo actual hasta este momento.
+     */
+    public static Instantanea instantanea() {
+        Acumulado acumulado = ACUMULADO.get();
+        return new Instantanea(acumulado.sentencias, acumulado.nanos);
+    }
+
+    /**
+     * Suma una ejecución de sentencia (o de lote) al hilo actual.
+     */
+    static void registrar(long nanos) {
+        Acumulado acumulado = ACUMULADO.get();
+        acumulado.sentencias++;
+        acumulado.nanos += nanos;
+    }
+
+    /**
+     * Sentencias ejecutadas y nanosegundos en la base de datos, acumulados o entre dos instantáneas.
+     */
+    public record Instantanea(long sentencias, long nanos) {
+
+        /**
+         * Lo ejecutado entre la instantánea anterior y esta.
+         */
+        public Instantanea desde(Instantanea anterior) {
+            return new Instantanea(sentencias - anterior.sentencias, nanos - anterior.nanos);
+        }
+
+        public long milisegundos() {
+            return nanos / 1_000_000;
+        }
+    }
+
+    private static final class Acumulado {
+        private long sentencias;
+        private long nanos;
+    }
+}
@@ -0,0 +1,118 @@
+package com.alura.forohub.monitoreo;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Tiempos por fase de la petición HTTP en curso en el hilo actual.
+ *
+ * <p>{@link FiltroTiemposPeticion} abre la medición al recibir la petición; fuera de ella
+ * (tareas programadas, hilos de envío de eventos) medir no registra nada.</p>
+ */
+public final class TiemposPeticion {
+
+    private static final ThreadLocal<TiemposPeticion> ACTUAL = new ThreadLocal<>();
+
+    private static final FasePeticion[] FASES = FasePeticion.values();
+
+    private final long inicio = System.nanoTime();
+
+    private final SentenciasSql.Instantanea sentenciasAlInicio = SentenciasSql.instantanea();
+
+    private final long[] nanos = new long[FASES.length];
+
+    private final boolean[] medidas = new boolean[FASES.length];
+
+    private final boolean cabecera;
+
+    private TiemposPeticion(boolean cabecera) {
+        this.cabecera = cabecera;
+    }
+
+    /**
+     * Ejecuta la operación y suma su duración a la fase indicada de la petición en curso.
+     */
+    public static <T> T medir(FasePeticion fase, Supplier<T> operacion) {
+        TiemposPeticion actual = ACTUAL.get();
+        if (actual == null) {
+            return operacion.get();
+        }
+        long comienzo = System.nanoTime();
+        try {
+            return operacion.get();
+        } finally {
+            actual.sumar(fase, System.nanoTime() - comienzo);
+        }
+    }
+
+    /**
+     * Suma a la fase una duración medida por quien llama.
+     */
+    public static void registrar(FasePeticion fase, long nanos) {
+        TiemposPeticion actual = ACTUAL.get();
+        if (actual != null) {
+            actual.sumar(fase, nanos);
+        }
+    }
+
+    /**
+     * Medición de la petición en curso, o {@code null} si el hilo no atiende una.
+     */
+    public static TiemposPeticion actual() {
+        return ACTUAL.get();
+    }
+
+    static TiemposPeticion iniciar(boolean cabecera) {
+        TiemposPeticion tiempos = new TiemposPeticion(cabecera);
+        ACTUAL.set(tiempos);
+        return tiempos;
+    }
+
+    static void terminar() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * Indica si la respuesta debe llevar la cabecera Server-Timing.
+     */
+    public boolean conCabecera() {
+        return cabecera;
+    }
+
+    /**
+     * Nanosegundos acumulados en la fase, o -1 si no se midió en esta petición.
+     */
+    public long nanos(FasePeticion fase) {
+        return medidas[fase.ordinal()] ? nanos[fase.ordinal()] : -1;
+    }
+
+    /**
+     * Valor de la cabecera Server-Timing con las fases medidas hasta ahora, la base de datos y el total.
+     */
+    public String cabeceraServerTiming() {
+        StringBuilder valor = new StringBuilder();
+        for (FasePeticion fase : FASES) {
+            if (medidas[fase.ordinal()]) {
+                agregar(valor, fase.getNombre(), fase.getDescripcion(), nanos[fase.ordinal()]);
+            }
+        }
+        SentenciasSql.Instantanea sql = SentenciasSql.instantanea().desde(sentenciasAlInicio);
+        agregar(valor, "db", sql.sentencias() + " sentencias SQL", sql.nanos());
+        agregar(valor, "total", "Servidor", System.nanoTime() - inicio);
+        return valor.toString();
+    }
+
+    private void sumar(FasePeticion fase, long duracion) {
+        nanos[fase.ordinal()] += duracion;
+        medidas[fase.ordinal()] = true;
+    }
+
+    private static void agregar(StringBuilder valor, String nombre, String descripcion, long nanos) {
+        if (!valor.isEmpty()) {
+            valor.append(", ");
+        }
+        valor.append(nombre)
+            .append(";desc=\"").append(descripcion).append('"')
+            .append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
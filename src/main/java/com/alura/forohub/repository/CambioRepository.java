@@ -0,0 +1,40 @@
+package com.alura.forohub.repository;
+
+import com.alura.forohub.entity.Cambio;
+import com.alura.forohub.entity.OperacionCambio;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para el registro de cambios del feed incremental.
+ */
+@Repository
+public interface CambioRepository extends JpaRepository<Cambio, Long> {
+
+    /**
+     * Cambios posteriores al ID indicado, en orden de registro.
+     */
+    @Query("SELECT c FROM Cambio c WHERE c.id > :despuesDe ORDER BY c.id")
+    List<Cambio> findDespuesDe(@Param("despuesDe") Long despuesDe, Pageable pageable);
+
+    /**
+     * IDs de entradas anteriores a la fecha indicada que una entrada posterior de la misma entidad deja obsoletas.
+     */
+    @Query("SELECT c.id FROM Cambio c WHERE c.fecha < :limite AND EXISTS (" +
+           "SELECT 1 FROM Cambio n WHERE n.entidad = c.entidad AND n.entidadId = c.entidadId AND n.id > c.id) " +
+           "ORDER BY c.id")
+    List<Long> findIdsSuperados(@Param("limite") LocalDateTime limite, Pageable pageable);
+
+    /**
+     * IDs de entradas de la operación indicada anteriores a la fecha dada.
+     */
+    @Query("SELECT c.id FROM Cambio c WHERE c.operacion = :operacion AND c.fecha < :limite ORDER BY c.id")
+    List<Long> findIdsPorOperacionAnterioresA(@Param("operacion") OperacionCambio operacion,
+                                              @Param("limite") LocalDateTime limite, Pageable pageable);
+}
@@ -1,15 +1,21 @@
 package com.alura.forohub.repository;
 
+import com.alura.forohub.dto.ConteoRespuestasDTO;
+import com.alura.forohub.dto.ReferenciaRespuestaDTO;
+import com.alura.forohub.dto.RespuestaExportadaDTO;
 import com.alura.forohub.entity.Respuesta;
 import com.alura.forohub.entity.Topico;
 import com.alura.forohub.entity.Usuario;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,19 +26,49 @@ import java.util.Optional;
 public interface RespuestaRepository extends JpaRepository<Respuesta, Long> {
     
     /**
-     * Obtiene las respuestas de un tópico ordenadas por fecha de creación.
+     * Obtiene las respuestas de un tópico ordenadas por fecha de creación, con autor y perfil cargados.
      */
-    List<Respuesta> findByTopicoOrderByFechaCreacionAsc(Topico topico);
+    @Query("SELECT r FROM Respuesta r JOIN FETCH r.autor a JOIN FETCH a.perfil " +
+           "WHERE r.topico = :topico ORDER BY r.fechaCreacion ASC")
+    List<Respuesta> findByTopicoOrderByFechaCreacionAsc(@Param("topico") Topico topico);
     
     /**
-     * Obtiene las respuestas de un tópico con paginación.
+     * Obtiene las respuestas de un tópico con paginación, con autor y perfil cargados.
      */
-    Page<Respuesta> findByTopicoOrderByFechaCreacionAsc(Topico topico, Pageable pageable);
+    @Query(value = "SELECT r FROM Respuesta r JOIN FETCH r.autor a JOIN FETCH a.perfil " +
+                   "WHERE r.topico = :topico ORDER BY r.fechaCreacion ASC",
+           countQuery = "SELECT COUNT(r) FROM Respuesta r WHERE r.topico = :topico")
+    Page<Respuesta> findByTopicoOrderByFechaCreacionAsc(@Param("topico") Topico topico, Pageable pageable);
     
     /**
-     * Obtiene las respuestas de un autor específico.
+     * Obtiene una página de respuestas de un tópico con autor y perfil cargados (sin consulta de conteo).
      */
-    Page<Respuesta> findByAutorOrderByFechaCreacionDesc(Usuario autor, Pageable pageable);
+    @Query("SELECT r FROM Respuesta r JOIN FETCH r.autor a JOIN FETCH a.perfil " +
+           "WHERE r.topico.id = :topicoId ORDER BY r.fechaCreacion ASC, r.id ASC")
+    List<Respuesta> findPaginaByTopicoId(@Param("topicoId") Long topicoId, Pageable pageable);
+
+    /**
+     * Obtiene el ID y la versión de las respuestas de un tópico, sin cargar las entidades.
+     */
+    @Query("SELECT new com.alura.forohub.dto.ReferenciaRespuestaDTO(r.id, r.version) " +
+           "FROM Respuesta r WHERE r.topico.id = :topicoId")
+    List<ReferenciaRespuestaDTO> findReferenciasByTopicoId(@Param("topicoId") Long topicoId);
+    
+    /**
+     * Obtiene las respuestas de los tópicos dados para exportarlas, agrupadas por tópico.
+     */
+    @Query("SELECT new com.alura.forohub.dto.RespuestaExportadaDTO(r.id, r.topico.id, r.mensaje, " +
+           "r.autor.correoElectronico, r.solucion, r.fechaCreacion) " +
+           "FROM Respuesta r WHERE r.topico.id IN :topicoIds ORDER BY r.topico.id, r.id")
+    List<RespuestaExportadaDTO> findExportablesByTopicoIdIn(@Param("topicoIds") Collection<Long> topicoIds);
+    
+    /**
+     * Obtiene las respuestas de un autor específico, con el autor y su perfil cargados.
+     */
+    @Query(value = "SELECT r FROM Respuesta r JOIN FETCH r.autor a JOIN FETCH a.perfil " +
+                   "WHERE r.autor = :autor ORDER BY r.fechaCreacion DESC",
+           countQuery = "SELECT COUNT(r) FROM Respuesta r WHERE r.autor = :autor")
+    Page<Respuesta> findByAutorOrderByFechaCreacionDesc(@Param("autor") Usuario autor, Pageable pageable);
     
     /**
      * Busca una respuesta por ID con autor y perfil cargados.
@@ -45,6 +81,24 @@ public interface RespuestaRepository extends JpaRepository<Respuesta, Long> {
      */
     List<Respuesta> findByTopicoAndSolucionTrue(Topico topico);
     
+    /**
+     * Deja a la respuesta indicada como única solución del tópico en una sola sentencia.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Respuesta r SET r.solucion = CASE WHEN r.id = :respuestaId THEN true ELSE false END, " +
+           "r.fechaActualizacion = :ahora, r.version = r.version + 1 " +
+           "WHERE r.topico.id = :topicoId AND (r.solucion = true OR r.id = :respuestaId)")
+    int marcarUnicaSolucion(@Param("topicoId") Long topicoId, @Param("respuestaId") Long respuestaId,
+                            @Param("ahora") LocalDateTime ahora);
+    
+    /**
+     * Desmarca una respuesta como solución; devuelve 0 si no lo era.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Respuesta r SET r.solucion = false, r.fechaActualizacion = :ahora, r.version = r.version + 1 " +
+           "WHERE r.id = :id AND r.solucion = true")
+    int desmarcarSolucion(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+    
     /**
      * Cuenta el número de respuestas de un tópico.
      */
@@ -54,4 +108,16 @@ public interface RespuestaRepository extends JpaRepository<Respuesta, Long> {
      * Verifica si un tópico tiene respuestas marcadas como solución.
      */
     boolean existsByTopicoAndSolucionTrue(Topico topico);
-}
\ No newline at end of file
+
+    /**
+     * Verifica si un tópico tiene otra solución además de la respuesta indicada.
+     */
+    boolean existsByTopicoAndSolucionTrueAndIdNot(Topico topico, Long id);
+    
+    /**
+     * Cuenta las respuestas agrupadas por el curso de su tópico, para reconciliar las estadísticas.
+     */
+    @Query("SELECT new com.alura.forohub.dto.ConteoRespuestasDTO(t.curso.id, COUNT(r)) " +
+           "FROM Respuesta r JOIN r.topico t GROUP BY t.curso.id")
+    List<ConteoRespuestasDTO> contarPorCurso();
+}
@@ -1,15 +1,31 @@
 package com.alura.forohub.repository;
 
+import com.alura.forohub.dto.ConteoTopicosDTO;
+import com.alura.forohub.dto.TopicoResponseDTO;
+import com.alura.forohub.dto.TopicoTextoDTO;
+import com.alura.forohub.dto.TopicoVersionDTO;
+import com.alura.forohub.entity.StatusTopico;
 import com.alura.forohub.entity.Topico;
 import com.alura.forohub.entity.Usuario;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Topico.
@@ -17,15 +33,26 @@ import java.util.Optional;
 @Repository
 public interface TopicoRepository extends JpaRepository<Topico, Long> {
     
+    /**
+     * Proyección de listado: selecciona solo las columnas de TopicoResponseDTO en una única consulta.
+     */
+    String RESUMEN = "SELECT new com.alura.forohub.dto.TopicoResponseDTO(" +
+                     "t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version) " +
+                     "FROM Topico t JOIN t.autor a JOIN t.curso c ";
+    
     /**
      * Obtiene todos los tópicos ordenados por fecha de creación descendente.
      */
-    Page<Topico> findAllByOrderByFechaCreacionDesc(Pageable pageable);
+    @Query(value = RESUMEN + "ORDER BY t.fechaCreacion DESC",
+           countQuery = "SELECT COUNT(t) FROM Topico t")
+    Page<TopicoResponseDTO> findAllByOrderByFechaCreacionDesc(Pageable pageable);
     
     /**
      * Obtiene los tópicos de un autor específico ordenados por fecha de creación descendente.
      */
-    Page<Topico> findByAutorOrderByFechaCreacionDesc(Usuario autor, Pageable pageable);
+    @Query(value = RESUMEN + "WHERE t.autor = :autor ORDER BY t.fechaCreacion DESC",
+           countQuery = "SELECT COUNT(t) FROM Topico t WHERE t.autor = :autor")
+    Page<TopicoResponseDTO> findByAutorOrderByFechaCreacionDesc(@Param("autor") Usuario autor, Pageable pageable);
     
     /**
      * Busca un tópico por ID con todos sus detalles cargados (autor, curso).
@@ -34,27 +61,164 @@ public interface TopicoRepository extends JpaRepository<Topico, Long> {
     Optional<Topico> findByIdWithDetails(@Param("id") Long id);
     
     /**
-     * Busca un tópico por ID con todos sus detalles y respuestas cargados.
+     * Busca un tópico por ID bloqueando su fila hasta el final de la transacción, para que no se le
+     * agreguen respuestas mientras se elimina.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Topico t WHERE t.id = :id")
+    Optional<Topico> findByIdParaEliminar(@Param("id") Long id);
+    
+    /**
+     * Busca la cabecera de un tópico por ID (autor con perfil y curso), sin sus respuestas.
      */
     @Query("SELECT t FROM Topico t " +
            "JOIN FETCH t.autor a " +
            "JOIN FETCH a.perfil " +
            "JOIN FETCH t.curso " +
-           "LEFT JOIN FETCH t.respuestas r " +
-           "LEFT JOIN FETCH r.autor ra " +
-           "LEFT JOIN FETCH ra.perfil " +
            "WHERE t.id = :id")
-    Optional<Topico> findByIdWithFullDetails(@Param("id") Long id);
+    Optional<Topico> findCabeceraById(@Param("id") Long id);
+    
+    /**
+     * Obtiene la versión de un tópico (versión de la entidad, fecha de actualización, contador, última
+     * edición de respuestas, última modificación de sus autores, cuyo nombre y perfil aparecen en el
+     * detalle, y los datos del curso, que no tiene fecha de actualización) sin cargar la entidad ni sus respuestas.
+     */
+    @Query("SELECT new com.alura.forohub.dto.TopicoVersionDTO(t.version, t.fechaActualizacion, t.totalRespuestas, " +
+           "(SELECT MAX(r.fechaActualizacion) FROM Respuesta r WHERE r.topico = t), " +
+           "t.autor.fechaActualizacion, " +
+           "(SELECT MAX(r.autor.fechaActualizacion) FROM Respuesta r WHERE r.topico = t), " +
+           "t.curso.nombre, t.curso.categoria, t.curso.descripcion) " +
+           "FROM Topico t WHERE t.id = :id")
+    Optional<TopicoVersionDTO> findVersionById(@Param("id") Long id);
     
     /**
      * Obtiene tópicos por curso ordenados por fecha de creación descendente.
      */
-    @Query("SELECT t FROM Topico t WHERE t.curso.id = :cursoId ORDER BY t.fechaCreacion DESC")
-    Page<Topico> findByCursoIdOrderByFechaCreacionDesc(@Param("cursoId") Long cursoId, Pageable pageable);
+    @Query(value = RESUMEN + "WHERE c.id = :cursoId ORDER BY t.fechaCreacion DESC",
+           countQuery = "SELECT COUNT(t) FROM Topico t WHERE t.curso.id = :cursoId")
+    Page<TopicoResponseDTO> findByCursoIdOrderByFechaCreacionDesc(@Param("cursoId") Long cursoId, Pageable pageable);
     
     /**
      * Busca tópicos por título que contenga el texto dado.
      */
-    @Query("SELECT t FROM Topico t WHERE LOWER(t.titulo) LIKE LOWER(CONCAT('%', :titulo, '%')) ORDER BY t.fechaCreacion DESC")
-    Page<Topico> findByTituloContainingIgnoreCaseOrderByFechaCreacionDesc(@Param("titulo") String titulo, Pageable pageable);
-}
\ No newline at end of file
+    @Query(value = RESUMEN + "WHERE LOWER(t.titulo) LIKE LOWER(CONCAT('%', :titulo, '%')) ORDER BY t.fechaCreacion DESC",
+           countQuery = "SELECT COUNT(t) FROM Topico t WHERE LOWER(t.titulo) LIKE LOWER(CONCAT('%', :titulo, '%'))")
+    Page<TopicoResponseDTO> findByTituloContainingIgnoreCaseOrderByFechaCreacionDesc(@Param("titulo") String titulo, Pageable pageable);
+    
+    /**
+     * Obtiene el resumen de los tópicos con los IDs dados, sin orden definido.
+     */
+    @Query(RESUMEN + "WHERE t.id IN :ids")
+    List<TopicoResponseDTO> findResumenesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Obtiene el texto indexable de los tópicos con ID mayor al dado, ordenados por ID.
+     */
+    @Query("SELECT new com.alura.forohub.dto.TopicoTextoDTO(t.id, t.titulo, t.mensaje) " +
+           "FROM Topico t WHERE t.id > :id ORDER BY t.id")
+    List<TopicoTextoDTO> findTextosDespuesDe(@Param("id") Long id, Pageable pageable);
+    
+    /**
+     * Obtiene la primera porción de tópicos para paginación por cursor (sin conteo).
+     */
+    @Query(RESUMEN + "ORDER BY t.fechaCreacion DESC, t.id DESC")
+    Slice<TopicoResponseDTO> findSliceOrderByFechaCreacionDesc(Pageable pageable);
+    
+    /**
+     * Obtiene la porción de tópicos posterior al cursor dado (fechaCreacion, id).
+     */
+    @Query(RESUMEN +
+           "WHERE t.fechaCreacion < :fecha OR (t.fechaCreacion = :fecha AND t.id < :id) " +
+           "ORDER BY t.fechaCreacion DESC, t.id DESC")
+    Slice<TopicoResponseDTO> findSliceDespuesDe(@Param("fecha") LocalDateTime fecha, @Param("id") Long id, Pageable pageable);
+    
+    /**
+     * Obtiene la primera porción de tópicos de un curso para paginación por cursor.
+     */
+    @Query(RESUMEN + "WHERE c.id = :cursoId ORDER BY t.fechaCreacion DESC, t.id DESC")
+    Slice<TopicoResponseDTO> findSliceByCursoId(@Param("cursoId") Long cursoId, Pageable pageable);
+    
+    /**
+     * Obtiene la porción de tópicos de un curso posterior al cursor dado.
+     */
+    @Query(RESUMEN +
+           "WHERE c.id = :cursoId " +
+           "AND (t.fechaCreacion < :fecha OR (t.fechaCreacion = :fecha AND t.id < :id)) " +
+           "ORDER BY t.fechaCreacion DESC, t.id DESC")
+    Slice<TopicoResponseDTO> findSliceByCursoIdDespuesDe(@Param("cursoId") Long cursoId, @Param("fecha") LocalDateTime fecha,
+                                              @Param("id") Long id, Pageable pageable);
+    
+    /**
+     * Obtiene la primera porción de tópicos de un autor para paginación por cursor.
+     */
+    @Query(RESUMEN + "WHERE a.id = :autorId ORDER BY t.fechaCreacion DESC, t.id DESC")
+    Slice<TopicoResponseDTO> findSliceByAutorId(@Param("autorId") Long autorId, Pageable pageable);
+    
+    /**
+     * Obtiene la porción de tópicos de un autor posterior al cursor dado.
+     */
+    @Query(RESUMEN +
+           "WHERE a.id = :autorId " +
+           "AND (t.fechaCreacion < :fecha OR (t.fechaCreacion = :fecha AND t.id < :id)) " +
+           "ORDER BY t.fechaCreacion DESC, t.id DESC")
+    Slice<TopicoResponseDTO> findSliceByAutorIdDespuesDe(@Param("autorId") Long autorId, @Param("fecha") LocalDateTime fecha,
+                                              @Param("id") Long id, Pageable pageable);
+    
+    /**
+     * Incrementa de forma atómica el contador de respuestas de un tópico.
+     */
+    @Modifying
+    @Query("UPDATE Topico t SET t.totalRespuestas = t.totalRespuestas + 1 WHERE t.id = :id")
+    int incrementarTotalRespuestas(@Param("id") Long id);
+    
+    /**
+     * Suma de forma atómica varias respuestas al contador de un tópico.
+     */
+    @Modifying
+    @Query("UPDATE Topico t SET t.totalRespuestas = t.totalRespuestas + :cantidad WHERE t.id = :id")
+    int sumarTotalRespuestas(@Param("id") Long id, @Param("cantidad") int cantidad);
+    
+    /**
+     * Decrementa de forma atómica el contador de respuestas de un tópico.
+     */
+    @Modifying
+    @Query("UPDATE Topico t SET t.totalRespuestas = t.totalRespuestas - 1 WHERE t.id = :id AND t.totalRespuestas > 0")
+    int decrementarTotalRespuestas(@Param("id") Long id);
+    
+    /**
+     * Elimina un tópico con un único DELETE; sus respuestas las borra la base de datos en cascada.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Topico t WHERE t.id = :id")
+    int eliminarPorId(@Param("id") Long id);
+    
+    /**
+     * Cambia el status solo si la versión sigue siendo la leída; devuelve 0 si otra transacción
+     * modificó el tópico desde entonces. Incrementa la versión aunque el status no cambie, de modo
+     * que la fila queda bloqueada hasta el final de la transacción. Vacía el contexto de persistencia
+     * para que el tópico cargado, ya obsoleto, no se vuelva a escribir en un flush posterior.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Topico t SET t.status = :nuevo, t.fechaActualizacion = :ahora, t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.version = :version")
+    int cambiarStatus(@Param("id") Long id, @Param("version") Long version,
+                      @Param("nuevo") StatusTopico nuevo, @Param("ahora") LocalDateTime ahora);
+    
+    /**
+     * Recorre todos los tópicos en orden de ID con autor y curso cargados, leyendo del cursor JDBC por bloques.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Topico t JOIN FETCH t.autor JOIN FETCH t.curso ORDER BY t.id")
+    Stream<Topico> streamAllOrderById();
+    
+    /**
+     * Cuenta los tópicos agrupados por curso y status, para reconciliar las estadísticas.
+     */
+    @Query("SELECT new com.alura.forohub.dto.ConteoTopicosDTO(t.curso.id, t.status, COUNT(t)) " +
+           "FROM Topico t GROUP BY t.curso.id, t.status")
+    List<ConteoTopicosDTO> contarPorCursoYStatus();
+}
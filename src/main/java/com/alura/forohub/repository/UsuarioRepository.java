@@ -1,11 +1,13 @@
 package com.alura.forohub.repository;
 
+import com.alura.forohub.dto.ReferenciaUsuarioDTO;
 import com.alura.forohub.entity.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -35,4 +37,10 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     @Query("SELECT u FROM Usuario u JOIN FETCH u.perfil WHERE u.id = :id")
     Optional<Usuario> findByIdWithPerfil(@Param("id") Long id);
-}
\ No newline at end of file
+    
+    /**
+     * Obtiene el ID y el correo de todos los usuarios.
+     */
+    @Query("SELECT new com.alura.forohub.dto.ReferenciaUsuarioDTO(u.id, u.correoElectronico) FROM Usuario u")
+    List<ReferenciaUsuarioDTO> findReferencias();
+}
@@ -0,0 +1,62 @@
+package com.alura.forohub.search;
+
+import com.alura.forohub.dto.TopicoTextoDTO;
+import com.alura.forohub.repository.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reconstruye el índice de búsqueda de tópicos desde la base de datos al arrancar la aplicación.
+ */
+@Component
+public class CargadorIndiceTopicos {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargadorIndiceTopicos.class);
+
+    private static final int TAMANO_LOTE = 1000;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private IndiceTopicos indiceTopicos;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        reconstruir();
+    }
+
+    /**
+     * Vacía el índice y lo vuelve a llenar recorriendo los tópicos por lotes ordenados por ID.
+     * Los tópicos creados, editados o eliminados mientras tanto conservan la escritura en vivo,
+     * más reciente que la copia leída por la reconstrucción.
+     */
+    public synchronized void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        indiceTopicos.iniciarReconstruccion();
+
+        try {
+            long ultimoId = 0;
+            List<TopicoTextoDTO> lote;
+            do {
+                lote = topicoRepository.findTextosDespuesDe(ultimoId, PageRequest.of(0, TAMANO_LOTE));
+                for (TopicoTextoDTO topico : lote) {
+                    indiceTopicos.indexarDesdeReconstruccion(topico.id(), topico.titulo(), topico.mensaje());
+                    ultimoId = topico.id();
+                }
+            } while (lote.size() == TAMANO_LOTE);
+        } finally {
+            indiceTopicos.terminarReconstruccion();
+        }
+
+        logger.info("Índice de búsqueda reconstruido: {} tópicos en {} ms",
+            indiceTopicos.tamano(), System.currentTimeMillis() - inicio);
+    }
+}
@@ -0,0 +1,265 @@
+package com.alura.forohub.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre el título y el mensaje de los tópicos, con ranking BM25.
+ * El último término de la consulta se trata como prefijo para soportar búsqueda mientras se escribe.
+ */
+@Component
+public class IndiceTopicos {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    /**
+     * Peso de cada aparición de un término en el título respecto a una aparición en el mensaje.
+     */
+    private static final int PESO_TITULO = 3;
+
+    /**
+     * Máximo de términos del índice en que se expande el prefijo final de la consulta.
+     */
+    private static final int MAX_EXPANSIONES_PREFIJO = 50;
+
+    private static final Comparator<Map.Entry<Long, Double>> POR_RELEVANCIA =
+        Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    /**
+     * Término → (ID de tópico → frecuencia ponderada).
+     */
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    /**
+     * ID de tópico → frecuencias de sus términos, necesarias para eliminarlo o reindexarlo.
+     */
+    private final Map<Long, Map<String, Integer>> documentos = new HashMap<>();
+
+    private final Map<Long, Integer> longitudes = new HashMap<>();
+
+    private long longitudTotal;
+
+    /**
+     * IDs indexados o eliminados por escrituras en vivo durante una reconstrucción, o {@code null}
+     * si no hay ninguna en curso. La reconstrucción los omite: su copia de la base de datos puede
+     * ser anterior a esas escrituras.
+     */
+    private Set<Long> modificadosDuranteReconstruccion;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa un tópico, reemplazando su versión anterior si ya estaba indexado.
+     */
+    public void indexar(Long id, String titulo, String mensaje) {
+        Map<String, Integer> frecuencias = frecuencias(titulo, mensaje);
+
+        lock.writeLock().lock();
+        try {
+            marcarModificado(id);
+            agregar(id, frecuencias);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa un tópico leído por la reconstrucción, salvo que una escritura en vivo lo haya
+     * indexado o eliminado desde que esta empezó.
+     */
+    public void indexarDesdeReconstruccion(Long id, String titulo, String mensaje) {
+        Map<String, Integer> frecuencias = frecuencias(titulo, mensaje);
+
+        lock.writeLock().lock();
+        try {
+            if (modificadosDuranteReconstruccion == null || !modificadosDuranteReconstruccion.contains(id)) {
+                agregar(id, frecuencias);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina un tópico del índice.
+     */
+    public void eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            marcarModificado(id);
+            quitar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice y empieza a registrar las escrituras en vivo hasta {@link #terminarReconstruccion()}.
+     */
+    public void iniciarReconstruccion() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentos.clear();
+            longitudes.clear();
+            longitudTotal = 0;
+            modificadosDuranteReconstruccion = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void terminarReconstruccion() {
+        lock.writeLock().lock();
+        try {
+            modificadosDuranteReconstruccion = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Número de tópicos indexados.
+     */
+    public int tamano() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca tópicos por relevancia BM25 y devuelve la página de IDs indicada.
+     */
+    public ResultadoBusqueda buscar(String consulta, int desplazamiento, int limite) {
+        List<String> terminos = Tokenizador.tokenizar(consulta).stream().distinct().toList();
+        if (terminos.isEmpty() || limite <= 0) {
+            return new ResultadoBusqueda(List.of(), 0);
+        }
+
+        Map<Long, Double> puntuaciones = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int totalDocumentos = documentos.size();
+            if (totalDocumentos == 0) {
+                return new ResultadoBusqueda(List.of(), 0);
+            }
+            double longitudMedia = (double) longitudTotal / totalDocumentos;
+
+            for (int i = 0; i < terminos.size(); i++) {
+                String termino = terminos.get(i);
+                List<Map<Long, Integer>> coincidencias = i == terminos.size() - 1
+                    ? expandirPrefijo(termino)
+                    : postingsDe(termino);
+
+                for (Map<Long, Integer> posting : coincidencias) {
+                    double idf = Math.log(1 + (totalDocumentos - posting.size() + 0.5) / (posting.size() + 0.5));
+                    posting.forEach((id, frecuencia) -> {
+                        double normalizacion = K1 * (1 - B + B * longitudes.get(id) / longitudMedia);
+                        double puntuacion = idf * frecuencia * (K1 + 1) / (frecuencia + normalizacion);
+                        puntuaciones.merge(id, puntuacion, Double::sum);
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new ResultadoBusqueda(mejores(puntuaciones, desplazamiento, limite), puntuaciones.size());
+    }
+
+    private List<Map<Long, Integer>> postingsDe(String termino) {
+        Map<Long, Integer> posting = postings.get(termino);
+        return posting == null ? List.of() : List.of(posting);
+    }
+
+    private List<Map<Long, Integer>> expandirPrefijo(String prefijo) {
+        List<Map<Long, Integer>> coincidencias = new ArrayList<>();
+        for (Map<Long, Integer> posting : postings.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values()) {
+            coincidencias.add(posting);
+            if (coincidencias.size() == MAX_EXPANSIONES_PREFIJO) {
+                break;
+            }
+        }
+        return coincidencias;
+    }
+
+    /**
+     * Selecciona la página pedida de los mejores resultados con un montículo acotado,
+     * sin ordenar todas las coincidencias. A igual puntuación, primero los tópicos más recientes.
+     */
+    private List<Long> mejores(Map<Long, Double> puntuaciones, int desplazamiento, int limite) {
+        int necesarios = desplazamiento + limite;
+        if (desplazamiento >= puntuaciones.size()) {
+            return List.of();
+        }
+
+        PriorityQueue<Map.Entry<Long, Double>> monticulo = new PriorityQueue<>(necesarios + 1, POR_RELEVANCIA);
+        for (Map.Entry<Long, Double> entrada : puntuaciones.entrySet()) {
+            monticulo.offer(entrada);
+            if (monticulo.size() > necesarios) {
+                monticulo.poll();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ordenados = new ArrayList<>(monticulo);
+        ordenados.sort(POR_RELEVANCIA.reversed());
+        return ordenados.subList(desplazamiento, ordenados.size()).stream()
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    private static Map<String, Integer> frecuencias(String titulo, String mensaje) {
+        Map<String, Integer> frecuencias = new HashMap<>();
+        Tokenizador.tokenizar(titulo).forEach(termino -> frecuencias.merge(termino, PESO_TITULO, Integer::sum));
+        Tokenizador.tokenizar(mensaje).forEach(termino -> frecuencias.merge(termino, 1, Integer::sum));
+        return frecuencias;
+    }
+
+    private void agregar(Long id, Map<String, Integer> frecuencias) {
+        int longitud = frecuencias.values().stream().mapToInt(Integer::intValue).sum();
+        quitar(id);
+        documentos.put(id, frecuencias);
+        longitudes.put(id, longitud);
+        longitudTotal += longitud;
+        frecuencias.forEach((termino, frecuencia) ->
+            postings.computeIfAbsent(termino, t -> new HashMap<>()).put(id, frecuencia));
+    }
+
+    private void marcarModificado(Long id) {
+        if (modificadosDuranteReconstruccion != null) {
+            modificadosDuranteReconstruccion.add(id);
+        }
+    }
+
+    private void quitar(Long id) {
+        Map<String, Integer> anteriores = documentos.remove(id);
+        if (anteriores == null) {
+            return;
+        }
+
+        longitudTotal -= longitudes.remove(id);
+        for (String termino : anteriores.keySet()) {
+            Map<Long, Integer> posting = postings.get(termino);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(termino);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.alura.forohub.search;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una búsqueda: IDs de tópicos en orden de relevancia y total de coincidencias.
+ */
+public record ResultadoBusqueda(
+    List<Long> ids,
+    long total
+) {}
@@ -0,0 +1,60 @@
+package com.alura.forohub.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizador para textos en español: minúsculas, plegado de acentos y eliminación de palabras vacías.
+ */
+final class Tokenizador {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int LONGITUD_MINIMA = 2;
+
+    /**
+     * Palabras vacías del español, ya sin acentos.
+     */
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+        "a", "al", "algo", "algun", "alguna", "algunas", "alguno", "algunos", "ante", "antes", "como", "con",
+        "contra", "cual", "cuando", "de", "del", "desde", "donde", "durante", "e", "el", "ella", "ellas",
+        "ellos", "en", "entre", "era", "es", "esa", "esas", "ese", "eso", "esos", "esta", "estas", "este",
+        "esto", "estos", "fue", "ha", "hay", "la", "las", "le", "les", "lo", "los", "mas", "me", "mi", "mis",
+        "muy", "ni", "no", "nos", "o", "os", "otra", "otro", "para", "pero", "poco", "por", "porque", "que",
+        "quien", "se", "sea", "ser", "si", "sin", "sobre", "son", "su", "sus", "tambien", "te", "tiene",
+        "tu", "tus", "u", "un", "una", "unas", "uno", "unos", "y", "ya", "yo"
+    );
+
+    private Tokenizador() {}
+
+    /**
+     * Normaliza un texto: minúsculas y sin acentos ("Introducción" → "introduccion").
+     */
+    static String normalizar(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Divide un texto en términos normalizados, descartando palabras vacías y términos de un carácter.
+     */
+    static List<String> tokenizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return terminos;
+        }
+
+        for (String termino : SEPARADORES.split(normalizar(texto))) {
+            if (termino.length() >= LONGITUD_MINIMA && !PALABRAS_VACIAS.contains(termino)) {
+                terminos.add(termino);
+            }
+        }
+        return terminos;
+    }
+}
@@ -1,11 +1,14 @@
 package com.alura.forohub.security;
 
+import com.alura.forohub.monitoreo.FasePeticion;
+import com.alura.forohub.monitoreo.TiemposPeticion;
 import com.alura.forohub.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filtro de autenticación JWT que se ejecuta en cada request.
@@ -21,16 +25,38 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Autowired
-    private JwtUtil jwtUtil;
+    private final JwtUtil jwtUtil;
 
-    @Autowired
-    private UsuarioRepository usuarioRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    private final PrincipalCache principalCache;
+
+    /** Tiempo de validación de los tokens, registrado una vez por resultado. */
+    private final Timer validacionValida;
+    private final Timer validacionInvalida;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UsuarioRepository usuarioRepository,
+                                   PrincipalCache principalCache, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.usuarioRepository = usuarioRepository;
+        this.principalCache = principalCache;
+        this.validacionValida = timerValidacion(meterRegistry, "valido");
+        this.validacionInvalida = timerValidacion(meterRegistry, "invalido");
+    }
+
+    private static Timer timerValidacion(MeterRegistry meterRegistry, String resultado) {
+        return Timer.builder("forohub.jwt.validacion")
+            .description("Validación del token JWT, incluida la consulta a la caché de tokens verificados")
+            .tag("resultado", resultado)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
+        long inicio = System.nanoTime();
         String authHeader = request.getHeader("Authorization");
         String token = null;
         String correoElectronico = null;
@@ -38,34 +64,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extraer token del header Authorization
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
+            long inicioValidacion = System.nanoTime();
+            Timer validacion = validacionValida;
             try {
                 correoElectronico = jwtUtil.validateToken(token);
             } catch (Exception e) {
+                validacion = validacionInvalida;
                 logger.warn("Token JWT inválido: " + e.getMessage());
+            } finally {
+                validacion.record(System.nanoTime() - inicioValidacion, TimeUnit.NANOSECONDS);
             }
         }
 
         // Si tenemos un correo válido y no hay autenticación previa
         if (correoElectronico != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             
-            // Buscar usuario en la base de datos
-            usuarioRepository.findByCorreoElectronicoWithPerfil(correoElectronico)
-                .ifPresent(usuario -> {
-                    if (usuario.getActivo()) {
-                        // Crear UserDetails personalizado
-                        UserDetails userDetails = new UsuarioUserDetails(usuario);
-                        
-                        // Crear token de autenticación
-                        UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        
-                        // Establecer autenticación en el contexto de seguridad
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
-                });
+            // Buscar usuario en caché; solo se consulta la base de datos si no está presente
+            UsuarioSnapshot usuario = principalCache.obtener(correoElectronico, correo ->
+                usuarioRepository.findByCorreoElectronicoWithPerfil(correo)
+                    .map(UsuarioSnapshot::de)
+                    .orElse(null));
+
+            if (usuario != null && usuario.activo()) {
+                // Crear UserDetails personalizado
+                UserDetails userDetails = new UsuarioUserDetails(usuario);
+                
+                // Crear token de autenticación
+                UsernamePasswordAuthenticationToken authToken = 
+                    new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                
+                // Establecer autenticación en el contexto de seguridad
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
+        }
+
+        if (token != null) {
+            TiemposPeticion.registrar(FasePeticion.AUTENTICACION, System.nanoTime() - inicio);
         }
 
         filterChain.doFilter(request, response);
@@ -1,16 +1,25 @@
 package com.alura.forohub.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.Base64;
 
 /**
  * Utilidad para manejo de tokens JWT.
@@ -18,18 +27,46 @@ import java.time.ZoneOffset;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    /**
+     * Vigencia de los tokens en segundos.
+     */
+    private final long expiration;
+
+    /**
+     * Algoritmo y verificador reutilizables, creados una vez a partir del secreto.
+     */
+    private final Algorithm algorithm;
+
+    private final JWTVerifier verifier;
+
+    /**
+     * Tokens ya verificados, indexados por su hash SHA-256. Cada entrada expira junto con su token.
+     */
+    private final Cache<String, TokenVerificado> tokensVerificados;
+
+    public JwtUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration:3600}") long expiration,
+            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.expiration = expiration;
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer("forohub-api")
+                .build();
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new ExpiracionDelToken())
+                .recordStats()
+                .build();
+    }
 
-    @Value("${jwt.expiration:3600}")
-    private Long expiration;
+    private record TokenVerificado(String subject, Instant expiracion) {}
 
     /**
      * Genera un token JWT para el usuario dado.
      */
     public String generateToken(String correoElectronico) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
                     .withIssuer("forohub-api")
                     .withSubject(correoElectronico)
@@ -42,14 +79,20 @@ public class JwtUtil {
 
     /**
      * Valida un token JWT y retorna el subject (correo electrónico).
+     * Los tokens válidos se recuerdan hasta su expiración para no verificar la firma en cada petición.
      */
     public String validateToken(String token) {
+        String clave = hash(token);
+        TokenVerificado enCache = tokensVerificados.getIfPresent(clave);
+        if (enCache != null && enCache.expiracion().isAfter(Instant.now())) {
+            return enCache.subject();
+        }
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            DecodedJWT jwt = JWT.require(algorithm)
-                    .withIssuer("forohub-api")
-                    .build()
-                    .verify(token);
+            DecodedJWT jwt = verifier.verify(token);
+            if (jwt.getExpiresAtAsInstant() != null) {
+                tokensVerificados.put(clave, new TokenVerificado(jwt.getSubject(), jwt.getExpiresAtAsInstant()));
+            }
             return jwt.getSubject();
         } catch (JWTVerificationException exception) {
             throw new RuntimeException("Token JWT inválido", exception);
@@ -92,11 +135,53 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Publica en el registro de métricas las estadísticas de la caché de tokens verificados.
+     */
+    public void registrarMetricas(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tokensVerificados, "jwt");
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 no disponible", exception);
+        }
+    }
+
+    /**
+     * Hace expirar cada entrada de la caché en el instante en que expira su token.
+     */
+    private static class ExpiracionDelToken implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String clave, TokenVerificado token, long tiempoActual) {
+            Duration restante = Duration.between(Instant.now(), token.expiracion());
+            if (restante.isNegative()) {
+                return 0;
+            }
+            // Saturar en lugar de desbordar para expiraciones muy lejanas
+            return restante.getSeconds() >= Long.MAX_VALUE / 1_000_000_000L ? Long.MAX_VALUE : restante.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String clave, TokenVerificado token, long tiempoActual, long duracionActual) {
+            return expireAfterCreate(clave, token, tiempoActual);
+        }
+
+        @Override
+        public long expireAfterRead(String clave, TokenVerificado token, long tiempoActual, long duracionActual) {
+            return duracionActual;
+        }
+    }
+
     /**
      * Genera la fecha de expiración para el token.
      */
     private Instant generateExpirationDate() {
-        return LocalDateTime.now().plusSeconds(expiration).toInstant(ZoneOffset.UTC);
+        return Instant.now().plusSeconds(expiration);
     }
 
     /**
@@ -0,0 +1,56 @@
+package com.alura.forohub.security;
+
+import com.alura.forohub.util.TransaccionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Caché de usuarios autenticados, indexada por correo electrónico, con un TTL corto.
+ * Evita consultar la base de datos en cada petición autenticada.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UsuarioSnapshot> cache;
+
+    public PrincipalCache(
+            @Value("${forohub.cache.principal.max-size:10000}") long tamanoMaximo,
+            @Value("${forohub.cache.principal.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(tamanoMaximo)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Obtiene el usuario en caché o lo carga con la función indicada.
+     * Si la función retorna null no se guarda nada.
+     */
+    public UsuarioSnapshot obtener(String correoElectronico, Function<String, UsuarioSnapshot> cargador) {
+        return cache.get(correoElectronico, cargador);
+    }
+
+    /**
+     * Invalida un usuario de inmediato y de nuevo tras el commit de la transacción actual.
+     * Una carga en curso termina antes de que la invalidación surta efecto, así que no queda una copia obsoleta.
+     */
+    public void invalidar(String correoElectronico) {
+        cache.invalidate(correoElectronico);
+        TransaccionUtils.despuesDeConfirmar(() -> cache.invalidate(correoElectronico));
+    }
+
+    /**
+     * Publica en el registro de métricas las estadísticas de la caché.
+     */
+    public void registrarMetricas(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principal");
+    }
+}
@@ -0,0 +1,65 @@
+package com.alura.forohub.security;
+
+import com.alura.forohub.entity.Perfil;
+import com.alura.forohub.entity.TipoPerfil;
+import com.alura.forohub.entity.Usuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Copia inmutable de los datos del usuario autenticado, con sus autoridades ya calculadas.
+ * No incluye la contraseña.
+ */
+public record UsuarioSnapshot(
+    Long id,
+    String nombre,
+    String correoElectronico,
+    LocalDateTime fechaCreacion,
+    Long perfilId,
+    String perfilNombre,
+    TipoPerfil perfilTipo,
+    String perfilDescripcion,
+    boolean activo,
+    List<GrantedAuthority> authorities
+) {
+
+    /**
+     * Crea la copia a partir de un usuario con su perfil cargado.
+     */
+    public static UsuarioSnapshot de(Usuario usuario) {
+        Perfil perfil = usuario.getPerfil();
+        return new UsuarioSnapshot(
+            usuario.getId(),
+            usuario.getNombre(),
+            usuario.getCorreoElectronico(),
+            usuario.getFechaCreacion(),
+            perfil.getId(),
+            perfil.getNombre(),
+            perfil.getTipo(),
+            perfil.getDescripcion(),
+            Boolean.TRUE.equals(usuario.getActivo()),
+            List.of(new SimpleGrantedAuthority("ROLE_" + perfil.getTipo().name()))
+        );
+    }
+
+    /**
+     * Reconstruye un usuario desconectado del contexto de persistencia.
+     * Se crea uno nuevo en cada llamada para que la copia en caché no pueda modificarse.
+     */
+    public Usuario toUsuario() {
+        Perfil perfil = new Perfil(perfilNombre, perfilTipo, perfilDescripcion);
+        perfil.setId(perfilId);
+
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNombre(nombre);
+        usuario.setCorreoElectronico(correoElectronico);
+        usuario.setFechaCreacion(fechaCreacion);
+        usuario.setPerfil(perfil);
+        usuario.setActivo(activo);
+        return usuario;
+    }
+}
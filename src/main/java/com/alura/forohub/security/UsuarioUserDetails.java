@@ -15,15 +15,28 @@ public class UsuarioUserDetails implements UserDetails {
 
     private final Usuario usuario;
 
+    private final Collection<? extends GrantedAuthority> authorities;
+
     public UsuarioUserDetails(Usuario usuario) {
+        // Convertir el tipo de perfil a autoridad de Spring Security
+        this(usuario, List.of(new SimpleGrantedAuthority("ROLE_" + usuario.getPerfil().getTipo().name())));
+    }
+
+    /**
+     * Crea los detalles a partir de la copia en caché, reutilizando sus autoridades ya calculadas.
+     */
+    public UsuarioUserDetails(UsuarioSnapshot snapshot) {
+        this(snapshot.toUsuario(), snapshot.authorities());
+    }
+
+    private UsuarioUserDetails(Usuario usuario, Collection<? extends GrantedAuthority> authorities) {
         this.usuario = usuario;
+        this.authorities = authorities;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Convertir el tipo de perfil a autoridad de Spring Security
-        String authority = "ROLE_" + usuario.getPerfil().getTipo().name();
-        return List.of(new SimpleGrantedAuthority(authority));
+        return authorities;
     }
 
     @Override
@@ -6,6 +6,7 @@ import com.alura.forohub.dto.TokenDTO;
 import com.alura.forohub.entity.Perfil;
 import com.alura.forohub.entity.TipoPerfil;
 import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.estadisticas.ContadoresForo;
 import com.alura.forohub.repository.PerfilRepository;
 import com.alura.forohub.repository.UsuarioRepository;
 import com.alura.forohub.security.JwtUtil;
@@ -41,6 +42,9 @@ public class AuthenticationService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private ContadoresForo contadoresForo;
+
     /**
      * Registra un nuevo usuario en el sistema.
      */
@@ -65,6 +69,7 @@ public class AuthenticationService {
 
         // Guardar usuario
         usuarioRepository.save(nuevoUsuario);
+        contadoresForo.usuarioRegistrado();
 
         // Generar token JWT
         String token = jwtUtil.generateToken(dto.correoElectronico());
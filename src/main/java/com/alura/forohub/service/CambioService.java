@@ -0,0 +1,139 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.dto.CambioCursor;
+import com.alura.forohub.dto.CambioDTO;
+import com.alura.forohub.dto.CursorPageDTO;
+import com.alura.forohub.entity.Cambio;
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
+import com.alura.forohub.repository.CambioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio del registro de cambios de tópicos y respuestas y de su feed incremental.
+ */
+@Service
+public class CambioService {
+
+    /**
+     * Tamaño máximo de página del feed.
+     */
+    private static final int MAX_TAMANO_PAGINA = 1000;
+
+    @Autowired
+    private CambioRepository cambioRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Antigüedad mínima de una entrada para entregarla. Las entradas se insertan justo antes del commit,
+     * pero otra transacción puede confirmar entre el insert y el commit con un ID mayor; esperar evita
+     * que el cursor deje atrás la entrada, siempre que la confirmación dure menos que este margen.
+     */
+    @Value("${forohub.cambios.retraso:PT5S}")
+    private Duration retraso = Duration.ofSeconds(5);
+
+    /**
+     * Registra un cambio dentro de la transacción que lo produce; si esta se revierte, el cambio tampoco queda.
+     *
+     * <p>La entrada se inserta al confirmar la transacción, después de escribir el resto de sus cambios,
+     * para que su ID y su fecha se asignen justo antes del commit aunque la transacción haya durado más
+     * que el retraso del feed.</p>
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(EntidadCambio entidad, Long id, OperacionCambio operacion, Long version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cambioRepository.save(new Cambio(entidad, id, operacion, version));
+            return;
+        }
+        cambiosPendientes().agregar(new CambioPendiente(entidad, id, operacion, version));
+    }
+
+    /**
+     * Lista los cambios posteriores al cursor en orden de registro.
+     *
+     * <p>El cursor siguiente siempre se devuelve, aunque no haya cambios nuevos, para volver a consultar
+     * desde ahí más tarde; {@code hasNext} indica que hay más cambios disponibles ya.</p>
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CambioDTO> listarCambios(String since, int size) {
+        CambioCursor cursor = CambioCursor.decodificar(since);
+        int limite = Math.max(1, Math.min(size, MAX_TAMANO_PAGINA));
+        LocalDateTime hasta = LocalDateTime.now().minus(retraso);
+
+        List<Cambio> cambios = cambioRepository.findDespuesDe(cursor.posicion(), PageRequest.of(0, limite + 1));
+
+        // Se corta en la primera entrada demasiado reciente, aunque alguna posterior ya tenga la antigüedad
+        List<CambioDTO> contenido = new ArrayList<>();
+        long ultima = cursor.posicion();
+        for (Cambio cambio : cambios) {
+            if (contenido.size() == limite || cambio.getFecha().isAfter(hasta)) {
+                break;
+            }
+            contenido.add(toDTO(cambio));
+            ultima = cambio.getId();
+        }
+
+        boolean hayMas = cambios.size() > limite && contenido.size() == limite;
+        return new CursorPageDTO<>(contenido, new CambioCursor(ultima).codificar(), hayMas, limite);
+    }
+
+    /**
+     * Cambios pendientes de la transacción actual. Se buscan entre sus sincronizaciones, que a diferencia
+     * de los recursos se suspenden con REQUIRES_NEW, así que cada transacción tiene los suyos.
+     */
+    private CambiosPendientes cambiosPendientes() {
+        for (TransactionSynchronization sincronizacion : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacion instanceof CambiosPendientes pendientes) {
+                return pendientes;
+            }
+        }
+        CambiosPendientes pendientes = new CambiosPendientes();
+        TransactionSynchronizationManager.registerSynchronization(pendientes);
+        return pendientes;
+    }
+
+    private record CambioPendiente(EntidadCambio entidad, Long id, OperacionCambio operacion, Long version) {}
+
+    /**
+     * Inserta los cambios de una transacción antes de su commit.
+     */
+    private class CambiosPendientes implements TransactionSynchronization {
+
+        private final List<CambioPendiente> cambios = new ArrayList<>();
+
+        void agregar(CambioPendiente cambio) {
+            cambios.add(cambio);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Primero el resto de la transacción, que puede esperar bloqueos; después los cambios
+            entityManager.flush();
+            cambioRepository.saveAll(cambios.stream()
+                .map(c -> new Cambio(c.entidad(), c.id(), c.operacion(), c.version()))
+                .toList());
+            entityManager.flush();
+        }
+    }
+
+    private CambioDTO toDTO(Cambio cambio) {
+        return new CambioDTO(cambio.getEntidad(), cambio.getEntidadId(), cambio.getOperacion(),
+            cambio.getVersion(), cambio.getFecha());
+    }
+}
@@ -0,0 +1,75 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.entity.OperacionCambio;
+import com.alura.forohub.repository.CambioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compacta periódicamente el registro de cambios.
+ *
+ * <p>Una entrada antigua con otra posterior de la misma entidad se elimina: quien sincroniza desde
+ * un cursor anterior recibe igualmente la posterior y lee el estado actual de la entidad. Las
+ * eliminaciones se conservan durante la retención configurada; un consumidor que no sincronice
+ * en ese plazo debe volver a descargar todo.</p>
+ */
+@Component
+public class CompactadorCambios {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactadorCambios.class);
+
+    /**
+     * Entradas borradas por sentencia, cada lote en su propia transacción.
+     */
+    private static final int TAMANO_LOTE = 1000;
+
+    @Autowired
+    private CambioRepository cambioRepository;
+
+    @Value("${forohub.cambios.antiguedad-compactacion:PT1H}")
+    private Duration antiguedadCompactacion = Duration.ofHours(1);
+
+    @Value("${forohub.cambios.retencion-eliminaciones:P30D}")
+    private Duration retencionEliminaciones = Duration.ofDays(30);
+
+    @Scheduled(fixedDelayString = "${forohub.cambios.compactacion:PT1H}",
+               initialDelayString = "${forohub.cambios.compactacion:PT1H}")
+    public void compactar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        Pageable lote = PageRequest.of(0, TAMANO_LOTE);
+
+        long superados = eliminarPorLotes(
+            () -> cambioRepository.findIdsSuperados(ahora.minus(antiguedadCompactacion), lote));
+        long eliminaciones = eliminarPorLotes(() -> cambioRepository.findIdsPorOperacionAnterioresA(
+            OperacionCambio.ELIMINACION, ahora.minus(retencionEliminaciones), lote));
+
+        if (superados + eliminaciones > 0) {
+            logger.info("Registro de cambios compactado: {} entradas superadas y {} eliminaciones caducadas",
+                superados, eliminaciones);
+        }
+    }
+
+    private long eliminarPorLotes(Supplier<List<Long>> siguienteLote) {
+        long total = 0;
+        List<Long> ids;
+        do {
+            ids = siguienteLote.get();
+            if (!ids.isEmpty()) {
+                cambioRepository.deleteAllByIdInBatch(ids);
+                total += ids.size();
+            }
+        } while (ids.size() == TAMANO_LOTE);
+        return total;
+    }
+}
@@ -0,0 +1,106 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.dto.RespuestaExportadaDTO;
+import com.alura.forohub.entity.Topico;
+import com.alura.forohub.mapper.TopicoMapper;
+import com.alura.forohub.repository.RespuestaRepository;
+import com.alura.forohub.repository.TopicoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Servicio para la exportación completa del foro en NDJSON.
+ *
+ * <p>Recorre los tópicos con un cursor de solo avance en lugar de paginar con OFFSET, y vacía el
+ * contexto de persistencia cada {@link #TAMANO_LOTE} tópicos para exportar con memoria constante.</p>
+ */
+@Service
+public class ExportacionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacionService.class);
+
+    /**
+     * Tópicos que se escriben entre dos vaciados del contexto de persistencia; sus respuestas
+     * se cargan en una sola consulta.
+     */
+    static final int TAMANO_LOTE = 500;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespuestaRepository respuestaRepository;
+
+    @Autowired
+    private TopicoMapper topicoMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Escribe un registro por línea para cada tópico, seguido de sus respuestas si se piden.
+     * Devuelve el número de tópicos exportados. No cierra la salida.
+     */
+    @Transactional(readOnly = true)
+    public long exportarTopicos(OutputStream salida, boolean incluirRespuestas) throws IOException {
+        BufferedOutputStream destino = new BufferedOutputStream(salida, 64 * 1024);
+        List<Topico> lote = new ArrayList<>(TAMANO_LOTE);
+        long exportados = 0;
+
+        try (Stream<Topico> topicos = topicoRepository.streamAllOrderById()) {
+            Iterator<Topico> iterador = topicos.iterator();
+            while (iterador.hasNext()) {
+                lote.add(iterador.next());
+                if (lote.size() == TAMANO_LOTE || !iterador.hasNext()) {
+                    escribirLote(destino, lote, incluirRespuestas);
+                    exportados += lote.size();
+                    lote.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        destino.flush();
+        logger.info("Exportación completada: {} tópicos", exportados);
+        return exportados;
+    }
+
+    private void escribirLote(OutputStream destino, List<Topico> lote, boolean incluirRespuestas) throws IOException {
+        Iterator<RespuestaExportadaDTO> respuestas = incluirRespuestas
+            ? respuestaRepository.findExportablesByTopicoIdIn(lote.stream().map(Topico::getId).toList()).iterator()
+            : null;
+        RespuestaExportadaDTO siguiente = respuestas != null && respuestas.hasNext() ? respuestas.next() : null;
+
+        for (Topico topico : lote) {
+            escribirLinea(destino, topicoMapper.toExportadoDTO(topico));
+
+            // Las respuestas llegan ordenadas por tópico, igual que el lote
+            while (siguiente != null && siguiente.topico().equals(topico.getId())) {
+                escribirLinea(destino, siguiente);
+                siguiente = respuestas.hasNext() ? respuestas.next() : null;
+            }
+        }
+    }
+
+    private void escribirLinea(OutputStream destino, Object registro) throws IOException {
+        destino.write(objectMapper.writeValueAsBytes(registro));
+        destino.write('\n');
+    }
+}
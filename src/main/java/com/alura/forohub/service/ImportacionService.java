@@ -0,0 +1,325 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.cache.TopicoDetalleCache;
+import com.alura.forohub.dto.ProgresoImportacionDTO;
+import com.alura.forohub.dto.RechazoImportacionDTO;
+import com.alura.forohub.dto.ReferenciaUsuarioDTO;
+import com.alura.forohub.dto.RegistroImportacionDTO;
+import com.alura.forohub.entity.Curso;
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
+import com.alura.forohub.entity.Respuesta;
+import com.alura.forohub.entity.Topico;
+import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.estadisticas.ContadoresForo;
+import com.alura.forohub.repository.CursoRepository;
+import com.alura.forohub.repository.TopicoRepository;
+import com.alura.forohub.repository.UsuarioRepository;
+import com.alura.forohub.search.IndiceTopicos;
+import com.alura.forohub.util.TransaccionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para la importación masiva de tópicos y respuestas desde NDJSON.
+ *
+ * <p>Lee la entrada línea por línea y valida cada registro en cuanto llega; los válidos se acumulan
+ * en lotes que se confirman en su propia transacción. Cursos y autores se resuelven con mapas cargados
+ * al inicio, así que cada lote solo ejecuta los inserts y la actualización de contadores.</p>
+ *
+ * <p>Cada lote registra la creación de sus tópicos y respuestas en el feed de cambios, en su misma
+ * transacción.</p>
+ */
+@Service
+public class ImportacionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionService.class);
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private TopicoDetalleCache topicoDetalleCache;
+
+    @Autowired
+    private IndiceTopicos indiceTopicos;
+
+    @Autowired
+    private ContadoresForo contadoresForo;
+
+    @Autowired
+    private CambioService cambioService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${forohub.importacion.tamano-lote:1000}")
+    private int tamanoLote = 1000;
+
+    /**
+     * Recibe los rechazos y el progreso a medida que avanza la importación.
+     */
+    public interface Observador {
+
+        void rechazo(RechazoImportacionDTO rechazo);
+
+        void loteConfirmado(ProgresoImportacionDTO progreso);
+    }
+
+    /**
+     * Tópico ya asignado a una referencia de la importación.
+     */
+    private record TopicoImportado(Long id, Long cursoId) {}
+
+    /**
+     * Registro validado a la espera de que se confirme su lote.
+     */
+    private record Pendiente(RegistroImportacionDTO registro, Long autorId, Long cursoId) {
+
+        boolean esTopico() {
+            return RegistroImportacionDTO.TIPO_TOPICO.equals(registro.tipo());
+        }
+    }
+
+    /**
+     * Estado de una importación en curso.
+     */
+    private static class Importacion {
+
+        private final Map<String, Curso> cursos;
+
+        private final Map<String, Long> autores;
+
+        /**
+         * Referencias de tópicos confirmados en lotes anteriores.
+         */
+        private final Map<String, TopicoImportado> topicos = new HashMap<>();
+
+        /**
+         * Referencias de tópicos del lote actual, con su curso.
+         */
+        private final Map<String, Long> topicosPendientes = new HashMap<>();
+
+        private final List<Pendiente> lote = new ArrayList<>();
+
+        private long lineas;
+
+        private long topicosImportados;
+
+        private long respuestasImportadas;
+
+        private long rechazadas;
+
+        private int lotes;
+
+        Importacion(Map<String, Curso> cursos, Map<String, Long> autores) {
+            this.cursos = cursos;
+            this.autores = autores;
+        }
+
+        ProgresoImportacionDTO progreso() {
+            return new ProgresoImportacionDTO(lotes, lineas, topicosImportados, respuestasImportadas, rechazadas);
+        }
+    }
+
+    /**
+     * Importa los registros de la entrada. Los lotes confirmados se conservan aunque la importación
+     * se interrumpa después; las líneas inválidas se rechazan sin detener el resto.
+     */
+    public ProgresoImportacionDTO importar(BufferedReader entrada, Observador observador) throws IOException {
+        Importacion importacion = new Importacion(
+            cursoRepository.findAll().stream().collect(Collectors.toMap(Curso::getNombre, c -> c)),
+            usuarioRepository.findReferencias().stream()
+                .collect(Collectors.toMap(ReferenciaUsuarioDTO::correoElectronico, ReferenciaUsuarioDTO::id))
+        );
+
+        String linea;
+        while ((linea = entrada.readLine()) != null) {
+            importacion.lineas++;
+            if (linea.isBlank()) {
+                continue;
+            }
+
+            try {
+                importacion.lote.add(validar(objectMapper.readValue(linea, RegistroImportacionDTO.class), importacion));
+            } catch (JsonProcessingException e) {
+                rechazar(importacion, observador, "JSON inválido: " + e.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException e) {
+                rechazar(importacion, observador, e.getMessage());
+                continue;
+            }
+
+            if (importacion.lote.size() >= tamanoLote) {
+                confirmarLote(importacion, observador);
+            }
+        }
+
+        if (!importacion.lote.isEmpty()) {
+            confirmarLote(importacion, observador);
+        }
+
+        logger.info("Importación completada: {} tópicos, {} respuestas, {} líneas rechazadas",
+            importacion.topicosImportados, importacion.respuestasImportadas, importacion.rechazadas);
+        return importacion.progreso();
+    }
+
+    private Pendiente validar(RegistroImportacionDTO registro, Importacion importacion) {
+        if (registro == null || registro.tipo() == null) {
+            throw new IllegalArgumentException("El tipo es obligatorio");
+        }
+        validarTexto(registro.mensaje(), "mensaje", 2000);
+
+        Long autorId = importacion.autores.get(registro.autor());
+        if (autorId == null) {
+            throw new IllegalArgumentException("Autor no encontrado: " + registro.autor());
+        }
+
+        switch (registro.tipo()) {
+            case RegistroImportacionDTO.TIPO_TOPICO -> {
+                validarTexto(registro.titulo(), "título", 200);
+                if (registro.ref() == null || registro.ref().isBlank()) {
+                    throw new IllegalArgumentException("La referencia del tópico es obligatoria");
+                }
+                if (importacion.topicos.containsKey(registro.ref())
+                        || importacion.topicosPendientes.containsKey(registro.ref())) {
+                    throw new IllegalArgumentException("Referencia de tópico duplicada: " + registro.ref());
+                }
+
+                Curso curso = importacion.cursos.get(registro.curso());
+                if (curso == null) {
+                    throw new IllegalArgumentException("Curso no encontrado: " + registro.curso());
+                }
+                if (!curso.getActivo()) {
+                    throw new IllegalArgumentException("El curso no está activo: " + registro.curso());
+                }
+
+                importacion.topicosPendientes.put(registro.ref(), curso.getId());
+                return new Pendiente(registro, autorId, curso.getId());
+            }
+            case RegistroImportacionDTO.TIPO_RESPUESTA -> {
+                Long cursoId = importacion.topicosPendientes.get(registro.topico());
+                if (cursoId == null) {
+                    TopicoImportado topico = importacion.topicos.get(registro.topico());
+                    if (topico == null) {
+                        throw new IllegalArgumentException("Tópico no encontrado en la importación: " + registro.topico());
+                    }
+                    cursoId = topico.cursoId();
+                }
+                return new Pendiente(registro, autorId, cursoId);
+            }
+            default -> throw new IllegalArgumentException("Tipo desconocido: " + registro.tipo());
+        }
+    }
+
+    private void validarTexto(String valor, String campo, int maximo) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("El " + campo + " es obligatorio");
+        }
+        if (valor.trim().length() > maximo) {
+            throw new IllegalArgumentException("El " + campo + " no puede exceder " + maximo + " caracteres");
+        }
+    }
+
+    private void rechazar(Importacion importacion, Observador observador, String motivo) {
+        importacion.rechazadas++;
+        observador.rechazo(new RechazoImportacionDTO(importacion.lineas, motivo));
+    }
+
+    /**
+     * Inserta el lote en una transacción; las referencias de sus tópicos quedan disponibles al confirmarse.
+     */
+    private void confirmarLote(Importacion importacion, Observador observador) {
+        Map<String, TopicoImportado> nuevos = new HashMap<>();
+        long[] insertados = new long[2];
+
+        transactionTemplate.executeWithoutResult(estado -> {
+            Map<Long, Integer> respuestasPorTopico = new HashMap<>();
+
+            for (Pendiente pendiente : importacion.lote) {
+                RegistroImportacionDTO registro = pendiente.registro();
+                Usuario autor = entityManager.getReference(Usuario.class, pendiente.autorId());
+
+                if (pendiente.esTopico()) {
+                    Topico topico = new Topico(registro.titulo().trim(), registro.mensaje().trim(), autor,
+                        entityManager.getReference(Curso.class, pendiente.cursoId()));
+                    if (registro.status() != null) {
+                        topico.setStatus(registro.status());
+                    }
+                    entityManager.persist(topico);
+                    nuevos.put(registro.ref(), new TopicoImportado(topico.getId(), pendiente.cursoId()));
+                    indexarDespuesDeConfirmar(topico);
+                    cambioService.registrar(EntidadCambio.TOPICO, topico.getId(), OperacionCambio.CREACION,
+                        topico.getVersion());
+                    contadoresForo.topicoCreado(pendiente.cursoId(), topico.getStatus());
+                    insertados[0]++;
+                } else {
+                    TopicoImportado destino = nuevos.containsKey(registro.topico())
+                        ? nuevos.get(registro.topico())
+                        : importacion.topicos.get(registro.topico());
+
+                    Respuesta respuesta = new Respuesta(registro.mensaje().trim(),
+                        entityManager.getReference(Topico.class, destino.id()), autor);
+                    respuesta.setSolucion(Boolean.TRUE.equals(registro.solucion()));
+                    entityManager.persist(respuesta);
+                    cambioService.registrar(EntidadCambio.RESPUESTA, respuesta.getId(), OperacionCambio.CREACION,
+                        respuesta.getVersion());
+                    respuestasPorTopico.merge(destino.id(), 1, Integer::sum);
+                    contadoresForo.respuestaCreada(pendiente.cursoId());
+                    insertados[1]++;
+                }
+            }
+
+            // Los inserts deben llegar a la base de datos antes que los UPDATE de los contadores
+            entityManager.flush();
+            respuestasPorTopico.forEach((topicoId, cantidad) -> {
+                topicoRepository.sumarTotalRespuestas(topicoId, cantidad);
+                topicoDetalleCache.invalidar(topicoId);
+            });
+            entityManager.clear();
+        });
+
+        importacion.topicos.putAll(nuevos);
+        importacion.topicosPendientes.clear();
+        importacion.lote.clear();
+        importacion.topicosImportados += insertados[0];
+        importacion.respuestasImportadas += insertados[1];
+        importacion.lotes++;
+        observador.loteConfirmado(importacion.progreso());
+    }
+
+    private void indexarDespuesDeConfirmar(Topico topico) {
+        Long id = topico.getId();
+        String titulo = topico.getTitulo();
+        String mensaje = topico.getMensaje();
+        TransaccionUtils.despuesDeConfirmar(() -> indiceTopicos.indexar(id, titulo, mensaje));
+    }
+}
@@ -1,23 +1,33 @@
 package com.alura.forohub.service;
 
+import com.alura.forohub.cache.TopicoDetalleCache;
 import com.alura.forohub.dto.ActualizarRespuestaDTO;
 import com.alura.forohub.dto.CrearRespuestaDTO;
 import com.alura.forohub.dto.RespuestaDTO;
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
 import com.alura.forohub.entity.Respuesta;
 import com.alura.forohub.entity.StatusTopico;
 import com.alura.forohub.entity.Topico;
 import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.estadisticas.ContadoresForo;
+import com.alura.forohub.eventos.DifusorEventosTopico;
+import com.alura.forohub.eventos.TipoEventoTopico;
 import com.alura.forohub.mapper.RespuestaMapper;
+import com.alura.forohub.monitoreo.FasePeticion;
+import com.alura.forohub.monitoreo.TiemposPeticion;
 import com.alura.forohub.repository.RespuestaRepository;
 import com.alura.forohub.repository.TopicoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,6 +46,18 @@ public class RespuestaService {
     @Autowired
     private RespuestaMapper respuestaMapper;
 
+    @Autowired
+    private TopicoDetalleCache topicoDetalleCache;
+
+    @Autowired
+    private ContadoresForo contadoresForo;
+
+    @Autowired
+    private DifusorEventosTopico difusorEventosTopico;
+
+    @Autowired
+    private CambioService cambioService;
+
     /**
      * Crea una nueva respuesta para un tópico.
      */
@@ -52,8 +74,14 @@ public class RespuestaService {
         // Crear la respuesta
         Respuesta respuesta = new Respuesta(dto.mensaje(), topico, autor);
         respuesta = respuestaRepository.save(respuesta);
-
-        return respuestaMapper.toDTO(respuesta);
+        topicoRepository.incrementarTotalRespuestas(topicoId);
+        topicoDetalleCache.invalidar(topicoId);
+        contadoresForo.respuestaCreada(topico.getCurso().getId());
+        cambioService.registrar(EntidadCambio.RESPUESTA, respuesta.getId(), OperacionCambio.CREACION, respuesta.getVersion());
+
+        RespuestaDTO creada = respuestaMapper.toDTO(respuesta);
+        difusorEventosTopico.publicar(topicoId, TipoEventoTopico.RESPUESTA_CREADA, creada);
+        return creada;
     }
 
     /**
@@ -64,9 +92,10 @@ public class RespuestaService {
         Topico topico = topicoRepository.findById(topicoId)
             .orElseThrow(() -> new EntityNotFoundException("Tópico no encontrado con ID: " + topicoId));
 
-        return respuestaRepository.findByTopicoOrderByFechaCreacionAsc(topico).stream()
+        List<Respuesta> respuestas = respuestaRepository.findByTopicoOrderByFechaCreacionAsc(topico);
+        return TiemposPeticion.medir(FasePeticion.MAPEO, () -> respuestas.stream()
             .map(respuestaMapper::toDTO)
-            .collect(Collectors.toList());
+            .collect(Collectors.toList()));
     }
 
     /**
@@ -77,15 +106,15 @@ public class RespuestaService {
         Topico topico = topicoRepository.findById(topicoId)
             .orElseThrow(() -> new EntityNotFoundException("Tópico no encontrado con ID: " + topicoId));
 
-        return respuestaRepository.findByTopicoOrderByFechaCreacionAsc(topico, pageable)
-            .map(respuestaMapper::toDTO);
+        Page<Respuesta> respuestas = respuestaRepository.findByTopicoOrderByFechaCreacionAsc(topico, pageable);
+        return TiemposPeticion.medir(FasePeticion.MAPEO, () -> respuestas.map(respuestaMapper::toDTO));
     }
 
     /**
      * Actualiza una respuesta existente.
      */
     @Transactional
-    public RespuestaDTO actualizarRespuesta(Long respuestaId, ActualizarRespuestaDTO dto, Usuario autor) {
+    public RespuestaDTO actualizarRespuesta(Long respuestaId, ActualizarRespuestaDTO dto, Long versionEsperada, Usuario autor) {
         Respuesta respuesta = respuestaRepository.findByIdWithAuthor(respuestaId)
             .orElseThrow(() -> new EntityNotFoundException("Respuesta no encontrada con ID: " + respuestaId));
 
@@ -94,13 +123,25 @@ public class RespuestaService {
             throw new AccessDeniedException("No tienes permisos para actualizar esta respuesta");
         }
 
+        // Con If-Match la edición solo se aplica sobre la versión que vio el cliente
+        if (versionEsperada != null && !versionEsperada.equals(respuesta.getVersion())) {
+            throw new OptimisticLockingFailureException("La respuesta " + respuestaId + " está en la versión "
+                + respuesta.getVersion() + ", no en la " + versionEsperada);
+        }
+
         // Actualizar el mensaje si se proporciona
         if (dto.mensaje() != null && !dto.mensaje().trim().isEmpty()) {
             respuesta.setMensaje(dto.mensaje().trim());
         }
 
-        respuesta = respuestaRepository.save(respuesta);
-        return respuestaMapper.toDTO(respuesta);
+        // El flush incrementa la versión y detecta aquí una edición concurrente
+        respuesta = respuestaRepository.saveAndFlush(respuesta);
+        topicoDetalleCache.invalidar(respuesta.getTopico().getId());
+        cambioService.registrar(EntidadCambio.RESPUESTA, respuestaId, OperacionCambio.ACTUALIZACION, respuesta.getVersion());
+
+        RespuestaDTO actualizada = respuestaMapper.toDTO(respuesta);
+        difusorEventosTopico.publicar(respuesta.getTopico().getId(), TipoEventoTopico.RESPUESTA_ACTUALIZADA, actualizada);
+        return actualizada;
     }
 
     /**
@@ -117,61 +158,88 @@ public class RespuestaService {
         }
 
         respuestaRepository.delete(respuesta);
+        topicoRepository.decrementarTotalRespuestas(respuesta.getTopico().getId());
+        topicoDetalleCache.invalidar(respuesta.getTopico().getId());
+        contadoresForo.respuestaEliminada(respuesta.getTopico().getCurso().getId());
+        cambioService.registrar(EntidadCambio.RESPUESTA, respuestaId, OperacionCambio.ELIMINACION, respuesta.getVersion());
     }
 
     /**
      * Marca una respuesta como solución.
+     *
+     * <p>Primero se cambia el status comparando la versión del tópico leída, lo que bloquea su fila
+     * y serializa los cambios de solución; si otra operación lo modificó entretanto se lanza
+     * {@link OptimisticLockingFailureException}. Después una sola sentencia deja a la respuesta
+     * como única solución del tópico.</p>
      */
     @Transactional
     public RespuestaDTO marcarComoSolucion(Long respuestaId, Usuario usuario) {
         Respuesta respuesta = respuestaRepository.findByIdWithAuthor(respuestaId)
             .orElseThrow(() -> new EntityNotFoundException("Respuesta no encontrada con ID: " + respuestaId));
+        Topico topico = respuesta.getTopico();
 
         // Solo el autor del tópico puede marcar respuestas como solución
-        if (!respuesta.getTopico().getAutor().getId().equals(usuario.getId())) {
+        if (!topico.getAutor().getId().equals(usuario.getId())) {
             throw new AccessDeniedException("Solo el autor del tópico puede marcar respuestas como solución");
         }
 
-        // Desmarcar otras respuestas como solución en el mismo tópico
-        List<Respuesta> respuestasSolucion = respuestaRepository.findByTopicoAndSolucionTrue(respuesta.getTopico());
-        respuestasSolucion.forEach(r -> r.setSolucion(false));
-        respuestaRepository.saveAll(respuestasSolucion);
+        LocalDateTime ahora = LocalDateTime.now();
+        cambiarStatus(topico, StatusTopico.RESUELTO, ahora);
+        // Con el tópico bloqueado, las soluciones anteriores no cambian hasta la actualización masiva
+        List<Respuesta> anteriores = respuestaRepository.findByTopicoAndSolucionTrue(topico);
+        respuestaRepository.marcarUnicaSolucion(topico.getId(), respuestaId, ahora);
+        topicoDetalleCache.invalidar(topico.getId());
 
-        // Marcar esta respuesta como solución
+        // La actualización masiva no pasa por la entidad; se refleja en ella solo para la respuesta
         respuesta.setSolucion(true);
-        respuesta = respuestaRepository.save(respuesta);
-
-        // Actualizar el status del tópico a RESUELTO
-        Topico topico = respuesta.getTopico();
-        topico.setStatus(StatusTopico.RESUELTO);
-        topicoRepository.save(topico);
+        respuesta.setFechaActualizacion(ahora);
+        respuesta.setVersion(respuesta.getVersion() + 1);
+        cambioService.registrar(EntidadCambio.RESPUESTA, respuestaId, OperacionCambio.ACTUALIZACION, respuesta.getVersion());
+        for (Respuesta anterior : anteriores) {
+            if (!anterior.getId().equals(respuestaId)) {
+                cambioService.registrar(EntidadCambio.RESPUESTA, anterior.getId(), OperacionCambio.ACTUALIZACION,
+                    anterior.getVersion() + 1);
+            }
+        }
 
-        return respuestaMapper.toDTO(respuesta);
+        RespuestaDTO solucion = respuestaMapper.toDTO(respuesta);
+        difusorEventosTopico.publicar(topico.getId(), TipoEventoTopico.SOLUCION_MARCADA, solucion);
+        return solucion;
     }
 
     /**
-     * Desmarca una respuesta como solución.
+     * Desmarca una respuesta como solución; si el tópico se queda sin solución vuelve a estar abierto.
+     *
+     * <p>Como al marcar, el tópico se bloquea comparando su versión antes de tocar la respuesta.</p>
      */
     @Transactional
     public RespuestaDTO desmarcarComoSolucion(Long respuestaId, Usuario usuario) {
         Respuesta respuesta = respuestaRepository.findByIdWithAuthor(respuestaId)
             .orElseThrow(() -> new EntityNotFoundException("Respuesta no encontrada con ID: " + respuestaId));
+        Topico topico = respuesta.getTopico();
 
         // Solo el autor del tópico puede desmarcar respuestas como solución
-        if (!respuesta.getTopico().getAutor().getId().equals(usuario.getId())) {
+        if (!topico.getAutor().getId().equals(usuario.getId())) {
             throw new AccessDeniedException("Solo el autor del tópico puede desmarcar respuestas como solución");
         }
 
-        // Desmarcar como solución
-        respuesta.setSolucion(false);
-        respuesta = respuestaRepository.save(respuesta);
-
-        // Si no hay más respuestas marcadas como solución, cambiar el status del tópico a ABIERTO
-        boolean tieneSolucion = respuestaRepository.existsByTopicoAndSolucionTrue(respuesta.getTopico());
-        if (!tieneSolucion) {
-            Topico topico = respuesta.getTopico();
-            topico.setStatus(StatusTopico.ABIERTO);
-            topicoRepository.save(topico);
+        if (Boolean.TRUE.equals(respuesta.getSolucion())) {
+            LocalDateTime ahora = LocalDateTime.now();
+            StatusTopico nuevo = respuestaRepository.existsByTopicoAndSolucionTrueAndIdNot(topico, respuestaId)
+                ? topico.getStatus()
+                : StatusTopico.ABIERTO;
+            cambiarStatus(topico, nuevo, ahora);
+            respuestaRepository.desmarcarSolucion(respuestaId, ahora);
+            topicoDetalleCache.invalidar(topico.getId());
+            respuesta.setFechaActualizacion(ahora);
+            respuesta.setVersion(respuesta.getVersion() + 1);
+            respuesta.setSolucion(false);
+            cambioService.registrar(EntidadCambio.RESPUESTA, respuestaId, OperacionCambio.ACTUALIZACION,
+                respuesta.getVersion());
+
+            RespuestaDTO desmarcada = respuestaMapper.toDTO(respuesta);
+            difusorEventosTopico.publicar(topico.getId(), TipoEventoTopico.SOLUCION_DESMARCADA, desmarcada);
+            return desmarcada;
         }
 
         return respuestaMapper.toDTO(respuesta);
@@ -182,7 +250,27 @@ public class RespuestaService {
      */
     @Transactional(readOnly = true)
     public Page<RespuestaDTO> listarRespuestasPorAutor(Usuario autor, Pageable pageable) {
-        return respuestaRepository.findByAutorOrderByFechaCreacionDesc(autor, pageable)
-            .map(respuestaMapper::toDTO);
+        Page<Respuesta> respuestas = respuestaRepository.findByAutorOrderByFechaCreacionDesc(autor, pageable);
+        return TiemposPeticion.medir(FasePeticion.MAPEO, () -> respuestas.map(respuestaMapper::toDTO));
+    }
+
+    /**
+     * Cambia el status del tópico comparando su versión con la leída al cargarlo.
+     */
+    private void cambiarStatus(Topico topico, StatusTopico nuevo, LocalDateTime ahora) {
+        StatusTopico anterior = topico.getStatus();
+        if (topicoRepository.cambiarStatus(topico.getId(), topico.getVersion(), nuevo, ahora) == 0) {
+            throw new OptimisticLockingFailureException(
+                "El tópico " + topico.getId() + " fue modificado por otra operación; vuelve a intentarlo");
+        }
+        topico.setStatus(nuevo);
+        topico.setVersion(topico.getVersion() + 1);
+        registrarCambioDeStatus(topico, anterior);
+        cambioService.registrar(EntidadCambio.TOPICO, topico.getId(), OperacionCambio.ACTUALIZACION, topico.getVersion());
+    }
+
+    private void registrarCambioDeStatus(Topico topico, StatusTopico statusAnterior) {
+        Long cursoId = topico.getCurso().getId();
+        contadoresForo.topicoCambiado(cursoId, statusAnterior, cursoId, topico.getStatus(), topico.getTotalRespuestas());
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,43 @@
 package com.alura.forohub.service;
 
+import com.alura.forohub.cache.TopicoDetalleCache;
 import com.alura.forohub.dto.*;
 import com.alura.forohub.entity.Curso;
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
+import com.alura.forohub.entity.Respuesta;
+import com.alura.forohub.entity.StatusTopico;
 import com.alura.forohub.entity.Topico;
 import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.estadisticas.ContadoresForo;
+import com.alura.forohub.eventos.DifusorEventosTopico;
 import com.alura.forohub.mapper.TopicoMapper;
+import com.alura.forohub.monitoreo.FasePeticion;
+import com.alura.forohub.monitoreo.TiemposPeticion;
 import com.alura.forohub.repository.CursoRepository;
+import com.alura.forohub.repository.RespuestaRepository;
 import com.alura.forohub.repository.TopicoRepository;
+import com.alura.forohub.search.IndiceTopicos;
+import com.alura.forohub.search.ResultadoBusqueda;
+import com.alura.forohub.util.TransaccionUtils;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para la gestión de tópicos.
@@ -21,33 +45,114 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class TopicoService {
 
+    /**
+     * Tamaño máximo de página permitido en la paginación por cursor.
+     */
+    private static final int MAX_TAMANO_CURSOR = 100;
+
+    /**
+     * Número de respuestas incluidas en cada página del detalle de un tópico.
+     */
+    public static final int TAMANO_PAGINA_RESPUESTAS = 50;
+
+    /**
+     * Tamaño máximo de página de respuestas que puede pedir un cliente.
+     */
+    public static final int MAX_TAMANO_PAGINA_RESPUESTAS = 100;
+
     @Autowired
     private TopicoRepository topicoRepository;
 
     @Autowired
     private CursoRepository cursoRepository;
 
+    @Autowired
+    private RespuestaRepository respuestaRepository;
+
     @Autowired
     private TopicoMapper topicoMapper;
 
+    @Autowired
+    private TopicoDetalleCache topicoDetalleCache;
+
+    @Autowired
+    private IndiceTopicos indiceTopicos;
+
+    @Autowired
+    private ContadoresForo contadoresForo;
+
+    @Autowired
+    private DifusorEventosTopico difusorEventosTopico;
+
+    @Autowired
+    private CambioService cambioService;
+
     /**
      * Lista todos los tópicos con paginación.
      */
     @Transactional(readOnly = true)
     public Page<TopicoResponseDTO> listarTopicos(Pageable pageable) {
-        return topicoRepository.findAllByOrderByFechaCreacionDesc(pageable)
-            .map(topicoMapper::toResponseDTO);
+        return topicoRepository.findAllByOrderByFechaCreacionDesc(pageable);
+    }
+
+    /**
+     * Obtiene un tópico por ID con sus detalles y la página de respuestas indicada, del tamaño indicado.
+     * La cabecera y las respuestas se cargan en consultas separadas para no repetir
+     * las columnas del tópico por cada respuesta.
+     */
+    @Transactional(readOnly = true)
+    public DetalleTopicoDTO obtenerTopicoPorId(Long id, int paginaRespuestas, int tamanoPagina) {
+        if (paginaRespuestas < 0) {
+            throw new IllegalArgumentException("La página de respuestas no puede ser negativa");
+        }
+        if (tamanoPagina < 1 || tamanoPagina > MAX_TAMANO_PAGINA_RESPUESTAS) {
+            throw new IllegalArgumentException(
+                "El tamaño de página de respuestas debe estar entre 1 y " + MAX_TAMANO_PAGINA_RESPUESTAS);
+        }
+
+        // Solo la primera página de respuestas con el tamaño por defecto se guarda en caché
+        boolean cacheable = paginaRespuestas == 0 && tamanoPagina == TAMANO_PAGINA_RESPUESTAS;
+        if (cacheable) {
+            DetalleTopicoDTO enCache = topicoDetalleCache.obtener(id);
+            if (enCache != null) {
+                return enCache;
+            }
+        }
+        long versionCache = topicoDetalleCache.version();
+
+        Topico topico = topicoRepository.findCabeceraById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Tópico no encontrado con ID: " + id));
+
+        List<Respuesta> respuestas = topico.getTotalRespuestas() > 0
+            ? respuestaRepository.findPaginaByTopicoId(id, PageRequest.of(paginaRespuestas, tamanoPagina))
+            : List.of();
+
+        DetalleTopicoDTO detalle = TiemposPeticion.medir(FasePeticion.MAPEO,
+            () -> topicoMapper.toDetalleDTO(topico, respuestas, paginaRespuestas, tamanoPagina));
+        if (cacheable) {
+            topicoDetalleCache.guardar(id, detalle, versionCache);
+        }
+        return detalle;
     }
 
     /**
-     * Obtiene un tópico por ID con todos sus detalles.
+     * Obtiene la versión actual de un tópico para responder peticiones condicionales.
      */
     @Transactional(readOnly = true)
-    public DetalleTopicoDTO obtenerTopicoPorId(Long id) {
-        Topico topico = topicoRepository.findByIdWithFullDetails(id)
+    public TopicoVersionDTO obtenerVersionTopico(Long id) {
+        return topicoRepository.findVersionById(id)
             .orElseThrow(() -> new EntityNotFoundException("Tópico no encontrado con ID: " + id));
-        
-        return topicoMapper.toDetalleDTO(topico);
+    }
+
+    /**
+     * Suscribe al cliente a los eventos de las respuestas de un tópico.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter suscribirEventos(Long id) {
+        if (!topicoRepository.existsById(id)) {
+            throw new EntityNotFoundException("Tópico no encontrado con ID: " + id);
+        }
+        return difusorEventosTopico.suscribir(id);
     }
 
     /**
@@ -66,6 +171,9 @@ public class TopicoService {
         // Crear el tópico
         Topico topico = new Topico(dto.titulo(), dto.mensaje(), autor, curso);
         topico = topicoRepository.save(topico);
+        indexarDespuesDeConfirmar(topico);
+        contadoresForo.topicoCreado(curso.getId(), topico.getStatus());
+        cambioService.registrar(EntidadCambio.TOPICO, topico.getId(), OperacionCambio.CREACION, topico.getVersion());
 
         return topicoMapper.toResponseDTO(topico);
     }
@@ -74,7 +182,7 @@ public class TopicoService {
      * Actualiza un tópico existente.
      */
     @Transactional
-    public TopicoResponseDTO actualizarTopico(Long id, ActualizarTopicoDTO dto, Usuario autor) {
+    public TopicoResponseDTO actualizarTopico(Long id, ActualizarTopicoDTO dto, Long versionEsperada, Usuario autor) {
         Topico topico = topicoRepository.findByIdWithDetails(id)
             .orElseThrow(() -> new EntityNotFoundException("Tópico no encontrado con ID: " + id));
 
@@ -83,6 +191,14 @@ public class TopicoService {
             throw new AccessDeniedException("No tienes permisos para actualizar este tópico");
         }
 
+        // Con If-Match la edición solo se aplica sobre la versión que vio el cliente
+        if (versionEsperada != null && !versionEsperada.equals(topico.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                "El tópico " + id + " está en la versión " + topico.getVersion() + ", no en la " + versionEsperada);
+        }
+
+        Long cursoAnterior = topico.getCurso().getId();
+
         // Actualizar campos si se proporcionan
         if (dto.titulo() != null && !dto.titulo().trim().isEmpty()) {
             topico.setTitulo(dto.titulo().trim());
@@ -103,16 +219,25 @@ public class TopicoService {
             topico.setCurso(curso);
         }
 
-        topico = topicoRepository.save(topico);
+        // El flush incrementa la versión y detecta aquí una edición concurrente
+        topico = topicoRepository.saveAndFlush(topico);
+        topicoDetalleCache.invalidar(id);
+        indexarDespuesDeConfirmar(topico);
+        contadoresForo.topicoCambiado(cursoAnterior, topico.getStatus(), topico.getCurso().getId(),
+            topico.getStatus(), topico.getTotalRespuestas());
+        cambioService.registrar(EntidadCambio.TOPICO, id, OperacionCambio.ACTUALIZACION, topico.getVersion());
         return topicoMapper.toResponseDTO(topico);
     }
 
     /**
      * Elimina un tópico.
+     *
+     * <p>La fila del tópico se bloquea al cargarla, así que las respuestas leídas para el registro de
+     * cambios son exactamente las que el DELETE elimina en cascada.</p>
      */
     @Transactional
     public void eliminarTopico(Long id, Usuario autor) {
-        Topico topico = topicoRepository.findById(id)
+        Topico topico = topicoRepository.findByIdParaEliminar(id)
             .orElseThrow(() -> new EntityNotFoundException("Tópico no encontrado con ID: " + id));
 
         // Verificar que el usuario es el autor del tópico
@@ -120,7 +245,21 @@ public class TopicoService {
             throw new AccessDeniedException("No tienes permisos para eliminar este tópico");
         }
 
-        topicoRepository.delete(topico);
+        Long cursoId = topico.getCurso().getId();
+        StatusTopico status = topico.getStatus();
+        int totalRespuestas = topico.getTotalRespuestas();
+        Long version = topico.getVersion();
+        List<ReferenciaRespuestaDTO> respuestas = respuestaRepository.findReferenciasByTopicoId(id);
+
+        // Sin cargar las respuestas: el DELETE del tópico las elimina en cascada en la base de datos
+        topicoRepository.eliminarPorId(id);
+        topicoDetalleCache.invalidar(id);
+        TransaccionUtils.despuesDeConfirmar(() -> indiceTopicos.eliminar(id));
+        contadoresForo.topicoEliminado(cursoId, status, totalRespuestas);
+        difusorEventosTopico.cerrar(id);
+        cambioService.registrar(EntidadCambio.TOPICO, id, OperacionCambio.ELIMINACION, version);
+        respuestas.forEach(respuesta -> cambioService.registrar(
+            EntidadCambio.RESPUESTA, respuesta.id(), OperacionCambio.ELIMINACION, respuesta.version()));
     }
 
     /**
@@ -128,8 +267,7 @@ public class TopicoService {
      */
     @Transactional(readOnly = true)
     public Page<TopicoResponseDTO> listarTopicosPorAutor(Usuario autor, Pageable pageable) {
-        return topicoRepository.findByAutorOrderByFechaCreacionDesc(autor, pageable)
-            .map(topicoMapper::toResponseDTO);
+        return topicoRepository.findByAutorOrderByFechaCreacionDesc(autor, pageable);
     }
 
     /**
@@ -137,8 +275,31 @@ public class TopicoService {
      */
     @Transactional(readOnly = true)
     public Page<TopicoResponseDTO> buscarTopicosPorTitulo(String titulo, Pageable pageable) {
-        return topicoRepository.findByTituloContainingIgnoreCaseOrderByFechaCreacionDesc(titulo, pageable)
-            .map(topicoMapper::toResponseDTO);
+        return topicoRepository.findByTituloContainingIgnoreCaseOrderByFechaCreacionDesc(titulo, pageable);
+    }
+
+    /**
+     * Busca tópicos por relevancia en título y mensaje usando el índice en memoria.
+     * Solo se consulta la base de datos para cargar los tópicos de la página pedida.
+     */
+    @Transactional(readOnly = true)
+    public Page<TopicoResponseDTO> buscarTopicosPorRelevancia(String consulta, Pageable pageable) {
+        ResultadoBusqueda resultado = indiceTopicos.buscar(
+            consulta, Math.toIntExact(pageable.getOffset()), pageable.getPageSize());
+        if (resultado.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, resultado.total());
+        }
+
+        Map<Long, TopicoResponseDTO> porId = topicoRepository.findResumenesByIdIn(resultado.ids()).stream()
+            .collect(Collectors.toMap(TopicoResponseDTO::id, Function.identity()));
+
+        // Conservar el orden de relevancia del índice
+        List<TopicoResponseDTO> topicos = resultado.ids().stream()
+            .map(porId::get)
+            .filter(Objects::nonNull)
+            .toList();
+
+        return new PageImpl<>(topicos, pageable, resultado.total());
     }
 
     /**
@@ -151,7 +312,77 @@ public class TopicoService {
             throw new EntityNotFoundException("Curso no encontrado con ID: " + cursoId);
         }
 
-        return topicoRepository.findByCursoIdOrderByFechaCreacionDesc(cursoId, pageable)
-            .map(topicoMapper::toResponseDTO);
+        return topicoRepository.findByCursoIdOrderByFechaCreacionDesc(cursoId, pageable);
+    }
+
+    /**
+     * Lista todos los tópicos con paginación por cursor (sin consulta de conteo).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TopicoResponseDTO> listarTopicosPorCursor(String after, int size) {
+        TopicoCursor cursor = TopicoCursor.decodificar(after);
+        Pageable limite = limiteCursor(size);
+
+        Slice<TopicoResponseDTO> slice = cursor == null
+            ? topicoRepository.findSliceOrderByFechaCreacionDesc(limite)
+            : topicoRepository.findSliceDespuesDe(cursor.fechaCreacion(), cursor.id(), limite);
+
+        return toCursorPage(slice);
+    }
+
+    /**
+     * Lista tópicos por curso con paginación por cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TopicoResponseDTO> listarTopicosPorCursoPorCursor(Long cursoId, String after, int size) {
+        // Verificar que el curso existe
+        if (!cursoRepository.existsById(cursoId)) {
+            throw new EntityNotFoundException("Curso no encontrado con ID: " + cursoId);
+        }
+
+        TopicoCursor cursor = TopicoCursor.decodificar(after);
+        Pageable limite = limiteCursor(size);
+
+        Slice<TopicoResponseDTO> slice = cursor == null
+            ? topicoRepository.findSliceByCursoId(cursoId, limite)
+            : topicoRepository.findSliceByCursoIdDespuesDe(cursoId, cursor.fechaCreacion(), cursor.id(), limite);
+
+        return toCursorPage(slice);
+    }
+
+    /**
+     * Lista los tópicos de un autor con paginación por cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TopicoResponseDTO> listarTopicosPorAutorPorCursor(Usuario autor, String after, int size) {
+        TopicoCursor cursor = TopicoCursor.decodificar(after);
+        Pageable limite = limiteCursor(size);
+
+        Slice<TopicoResponseDTO> slice = cursor == null
+            ? topicoRepository.findSliceByAutorId(autor.getId(), limite)
+            : topicoRepository.findSliceByAutorIdDespuesDe(autor.getId(), cursor.fechaCreacion(), cursor.id(), limite);
+
+        return toCursorPage(slice);
+    }
+
+    private void indexarDespuesDeConfirmar(Topico topico) {
+        Long id = topico.getId();
+        String titulo = topico.getTitulo();
+        String mensaje = topico.getMensaje();
+        TransaccionUtils.despuesDeConfirmar(() -> indiceTopicos.indexar(id, titulo, mensaje));
+    }
+
+    private Pageable limiteCursor(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_TAMANO_CURSOR)));
+    }
+
+    private CursorPageDTO<TopicoResponseDTO> toCursorPage(Slice<TopicoResponseDTO> slice) {
+        List<TopicoResponseDTO> contenido = slice.getContent();
+
+        String siguiente = slice.hasNext() && !contenido.isEmpty()
+            ? TopicoCursor.desde(contenido.get(contenido.size() - 1)).codificar()
+            : null;
+
+        return new CursorPageDTO<>(contenido, siguiente, slice.hasNext(), slice.getSize());
     }
 }
\ No newline at end of file
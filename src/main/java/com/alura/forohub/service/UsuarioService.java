@@ -0,0 +1,84 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.cache.TopicoDetalleCache;
+import com.alura.forohub.dto.CambiarPerfilDTO;
+import com.alura.forohub.dto.PerfilDTO;
+import com.alura.forohub.dto.UsuarioDTO;
+import com.alura.forohub.entity.Perfil;
+import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.repository.PerfilRepository;
+import com.alura.forohub.repository.UsuarioRepository;
+import com.alura.forohub.security.PrincipalCache;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio para la administración de usuarios.
+ */
+@Service
+public class UsuarioService {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TopicoDetalleCache topicoDetalleCache;
+
+    /**
+     * Desactiva un usuario; deja de poder autenticarse en la siguiente petición.
+     */
+    @Transactional
+    public UsuarioDTO desactivarUsuario(Long id) {
+        Usuario usuario = usuarioRepository.findByIdWithPerfil(id)
+            .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con ID: " + id));
+
+        usuario.setActivo(false);
+        usuario = usuarioRepository.save(usuario);
+        principalCache.invalidar(usuario.getCorreoElectronico());
+
+        return toDTO(usuario);
+    }
+
+    /**
+     * Cambia el perfil de un usuario.
+     */
+    @Transactional
+    public UsuarioDTO cambiarPerfil(Long id, CambiarPerfilDTO dto) {
+        Usuario usuario = usuarioRepository.findByIdWithPerfil(id)
+            .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con ID: " + id));
+
+        Perfil perfil = perfilRepository.findById(dto.perfilId())
+            .orElseThrow(() -> new EntityNotFoundException("Perfil no encontrado con ID: " + dto.perfilId()));
+
+        usuario.setPerfil(perfil);
+        usuario = usuarioRepository.save(usuario);
+        principalCache.invalidar(usuario.getCorreoElectronico());
+        // El perfil del autor aparece en el detalle de sus tópicos y respuestas
+        topicoDetalleCache.invalidarTodo();
+
+        return toDTO(usuario);
+    }
+
+    private UsuarioDTO toDTO(Usuario usuario) {
+        return new UsuarioDTO(
+            usuario.getId(),
+            usuario.getNombre(),
+            usuario.getCorreoElectronico(),
+            usuario.getFechaCreacion(),
+            new PerfilDTO(
+                usuario.getPerfil().getId(),
+                usuario.getPerfil().getNombre(),
+                usuario.getPerfil().getTipo(),
+                usuario.getPerfil().getDescripcion()
+            )
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.alura.forohub.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para ejecutar acciones ligadas al ciclo de vida de la transacción actual.
+ */
+public final class TransaccionUtils {
+
+    private TransaccionUtils() {}
+
+    /**
+     * Ejecuta la acción después del commit de la transacción actual,
+     * o inmediatamente si no hay una transacción activa.
+     */
+    public static void despuesDeConfirmar(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
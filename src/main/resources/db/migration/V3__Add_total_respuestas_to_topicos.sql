@@ -0,0 +1,6 @@
+-- Agregar contador desnormalizado de respuestas a los tópicos
+ALTER TABLE topicos ADD COLUMN total_respuestas INT NOT NULL DEFAULT 0;
+
+-- Calcular el valor inicial a partir de las respuestas existentes
+UPDATE topicos t
+SET total_respuestas = (SELECT COUNT(*) FROM respuestas r WHERE r.topico_id = t.id);
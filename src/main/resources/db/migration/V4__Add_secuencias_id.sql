@@ -0,0 +1,18 @@
+-- Tabla de secuencias para los IDs de las entidades (optimizador pooled de Hibernate, bloques de 50)
+CREATE TABLE secuencias_id (
+    nombre VARCHAR(50) NOT NULL PRIMARY KEY,
+    valor BIGINT NOT NULL
+);
+
+-- Hibernate guarda el último valor usado: al leer v reserva los IDs v - 48 .. v + 1,
+-- así que el primer bloque de cada secuencia empieza justo después del mayor ID existente
+INSERT INTO secuencias_id (nombre, valor)
+SELECT 'perfiles', COALESCE(MAX(id), 0) + 49 FROM perfiles;
+INSERT INTO secuencias_id (nombre, valor)
+SELECT 'cursos', COALESCE(MAX(id), 0) + 49 FROM cursos;
+INSERT INTO secuencias_id (nombre, valor)
+SELECT 'usuarios', COALESCE(MAX(id), 0) + 49 FROM usuarios;
+INSERT INTO secuencias_id (nombre, valor)
+SELECT 'topicos', COALESCE(MAX(id), 0) + 49 FROM topicos;
+INSERT INTO secuencias_id (nombre, valor)
+SELECT 'respuestas', COALESCE(MAX(id), 0) + 49 FROM respuestas;
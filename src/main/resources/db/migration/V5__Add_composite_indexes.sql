@@ -0,0 +1,10 @@
+-- Índices compuestos con la forma de las consultas: filtro por una columna y orden por fecha
+-- de creación (con el ID como desempate del paginado por cursor), para evitar el filesort
+CREATE INDEX idx_topico_curso_fecha ON topicos(curso_id, fecha_creacion, id);
+CREATE INDEX idx_topico_autor_fecha ON topicos(autor_id, fecha_creacion, id);
+CREATE INDEX idx_respuesta_topico_fecha ON respuestas(topico_id, fecha_creacion, id);
+CREATE INDEX idx_respuesta_topico_solucion ON respuestas(topico_id, solucion);
+CREATE INDEX idx_respuesta_autor_fecha ON respuestas(autor_id, fecha_creacion, id);
+
+-- Los índices de una sola columna sobre las claves foráneas se mantienen: respaldan las
+-- restricciones FOREIGN KEY y H2 no permite eliminarlos aunque un compuesto cubra la columna
@@ -0,0 +1,3 @@
+-- Columnas de versión para el bloqueo optimista de tópicos y respuestas
+ALTER TABLE topicos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE respuestas ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- Registro de cambios de tópicos y respuestas para el feed incremental GET /topicos/cambios.
+-- El ID es autoincremental (no de secuencias_id) para que crezca en el orden de inserción
+-- también con varias instancias, que reservan bloques de IDs distintos.
+CREATE TABLE cambios (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entidad VARCHAR(20) NOT NULL,
+    entidad_id BIGINT NOT NULL,
+    operacion VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL,
+    fecha TIMESTAMP(6) NOT NULL
+);
+
+-- La compactación busca entradas posteriores de la misma entidad y purga por antigüedad
+CREATE INDEX idx_cambio_entidad ON cambios(entidad, entidad_id, id);
+CREATE INDEX idx_cambio_fecha ON cambios(fecha);
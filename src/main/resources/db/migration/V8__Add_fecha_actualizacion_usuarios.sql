@@ -0,0 +1,2 @@
+-- Fecha de la última modificación de un usuario; el ETag del detalle de un tópico depende de la de sus autores
+ALTER TABLE usuarios ADD COLUMN fecha_actualizacion TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
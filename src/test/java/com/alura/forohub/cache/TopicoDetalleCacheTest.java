@@ -0,0 +1,82 @@
+package com.alura.forohub.cache;
+
+import com.alura.forohub.dto.CacheEstadisticasDTO;
+import com.alura.forohub.dto.DetalleTopicoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Tests de la caché de detalle de tópicos")
+class TopicoDetalleCacheTest {
+
+    private TopicoDetalleCache cache;
+    private DetalleTopicoDTO detalle;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TopicoDetalleCache(100, Duration.ofMinutes(10));
+        detalle = mock(DetalleTopicoDTO.class);
+    }
+
+    @Test
+    @DisplayName("Debe guardar y obtener el detalle registrando aciertos y fallos")
+    void testGuardarYObtener() {
+        // Act
+        assertNull(cache.obtener(1L));
+        cache.guardar(1L, detalle, cache.version());
+
+        // Assert
+        assertSame(detalle, cache.obtener(1L));
+        CacheEstadisticasDTO estadisticas = cache.estadisticas();
+        assertEquals(1, estadisticas.aciertos());
+        assertEquals(1, estadisticas.fallos());
+        assertEquals(1, estadisticas.tamano());
+    }
+
+    @Test
+    @DisplayName("Debe eliminar la entrada al invalidar")
+    void testInvalidar() {
+        // Arrange
+        cache.guardar(1L, detalle, cache.version());
+
+        // Act
+        cache.invalidar(1L);
+
+        // Assert
+        assertNull(cache.obtener(1L));
+    }
+
+    @Test
+    @DisplayName("Debe eliminar todas las entradas al invalidar todo")
+    void testInvalidarTodo() {
+        // Arrange
+        cache.guardar(1L, detalle, cache.version());
+        cache.guardar(2L, detalle, cache.version());
+
+        // Act
+        cache.invalidarTodo();
+
+        // Assert
+        assertNull(cache.obtener(1L));
+        assertNull(cache.obtener(2L));
+    }
+
+    @Test
+    @DisplayName("Debe descartar un detalle leído antes de una invalidación")
+    void testNoGuardarDetalleObsoleto() {
+        // Arrange: la lectura empieza antes de que una escritura invalide el tópico
+        long version = cache.version();
+        cache.invalidar(1L);
+
+        // Act
+        cache.guardar(1L, detalle, version);
+
+        // Assert
+        assertNull(cache.obtener(1L));
+    }
+}
@@ -0,0 +1,63 @@
+package com.alura.forohub.controller;
+
+import com.alura.forohub.dto.TopicoVersionDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la construcción de ETags")
+class EtagsTest {
+
+    @Test
+    @DisplayName("Debe generar el mismo ETag fuerte para la misma versión y página")
+    void testEtagDeVersion() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        TopicoVersionDTO version = new TopicoVersionDTO(0L, fecha, 3, fecha, fecha, fecha, "Java", "Programación", null);
+
+        // Act
+        String etag = Etags.de(version, 0);
+
+        // Assert
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+        assertEquals(etag, Etags.de(new TopicoVersionDTO(0L, fecha, 3, fecha, fecha, fecha, "Java", "Programación", null), 0));
+        assertNotEquals(etag, Etags.de(version, 1));
+        assertNotEquals(etag, Etags.de(new TopicoVersionDTO(0L, fecha, 4, fecha, fecha, fecha, "Java", "Programación", null), 0));
+        assertNotEquals(etag, Etags.de(new TopicoVersionDTO(0L, fecha, 3, fecha, fecha.plusSeconds(1), fecha, "Java", "Programación", null), 0));
+        assertNotEquals(etag, Etags.de(new TopicoVersionDTO(0L, fecha, 3, fecha, fecha, fecha, "Kotlin", "Programación", null), 0));
+    }
+
+    @Test
+    @DisplayName("Debe derivar el ETag de una página de su contenido y metadatos")
+    void testConEtagPagina() {
+        // Act
+        ResponseEntity<PageImpl<String>> primera = Etags.conEtag(new PageImpl<>(List.of("a", "b"), PageRequest.of(0, 2), 4));
+        ResponseEntity<PageImpl<String>> segunda = Etags.conEtag(new PageImpl<>(List.of("a", "b"), PageRequest.of(1, 2), 4));
+
+        // Assert
+        assertEquals(HttpStatus.OK, primera.getStatusCode());
+        assertEquals("no-cache", primera.getHeaders().getCacheControl());
+        assertNotNull(primera.getHeaders().getETag());
+        assertNotEquals(primera.getHeaders().getETag(), segunda.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Debe responder 304 sin cuerpo")
+    void testNoModificado() {
+        // Act
+        ResponseEntity<Object> respuesta = Etags.noModificado();
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, respuesta.getStatusCode());
+        assertEquals("no-cache", respuesta.getHeaders().getCacheControl());
+        assertNull(respuesta.getBody());
+    }
+}
@@ -1,21 +1,35 @@
 package com.alura.forohub.controller;
 
+import com.alura.forohub.config.SecurityConfig;
+import com.alura.forohub.dto.ActualizarTopicoDTO;
 import com.alura.forohub.dto.CrearTopicoDTO;
+import com.alura.forohub.dto.CursorPageDTO;
 import com.alura.forohub.dto.DetalleTopicoDTO;
 import com.alura.forohub.dto.TopicoResponseDTO;
+import com.alura.forohub.dto.TopicoVersionDTO;
 import com.alura.forohub.entity.StatusTopico;
 import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.monitoreo.ConversorJsonMedido;
+import com.alura.forohub.monitoreo.FiltroTiemposPeticion;
+import com.alura.forohub.repository.UsuarioRepository;
+import com.alura.forohub.security.JwtUtil;
+import com.alura.forohub.security.PrincipalCache;
 import com.alura.forohub.service.AuthenticationService;
+import com.alura.forohub.service.CambioService;
 import com.alura.forohub.service.TopicoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -24,14 +38,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TopicoController.class)
+// Reglas de acceso reales; los filtros de monitoreo necesitan métricas y el conversor JSON medido
+@Import({SecurityConfig.class, SimpleMeterRegistry.class, ConversorJsonMedido.class})
 @ActiveProfiles("test")
 @DisplayName("Tests del controlador Topico")
 class TopicoControllerTest {
@@ -48,13 +66,26 @@ class TopicoControllerTest {
     @MockBean
     private AuthenticationService authenticationService;
 
+    @MockBean
+    private CambioService cambioService;
+
+    // Dependencias de JwtAuthenticationFilter, que el slice registra junto al controlador
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
+    @MockBean
+    private UsuarioRepository usuarioRepository;
+
     @Test
     @DisplayName("Debe listar tópicos sin autenticación")
     void testListarTopicos() throws Exception {
         // Arrange
         TopicoResponseDTO topicoDTO = new TopicoResponseDTO(
             1L, "Título", "Mensaje", LocalDateTime.now(),
-            StatusTopico.ABIERTO, "Autor", "Curso", 0
+            StatusTopico.ABIERTO, "Autor", "Curso", 0, 0L
         );
         Page<TopicoResponseDTO> page = new PageImpl<>(List.of(topicoDTO), PageRequest.of(0, 10), 1);
         
@@ -74,10 +105,12 @@ class TopicoControllerTest {
         // Arrange
         DetalleTopicoDTO detalleDTO = new DetalleTopicoDTO(
             1L, "Título", "Mensaje", LocalDateTime.now(), LocalDateTime.now(),
-            StatusTopico.ABIERTO, null, null, List.of()
+            StatusTopico.ABIERTO, 0L, null, null, List.of(), 0, 0, 0
         );
         
-        when(topicoService.obtenerTopicoPorId(1L)).thenReturn(detalleDTO);
+        when(topicoService.obtenerVersionTopico(1L)).thenReturn(
+            new TopicoVersionDTO(0L, LocalDateTime.now(), 0, null, LocalDateTime.now(), null, "Java Básico", "Programación", null));
+        when(topicoService.obtenerTopicoPorId(1L, 0, TopicoService.TAMANO_PAGINA_RESPUESTAS)).thenReturn(detalleDTO);
 
         // Act & Assert
         mockMvc.perform(get("/topicos/1"))
@@ -94,7 +127,7 @@ class TopicoControllerTest {
         CrearTopicoDTO dto = new CrearTopicoDTO("Nuevo Tópico", "Mensaje del tópico", 1L);
         TopicoResponseDTO responseDTO = new TopicoResponseDTO(
             1L, "Nuevo Tópico", "Mensaje del tópico", LocalDateTime.now(),
-            StatusTopico.ABIERTO, "Autor", "Curso", 0
+            StatusTopico.ABIERTO, "Autor", "Curso", 0, 0L
         );
         
         when(authenticationService.obtenerUsuarioActual()).thenReturn(new Usuario());
@@ -157,7 +190,7 @@ class TopicoControllerTest {
         // Arrange
         TopicoResponseDTO topicoDTO = new TopicoResponseDTO(
             1L, "Spring Boot", "Mensaje", LocalDateTime.now(),
-            StatusTopico.ABIERTO, "Autor", "Curso", 0
+            StatusTopico.ABIERTO, "Autor", "Curso", 0, 0L
         );
         Page<TopicoResponseDTO> page = new PageImpl<>(List.of(topicoDTO), PageRequest.of(0, 10), 1);
         
@@ -170,4 +203,170 @@ class TopicoControllerTest {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON))
             .andExpect(jsonPath("$.content").isArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe responder 304 al detalle cuando el ETag no cambió, sin cargar el tópico")
+    void testObtenerTopicoNoModificado() throws Exception {
+        // Arrange
+        DetalleTopicoDTO detalleDTO = new DetalleTopicoDTO(
+            1L, "Título", "Mensaje", LocalDateTime.now(), LocalDateTime.now(),
+            StatusTopico.ABIERTO, 0L, null, null, List.of(), 0, 0, 0
+        );
+        when(topicoService.obtenerVersionTopico(1L)).thenReturn(
+            new TopicoVersionDTO(0L, LocalDateTime.now(), 0, null, LocalDateTime.now(), null, "Java Básico", "Programación", null));
+        when(topicoService.obtenerTopicoPorId(1L, 0, TopicoService.TAMANO_PAGINA_RESPUESTAS)).thenReturn(detalleDTO);
+
+        String etag = mockMvc.perform(get("/topicos/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/topicos/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/topicos/1").param("respuestasPage", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+
+        verify(topicoService, times(1)).obtenerTopicoPorId(1L, 0, TopicoService.TAMANO_PAGINA_RESPUESTAS);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Debe actualizar el tópico con If-Match y devolver la nueva versión como ETag")
+    void testActualizarTopicoConIfMatch() throws Exception {
+        // Arrange
+        ActualizarTopicoDTO dto = new ActualizarTopicoDTO("Título editado", null, null);
+        TopicoResponseDTO responseDTO = new TopicoResponseDTO(
+            1L, "Título editado", "Mensaje", LocalDateTime.now(),
+            StatusTopico.ABIERTO, "Autor", "Curso", 0, 4L
+        );
+        when(authenticationService.obtenerUsuarioActual()).thenReturn(new Usuario());
+        when(topicoService.actualizarTopico(eq(1L), any(ActualizarTopicoDTO.class), eq(3L), any(Usuario.class)))
+            .thenReturn(responseDTO);
+
+        // Act & Assert
+        mockMvc.perform(put("/topicos/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+            .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Debe responder 409 al actualizar sobre una versión desactualizada")
+    void testActualizarTopicoConVersionDesactualizada() throws Exception {
+        // Arrange
+        ActualizarTopicoDTO dto = new ActualizarTopicoDTO("Título editado", null, null);
+        when(authenticationService.obtenerUsuarioActual()).thenReturn(new Usuario());
+        when(topicoService.actualizarTopico(eq(1L), any(ActualizarTopicoDTO.class), eq(2L), any(Usuario.class)))
+            .thenThrow(new OptimisticLockingFailureException("El tópico 1 está en la versión 3, no en la 2"));
+
+        // Act & Assert
+        mockMvc.perform(put("/topicos/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.codigo").value("CONCURRENT_MODIFICATION"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Debe responder 400 con un If-Match que no es una versión")
+    void testActualizarTopicoConIfMatchInvalido() throws Exception {
+        // Arrange
+        ActualizarTopicoDTO dto = new ActualizarTopicoDTO("Título editado", null, null);
+        when(authenticationService.obtenerUsuarioActual()).thenReturn(new Usuario());
+
+        // Act & Assert
+        mockMvc.perform(put("/topicos/1")
+                .header(HttpHeaders.IF_MATCH, "\"abc\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+            .andExpect(status().isBadRequest());
+        verify(topicoService, never()).actualizarTopico(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe buscar tópicos por relevancia con el índice en memoria")
+    void testBuscarTopicosPorRelevancia() throws Exception {
+        // Arrange
+        TopicoResponseDTO topicoDTO = new TopicoResponseDTO(
+            1L, "Spring Boot", "Mensaje", LocalDateTime.now(),
+            StatusTopico.ABIERTO, "Autor", "Curso", 0, 0L
+        );
+        when(topicoService.buscarTopicosPorRelevancia(eq("spring"), any()))
+            .thenReturn(new PageImpl<>(List.of(topicoDTO), PageRequest.of(0, 10), 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/topicos/buscar")
+                .param("q", "spring")
+                .param("modo", "relevancia"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.content[0].titulo").value("Spring Boot"));
+        verify(topicoService, never()).buscarTopicosPorTitulo(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe incluir Server-Timing cuando la petición lo solicita")
+    void testServerTiming() throws Exception {
+        // Arrange
+        Page<TopicoResponseDTO> page = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        when(topicoService.listarTopicos(any())).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/topicos").header(FiltroTiemposPeticion.SOLICITUD, "true"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(FiltroTiemposPeticion.SERVER_TIMING, containsString("total;desc=\"Servidor\";dur=")))
+            .andExpect(header().string(FiltroTiemposPeticion.TIMING_ALLOW_ORIGIN, "*"));
+        mockMvc.perform(get("/topicos"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(FiltroTiemposPeticion.SERVER_TIMING));
+    }
+
+    @Test
+    @DisplayName("Debe exponer Server-Timing a otros orígenes")
+    void testServerTimingConCors() throws Exception {
+        // Arrange
+        Page<TopicoResponseDTO> page = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        when(topicoService.listarTopicos(any())).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/topicos")
+                .header(HttpHeaders.ORIGIN, "https://frontend.example.com")
+                .header(FiltroTiemposPeticion.SOLICITUD, "true"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "https://frontend.example.com"))
+            .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+                containsString(FiltroTiemposPeticion.SERVER_TIMING)))
+            .andExpect(header().exists(FiltroTiemposPeticion.SERVER_TIMING))
+            .andExpect(header().string(FiltroTiemposPeticion.TIMING_ALLOW_ORIGIN, "*"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el feed de cambios sin autenticación")
+    void testListarCambiosSinAutenticacion() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/topicos/cambios"))
+            .andExpect(status().isUnauthorized());
+        verifyNoInteractions(cambioService);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Debe listar el feed de cambios con autenticación")
+    void testListarCambios() throws Exception {
+        // Arrange
+        when(cambioService.listarCambios(null, 100)).thenReturn(new CursorPageDTO<>(List.of(), "MA", false, 100));
+
+        // Act & Assert
+        mockMvc.perform(get("/topicos/cambios"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nextCursor").value("MA"));
+    }
+}
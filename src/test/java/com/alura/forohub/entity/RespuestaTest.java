@@ -43,7 +43,8 @@ class RespuestaTest {
     void testMarcarComoSolucion() {
         respuesta.marcarComoSolucion();
         assertTrue(respuesta.getSolucion());
-        assertEquals(StatusTopico.RESUELTO, topico.getStatus());
+        // El status del tópico lo gestiona RespuestaService, no la entidad
+        assertEquals(StatusTopico.ABIERTO, topico.getStatus());
     }
 
     @Test
@@ -57,7 +58,7 @@ class RespuestaTest {
     void testSetSolucionTrue() {
         respuesta.setSolucion(true);
         assertTrue(respuesta.getSolucion());
-        assertEquals(StatusTopico.RESUELTO, topico.getStatus());
+        assertEquals(StatusTopico.ABIERTO, topico.getStatus());
     }
 
     @Test
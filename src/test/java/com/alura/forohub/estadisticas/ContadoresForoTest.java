@@ -0,0 +1,98 @@
+package com.alura.forohub.estadisticas;
+
+import com.alura.forohub.dto.ConteoRespuestasDTO;
+import com.alura.forohub.dto.ConteoTopicosDTO;
+import com.alura.forohub.dto.EstadisticasCursoDTO;
+import com.alura.forohub.dto.EstadisticasDTO;
+import com.alura.forohub.entity.StatusTopico;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de los contadores de estadísticas del foro")
+class ContadoresForoTest {
+
+    private ContadoresForo contadores;
+
+    @BeforeEach
+    void setUp() {
+        contadores = new ContadoresForo();
+    }
+
+    @Test
+    @DisplayName("Debe contar tópicos y respuestas por status y por curso")
+    void testOperacionesDeEscritura() {
+        // Act: sin transacción activa los cambios se aplican de inmediato
+        contadores.topicoCreado(1L, StatusTopico.ABIERTO);
+        contadores.topicoCreado(1L, StatusTopico.ABIERTO);
+        contadores.topicoCreado(2L, StatusTopico.ABIERTO);
+        contadores.respuestaCreada(1L);
+        contadores.respuestaCreada(1L);
+        contadores.topicoCambiado(1L, StatusTopico.ABIERTO, 1L, StatusTopico.RESUELTO, 2);
+        contadores.usuarioRegistrado();
+
+        // Assert
+        EstadisticasDTO estadisticas = contadores.estadisticas();
+        assertEquals(3, estadisticas.totalTopicos());
+        assertEquals(2, estadisticas.totalRespuestas());
+        assertEquals(1, estadisticas.totalUsuarios());
+        assertEquals(1, estadisticas.topicosResueltos());
+        assertEquals(2, estadisticas.topicosAbiertos());
+        assertEquals(0, estadisticas.topicosCerrados());
+        assertEquals(List.of(
+            new EstadisticasCursoDTO(1L, 2L, 2L),
+            new EstadisticasCursoDTO(2L, 1L, 0L)
+        ), estadisticas.cursos());
+    }
+
+    @Test
+    @DisplayName("Debe mover las respuestas al cambiar un tópico de curso y descontarlas al eliminarlo")
+    void testCambioDeCursoYEliminacion() {
+        // Arrange
+        contadores.topicoCreado(1L, StatusTopico.ABIERTO);
+        contadores.respuestaCreada(1L);
+
+        // Act
+        contadores.topicoCambiado(1L, StatusTopico.ABIERTO, 2L, StatusTopico.ABIERTO, 1);
+        EstadisticasDTO trasMover = contadores.estadisticas();
+        contadores.topicoEliminado(2L, StatusTopico.ABIERTO, 1);
+
+        // Assert
+        assertEquals(List.of(
+            new EstadisticasCursoDTO(1L, 0L, 0L),
+            new EstadisticasCursoDTO(2L, 1L, 1L)
+        ), trasMover.cursos());
+        EstadisticasDTO estadisticas = contadores.estadisticas();
+        assertEquals(0, estadisticas.totalTopicos());
+        assertEquals(0, estadisticas.totalRespuestas());
+    }
+
+    @Test
+    @DisplayName("Debe reemplazar los contadores al reconciliar e informar la desviación")
+    void testReemplazar() {
+        // Arrange: los contadores en memoria se desviaron de la base de datos
+        contadores.topicoCreado(9L, StatusTopico.ABIERTO);
+
+        // Act
+        long desviacion = contadores.reemplazar(
+            List.of(new ConteoTopicosDTO(1L, StatusTopico.ABIERTO, 3L), new ConteoTopicosDTO(1L, StatusTopico.CERRADO, 1L)),
+            List.of(new ConteoRespuestasDTO(1L, 5L)),
+            4, 2
+        );
+
+        // Assert
+        assertEquals(8, desviacion);
+        EstadisticasDTO estadisticas = contadores.estadisticas();
+        assertEquals(4, estadisticas.totalTopicos());
+        assertEquals(5, estadisticas.totalRespuestas());
+        assertEquals(4, estadisticas.totalUsuarios());
+        assertEquals(2, estadisticas.totalCursos());
+        assertEquals(3, estadisticas.topicosAbiertos());
+        assertEquals(1, estadisticas.topicosCerrados());
+        assertEquals(List.of(new EstadisticasCursoDTO(1L, 4L, 5L)), estadisticas.cursos());
+    }
+}
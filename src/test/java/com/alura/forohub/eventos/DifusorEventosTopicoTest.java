@@ -0,0 +1,136 @@
+package com.alura.forohub.eventos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del difusor de eventos de tópicos")
+class DifusorEventosTopicoTest {
+
+    private final EnviosRetenidos envios = new EnviosRetenidos();
+
+    private DifusorEventosTopico difusor(int capacidadBuffer) {
+        return new DifusorEventosTopico(new ObjectMapper(), capacidadBuffer, Duration.ofMinutes(1), envios);
+    }
+
+    @Test
+    @DisplayName("Debe desconectar al suscriptor cuyo buffer se llena por no consumir los eventos")
+    void testExpulsarSuscriptorLento() {
+        // Arrange
+        DifusorEventosTopico difusor = difusor(2);
+        difusor.suscribir(1L); // el comentario de conexión ocupa la primera posición
+
+        // Act
+        difusor.publicar(1L, TipoEventoTopico.RESPUESTA_CREADA, Map.of("id", 1));
+        difusor.publicar(1L, TipoEventoTopico.RESPUESTA_CREADA, Map.of("id", 2));
+        envios.ejecutarPendientes();
+
+        // Assert
+        assertEquals(0, difusor.suscriptores());
+        assertEquals(1, difusor.expulsiones());
+    }
+
+    @Test
+    @DisplayName("Debe entregar los eventos solo a los suscriptores del tópico")
+    void testPublicarSoloAlTopico() {
+        // Arrange
+        DifusorEventosTopico difusor = difusor(1);
+        difusor.suscribir(1L);
+        difusor.suscribir(2L);
+
+        // Act
+        difusor.publicar(2L, TipoEventoTopico.SOLUCION_MARCADA, Map.of("id", 1));
+
+        // Assert: solo se llena el buffer del suscriptor del tópico 2
+        assertEquals(1, difusor.suscriptores());
+        assertEquals(1, difusor.expulsiones());
+    }
+
+    @Test
+    @DisplayName("Debe vaciar el buffer de un suscriptor que consume a tiempo")
+    void testEnviarPendientes() {
+        // Arrange
+        DifusorEventosTopico difusor = difusor(2);
+        difusor.suscribir(1L);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            difusor.publicar(1L, TipoEventoTopico.RESPUESTA_ACTUALIZADA, Map.of("id", i));
+            envios.ejecutarPendientes();
+        }
+
+        // Assert
+        assertEquals(1, difusor.suscriptores());
+        assertEquals(0, difusor.expulsiones());
+    }
+
+    @Test
+    @DisplayName("Debe desconectar a los suscriptores de un tópico al cerrarlo")
+    void testCerrar() {
+        // Arrange
+        DifusorEventosTopico difusor = difusor(8);
+        difusor.suscribir(1L);
+        difusor.suscribir(1L);
+        difusor.suscribir(2L);
+
+        // Act
+        difusor.cerrar(1L);
+        envios.ejecutarPendientes();
+
+        // Assert
+        assertEquals(1, difusor.suscriptores());
+        assertEquals(0, difusor.expulsiones());
+    }
+
+    /**
+     * Retiene los envíos hasta que el test decide ejecutarlos, como un cliente que no lee.
+     */
+    private static class EnviosRetenidos extends AbstractExecutorService {
+
+        private final List<Runnable> pendientes = new ArrayList<>();
+
+        void ejecutarPendientes() {
+            while (!pendientes.isEmpty()) {
+                pendientes.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable tarea) {
+            pendientes.add(tarea);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long tiempo, TimeUnit unidad) {
+            return true;
+        }
+    }
+}
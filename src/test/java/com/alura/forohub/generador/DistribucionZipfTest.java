@@ -0,0 +1,69 @@
+package com.alura.forohub.generador;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la distribución de Zipf del generador de datos")
+class DistribucionZipfTest {
+
+    @Test
+    @DisplayName("Debe repartir exactamente el total con más unidades en los primeros rangos")
+    void testRepartir() {
+        // Arrange
+        DistribucionZipf zipf = new DistribucionZipf(1000, 1.0);
+
+        // Act
+        int[] cantidades = zipf.repartir(100_000);
+
+        // Assert
+        assertEquals(100_000, IntStream.of(cantidades).asLongStream().sum());
+        assertTrue(cantidades[0] > cantidades[1]);
+        assertTrue(cantidades[1] > cantidades[10]);
+        assertEquals(cantidades[0] / 2.0, cantidades[1], cantidades[0] * 0.01);
+    }
+
+    @Test
+    @DisplayName("Debe muestrear rangos válidos favoreciendo los más probables")
+    void testMuestra() {
+        // Arrange
+        DistribucionZipf zipf = new DistribucionZipf(10, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] frecuencias = new int[10];
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            frecuencias[zipf.muestra(random)]++;
+        }
+
+        // Assert
+        assertTrue(frecuencias[0] > frecuencias[4]);
+        assertTrue(frecuencias[4] > 0 && frecuencias[9] > 0);
+        assertEquals(10_000 * zipf.probabilidad(0), frecuencias[0], 10_000 * 0.03);
+    }
+
+    @Test
+    @DisplayName("Debe permutar los rangos sin repetir ninguno")
+    void testPermutar() {
+        // Arrange
+        int n = 1_000_003 * 2;
+        long multiplicador = GeneradorDatos.multiplicadorCoprimo(n);
+        Set<Integer> vistos = new HashSet<>();
+
+        // Act
+        for (int rango = 0; rango < 1000; rango++) {
+            vistos.add(GeneradorDatos.permutar(rango, n, multiplicador));
+        }
+
+        // Assert
+        assertNotEquals(1_000_003L, multiplicador);
+        assertEquals(1000, vistos.size());
+        assertTrue(vistos.stream().allMatch(v -> v >= 0 && v < n));
+    }
+}
@@ -0,0 +1,117 @@
+package com.alura.forohub.integration;
+
+import com.alura.forohub.entity.Cambio;
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
+import com.alura.forohub.repository.CambioRepository;
+import com.alura.forohub.service.CambioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests del registro de cambios al confirmar la transacción")
+class CambiosTransaccionTest {
+
+    // IDs de entidad que no usa ningún otro test
+    private static final Long TOPICO_LARGO = 900_001L;
+    private static final Long TOPICO_CORTO = 900_002L;
+
+    @Autowired
+    private CambioService cambioService;
+
+    @Autowired
+    private CambioRepository cambioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaccion;
+    private TransactionTemplate transaccionNueva;
+
+    @BeforeEach
+    void setUp() {
+        transaccion = new TransactionTemplate(transactionManager);
+        transaccionNueva = new TransactionTemplate(transactionManager);
+        transaccionNueva.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cambioRepository.deleteAll(cambiosDe(TOPICO_LARGO));
+        cambioRepository.deleteAll(cambiosDe(TOPICO_CORTO));
+    }
+
+    private List<Cambio> cambiosDe(Long entidadId) {
+        return cambioRepository.findAll().stream()
+            .filter(cambio -> cambio.getEntidadId().equals(entidadId))
+            .toList();
+    }
+
+    private Optional<Cambio> cambioDe(Long entidadId) {
+        return cambiosDe(entidadId).stream().max(Comparator.comparing(Cambio::getId));
+    }
+
+    @Test
+    @DisplayName("Un cambio registrado al inicio de una transacción larga queda detrás de los confirmados durante ella")
+    void testCambioSeInsertaAlConfirmar() {
+        // Act
+        transaccion.executeWithoutResult(estado -> {
+            cambioService.registrar(EntidadCambio.TOPICO, TOPICO_LARGO, OperacionCambio.CREACION, 0L);
+            // Otra transacción confirma mientras la primera sigue abierta
+            transaccionNueva.executeWithoutResult(otra ->
+                cambioService.registrar(EntidadCambio.TOPICO, TOPICO_CORTO, OperacionCambio.CREACION, 0L));
+            assertTrue(cambioDe(TOPICO_LARGO).isEmpty());
+        });
+
+        // Assert
+        Cambio largo = cambioDe(TOPICO_LARGO).orElseThrow();
+        Cambio corto = cambioDe(TOPICO_CORTO).orElseThrow();
+        assertTrue(largo.getId() > corto.getId());
+        assertFalse(largo.getFecha().isBefore(corto.getFecha()));
+    }
+
+    @Test
+    @DisplayName("Los cambios de una transacción revertida no se registran")
+    void testCambioNoSeRegistraAlRevertir() {
+        // Act
+        transaccion.executeWithoutResult(estado -> {
+            cambioService.registrar(EntidadCambio.TOPICO, TOPICO_LARGO, OperacionCambio.CREACION, 0L);
+            estado.setRollbackOnly();
+        });
+
+        // Assert
+        assertTrue(cambioDe(TOPICO_LARGO).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Los cambios de la misma transacción conservan su orden de registro")
+    void testCambiosConservanOrden() {
+        // Act
+        transaccion.executeWithoutResult(estado -> {
+            cambioService.registrar(EntidadCambio.TOPICO, TOPICO_LARGO, OperacionCambio.CREACION, 0L);
+            cambioService.registrar(EntidadCambio.TOPICO, TOPICO_LARGO, OperacionCambio.ACTUALIZACION, 1L);
+        });
+
+        // Assert
+        List<OperacionCambio> operaciones = cambiosDe(TOPICO_LARGO).stream()
+            .sorted(Comparator.comparing(Cambio::getId))
+            .map(Cambio::getOperacion)
+            .toList();
+        assertEquals(List.of(OperacionCambio.CREACION, OperacionCambio.ACTUALIZACION), operaciones);
+    }
+}
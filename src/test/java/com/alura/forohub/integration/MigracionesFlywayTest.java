@@ -0,0 +1,83 @@
+package com.alura.forohub.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ejecuta las migraciones de Flyway sobre una base H2 vacía. El resto de los tests crean el
+ * esquema con create-drop, así que este es el único que comprueba los scripts de db/migration.
+ */
+@DisplayName("Tests de las migraciones de Flyway")
+class MigracionesFlywayTest {
+
+    private Flyway flyway;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Base nueva en cada test para empezar siempre desde la V1
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migraciones_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("Todas las migraciones se aplican sin errores")
+    void testMigrarDesdeCero() {
+        // Act
+        MigrateResult resultado = flyway.migrate();
+
+        // Assert
+        assertTrue(resultado.success);
+        assertEquals(flyway.info().all().length, resultado.migrationsExecuted);
+        for (MigrationInfo migracion : flyway.info().all()) {
+            assertTrue(migracion.getState().isApplied(), "Migración no aplicada: " + migracion.getScript());
+        }
+    }
+
+    @Test
+    @DisplayName("Los datos iniciales y las secuencias quedan cargados")
+    void testDatosIniciales() {
+        // Act
+        flyway.migrate();
+
+        // Assert
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM perfiles", Integer.class));
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cursos", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuarios", Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM secuencias_id", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Los índices compuestos de la V5 existen junto a los de las claves foráneas")
+    void testIndicesCompuestos() {
+        // Act
+        flyway.migrate();
+
+        // Assert
+        List<String> indices = jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_name IN ('TOPICOS', 'RESPUESTAS')",
+                String.class);
+        assertTrue(indices.containsAll(List.of(
+                "IDX_TOPICO_CURSO_FECHA", "IDX_TOPICO_AUTOR_FECHA", "IDX_RESPUESTA_TOPICO_FECHA",
+                "IDX_RESPUESTA_TOPICO_SOLUCION", "IDX_RESPUESTA_AUTOR_FECHA")), "Índices: " + indices);
+        assertTrue(indices.containsAll(List.of(
+                "IDX_TOPICO_CURSO", "IDX_TOPICO_AUTOR", "IDX_RESPUESTA_TOPICO", "IDX_RESPUESTA_AUTOR")),
+                "Índices: " + indices);
+    }
+}
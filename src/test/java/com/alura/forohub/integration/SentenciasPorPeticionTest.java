@@ -0,0 +1,144 @@
+package com.alura.forohub.integration;
+
+import com.alura.forohub.dto.CrearRespuestaDTO;
+import com.alura.forohub.entity.*;
+import com.alura.forohub.monitoreo.ContadorSentencias;
+import com.alura.forohub.repository.CursoRepository;
+import com.alura.forohub.repository.PerfilRepository;
+import com.alura.forohub.repository.RespuestaRepository;
+import com.alura.forohub.repository.TopicoRepository;
+import com.alura.forohub.repository.UsuarioRepository;
+import com.alura.forohub.service.RespuestaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Tests de sentencias SQL por petición")
+class SentenciasPorPeticionTest {
+
+    /**
+     * Autores distintos para que un N+1 sobre autor o perfil se note en el conteo.
+     */
+    private static final int AUTORES = 6;
+
+    @RegisterExtension
+    ContadorSentencias sentencias = new ContadorSentencias();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespuestaRepository respuestaRepository;
+
+    @Autowired
+    private RespuestaService respuestaService;
+
+    private final List<Usuario> autores = new ArrayList<>();
+    private final List<Topico> topicos = new ArrayList<>();
+    private final List<Long> respuestas = new ArrayList<>();
+    private Topico topico;
+
+    @BeforeEach
+    void setUp() {
+        Perfil perfil = perfilRepository.findFirstByTipo(TipoPerfil.USUARIO).orElseThrow();
+        Curso curso = cursoRepository.findAll().get(0);
+        for (int i = 0; i < AUTORES; i++) {
+            Usuario autor = usuarioRepository.save(
+                new Usuario("Autor " + i, "autor" + i + ".sentencias@example.com", "password123", perfil));
+            autores.add(autor);
+            topicos.add(topicoRepository.save(new Topico("Tópico " + i, "Mensaje " + i, autor, curso)));
+        }
+        topico = topicos.get(0);
+        for (Usuario autor : autores) {
+            respuestas.add(respuestaService.crearRespuesta(
+                topico.getId(), new CrearRespuestaDTO("Respuesta de " + autor.getNombre()), autor).id());
+        }
+        sentencias.reiniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        respuestaRepository.deleteAllById(respuestas);
+        topicoRepository.deleteAll(topicos);
+        usuarioRepository.deleteAll(autores);
+    }
+
+    @Test
+    @DisplayName("GET /topicos ejecuta la consulta de la página y la de conteo")
+    void testListarTopicos() throws Exception {
+        // Act
+        mockMvc.perform(get("/topicos"))
+            .andExpect(status().isOk());
+
+        // Assert
+        sentencias.assertMaximo(2, "GET /topicos");
+    }
+
+    @Test
+    @DisplayName("GET /topicos/{id} no consulta el autor de cada respuesta por separado")
+    void testDetalleTopico() throws Exception {
+        // Act
+        mockMvc.perform(get("/topicos/{id}", topico.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.respuestas.length()").value(AUTORES));
+
+        // Assert
+        sentencias.assertMaximo(3, "GET /topicos/{id}");
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /respuestas/topico/{id} carga autores y perfiles con las respuestas")
+    void testListarRespuestas() throws Exception {
+        // Act
+        mockMvc.perform(get("/respuestas/topico/{id}", topico.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(AUTORES));
+
+        // Assert: tópico + respuestas
+        sentencias.assertMaximo(2, "GET /respuestas/topico/{id}");
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET /respuestas/topico/{id}/paginado carga autores y perfiles con la página")
+    void testListarRespuestasPaginado() throws Exception {
+        // Act
+        mockMvc.perform(get("/respuestas/topico/{id}/paginado", topico.getId()).param("size", "4"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(4));
+
+        // Assert: tópico + página + conteo
+        sentencias.assertMaximo(3, "GET /respuestas/topico/{id}/paginado");
+    }
+}
@@ -0,0 +1,131 @@
+package com.alura.forohub.integration;
+
+import com.alura.forohub.entity.*;
+import com.alura.forohub.estadisticas.ContadoresForo;
+import com.alura.forohub.repository.CursoRepository;
+import com.alura.forohub.repository.PerfilRepository;
+import com.alura.forohub.repository.RespuestaRepository;
+import com.alura.forohub.repository.TopicoRepository;
+import com.alura.forohub.repository.UsuarioRepository;
+import com.alura.forohub.service.RespuestaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Tests de concurrencia al marcar la solución de un tópico")
+class SolucionConcurrenteTest {
+
+    private static final int HILOS = 8;
+
+    @Autowired
+    private RespuestaService respuestaService;
+
+    @Autowired
+    private ContadoresForo contadoresForo;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RespuestaRepository respuestaRepository;
+
+    private Usuario autor;
+    private Topico topico;
+    private final List<Respuesta> respuestas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Perfil perfil = perfilRepository.findFirstByTipo(TipoPerfil.USUARIO).orElseThrow();
+        autor = usuarioRepository.save(new Usuario("Ana Torres", "ana.concurrente@example.com", "password123", perfil));
+        topico = topicoRepository.save(new Topico("¿Cuál es la solución?", "Varias respuestas posibles",
+            autor, cursoRepository.findAll().get(0)));
+        for (int i = 0; i < HILOS; i++) {
+            respuestas.add(respuestaRepository.save(new Respuesta("Respuesta " + i, topico, autor)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        respuestaRepository.deleteAllById(respuestas.stream().map(Respuesta::getId).toList());
+        topicoRepository.deleteById(topico.getId());
+        usuarioRepository.delete(autor);
+    }
+
+    @Test
+    @DisplayName("Con marcados simultáneos queda una única solución y el cambio de status se cuenta una vez")
+    void testMarcarSolucionesSimultaneas() throws Exception {
+        // Arrange
+        long resueltosAntes = contadoresForo.estadisticas().topicosResueltos();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+        List<Future<Long>> resultados = new ArrayList<>();
+
+        // Act
+        for (Respuesta respuesta : respuestas) {
+            resultados.add(ejecutor.submit(() -> {
+                salida.await();
+                try {
+                    return respuestaService.marcarComoSolucion(respuesta.getId(), autor).id();
+                } catch (OptimisticLockingFailureException e) {
+                    return null;
+                }
+            }));
+        }
+        salida.countDown();
+
+        List<Long> marcadas = new ArrayList<>();
+        for (Future<Long> resultado : resultados) {
+            Long id = resultado.get(30, TimeUnit.SECONDS);
+            if (id != null) {
+                marcadas.add(id);
+            }
+        }
+        ejecutor.shutdown();
+
+        // Assert
+        List<Respuesta> soluciones = respuestaRepository.findByTopicoAndSolucionTrue(topico);
+        assertEquals(1, soluciones.size());
+        assertTrue(marcadas.contains(soluciones.get(0).getId()));
+        assertEquals(StatusTopico.RESUELTO, topicoRepository.findById(topico.getId()).orElseThrow().getStatus());
+        assertEquals(resueltosAntes + 1, contadoresForo.estadisticas().topicosResueltos());
+    }
+
+    @Test
+    @DisplayName("Marcar otra respuesta reemplaza a la solución anterior")
+    void testReemplazarSolucion() {
+        // Act
+        respuestaService.marcarComoSolucion(respuestas.get(0).getId(), autor);
+        respuestaService.marcarComoSolucion(respuestas.get(1).getId(), autor);
+
+        // Assert
+        List<Respuesta> soluciones = respuestaRepository.findByTopicoAndSolucionTrue(topico);
+        assertEquals(List.of(respuestas.get(1).getId()), soluciones.stream().map(Respuesta::getId).toList());
+        assertEquals(StatusTopico.RESUELTO, topicoRepository.findById(topico.getId()).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,56 @@
+package com.alura.forohub.monitoreo;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Extensión de JUnit para comprobar cuántas sentencias SQL ejecuta un bloque de código.
+ *
+ * <pre>{@code
+ * @RegisterExtension
+ * ContadorSentencias sentencias = new ContadorSentencias();
+ *
+ * sentencias.reiniciar();
+ * mockMvc.perform(get("/topicos"));
+ * sentencias.assertMaximo(2, "GET /topicos");
+ * }</pre>
+ *
+ * <p>Cuenta lo ejecutado en el hilo del test, incluidas las peticiones de MockMvc. Conviene hacer
+ * flush y clear del contexto de persistencia antes de reiniciar para no contar inserts pendientes.</p>
+ */
+public class ContadorSentencias implements BeforeEachCallback {
+
+    private SentenciasSql.Instantanea inicio = SentenciasSql.instantanea();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        reiniciar();
+    }
+
+    /**
+     * Empieza a contar desde cero.
+     */
+    public void reiniciar() {
+        inicio = SentenciasSql.instantanea();
+    }
+
+    /**
+     * Sentencias ejecutadas desde el último reinicio.
+     */
+    public long sentencias() {
+        return SentenciasSql.instantanea().desde(inicio).sentencias();
+    }
+
+    public void assertSentencias(long esperadas, String operacion) {
+        assertEquals(esperadas, sentencias(), operacion + ": sentencias SQL ejecutadas");
+    }
+
+    public void assertMaximo(long maximo, String operacion) {
+        long ejecutadas = sentencias();
+        assertTrue(ejecutadas <= maximo,
+            operacion + " ejecutó " + ejecutadas + " sentencias SQL; se esperaban como máximo " + maximo);
+    }
+}
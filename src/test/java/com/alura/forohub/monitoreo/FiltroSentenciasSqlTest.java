@@ -0,0 +1,64 @@
+package com.alura.forohub.monitoreo;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del filtro de sentencias SQL por petición")
+class FiltroSentenciasSqlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final FiltroSentenciasSql filtro = new FiltroSentenciasSql();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filtro, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe registrar solo las sentencias ejecutadas durante la petición, por patrón de URI")
+    void testRegistrarSentenciasDeLaPeticion() throws Exception {
+        // Arrange: sentencias anteriores del mismo hilo no deben contarse
+        SentenciasSql.registrar(1_000_000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/topicos/7");
+
+        // Act
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/topicos/{id}");
+            SentenciasSql.registrar(2_000_000);
+            SentenciasSql.registrar(3_000_000);
+        });
+
+        // Assert
+        DistributionSummary sentencias = meterRegistry.get("forohub.sql.sentencias")
+            .tags("method", "GET", "uri", "/topicos/{id}").summary();
+        Timer tiempo = meterRegistry.get("forohub.sql.tiempo").tags("uri", "/topicos/{id}").timer();
+        assertEquals(1, sentencias.count());
+        assertEquals(2, sentencias.totalAmount());
+        assertEquals(5, tiempo.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Debe agrupar las peticiones sin handler bajo una URI desconocida")
+    void testPeticionSinHandler() throws Exception {
+        // Act
+        filtro.doFilter(new MockHttpServletRequest("GET", "/no-existe"), new MockHttpServletResponse(), (req, res) -> {});
+
+        // Assert
+        DistributionSummary sentencias = meterRegistry.get("forohub.sql.sentencias").tags("uri", "DESCONOCIDA").summary();
+        assertEquals(1, sentencias.count());
+        assertEquals(0, sentencias.totalAmount());
+    }
+}
@@ -0,0 +1,102 @@
+package com.alura.forohub.monitoreo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de los tiempos por fase y la cabecera Server-Timing")
+class FiltroTiemposPeticionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final FiltroTiemposPeticion filtro = new FiltroTiemposPeticion();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filtro, "meterRegistry", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TiemposPeticion.terminar();
+    }
+
+    @Test
+    @DisplayName("Debe registrar el histograma de cada fase medida sin añadir la cabecera si no se solicita")
+    void testRegistrarFasesSinCabecera() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/topicos/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filtro.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/topicos/{id}");
+            TiemposPeticion.registrar(FasePeticion.AUTENTICACION, 2_000_000);
+            TiemposPeticion.registrar(FasePeticion.MAPEO, 1_000_000);
+            TiemposPeticion.registrar(FasePeticion.MAPEO, 1_000_000);
+        });
+
+        // Assert
+        Timer mapeo = meterRegistry.get("forohub.peticion.fase")
+            .tags("method", "GET", "uri", "/topicos/{id}", "fase", "mapeo").timer();
+        assertEquals(1, mapeo.count());
+        assertEquals(2, mapeo.totalTime(TimeUnit.MILLISECONDS));
+        assertNotNull(meterRegistry.find("forohub.peticion.fase").tag("fase", "auth").timer());
+        assertNull(meterRegistry.find("forohub.peticion.fase").tag("fase", "serializacion").timer());
+        assertNull(response.getHeader(FiltroTiemposPeticion.SERVER_TIMING));
+        assertNull(TiemposPeticion.actual());
+    }
+
+    @Test
+    @DisplayName("Debe añadir la cabecera al terminar una respuesta sin cuerpo cuando se solicita")
+    void testCabeceraEnRespuestaSinCuerpo() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/topicos/7");
+        request.addHeader(FiltroTiemposPeticion.SOLICITUD, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filtro.doFilter(request, response, (req, res) ->
+            TiemposPeticion.registrar(FasePeticion.AUTENTICACION, 1_500_000));
+
+        // Assert
+        String cabecera = response.getHeader(FiltroTiemposPeticion.SERVER_TIMING);
+        assertNotNull(cabecera);
+        assertTrue(cabecera.startsWith("auth;desc=\"Token JWT\";dur=1.500, db;"), cabecera);
+        assertTrue(cabecera.contains("total;desc=\"Servidor\";dur="), cabecera);
+        assertFalse(cabecera.contains("mapeo"), cabecera);
+        assertEquals("*", response.getHeader(FiltroTiemposPeticion.TIMING_ALLOW_ORIGIN));
+    }
+
+    @Test
+    @DisplayName("Debe incluir la serialización en la cabecera antes de escribir el cuerpo JSON")
+    void testCabeceraConSerializacion() throws Exception {
+        // Arrange
+        ConversorJsonMedido conversor = new ConversorJsonMedido(new ObjectMapper());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TiemposPeticion tiempos = TiemposPeticion.iniciar(true);
+
+        // Act
+        conversor.write(Map.of("titulo", "Spring"), MediaType.APPLICATION_JSON, new ServletServerHttpResponse(response));
+
+        // Assert
+        assertTrue(tiempos.nanos(FasePeticion.SERIALIZACION) >= 0);
+        assertTrue(response.getHeader(FiltroTiemposPeticion.SERVER_TIMING).contains("serializacion;desc=\"JSON\""));
+        assertEquals("{\"titulo\":\"Spring\"}", response.getContentAsString());
+    }
+}
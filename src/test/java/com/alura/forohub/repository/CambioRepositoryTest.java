@@ -0,0 +1,82 @@
+package com.alura.forohub.repository;
+
+import com.alura.forohub.entity.Cambio;
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("Tests del repositorio Cambio")
+@ActiveProfiles("test")
+class CambioRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CambioRepository cambioRepository;
+
+    private Cambio registrar(EntidadCambio entidad, Long id, OperacionCambio operacion, Long version) {
+        return entityManager.persistAndFlush(new Cambio(entidad, id, operacion, version));
+    }
+
+    @Test
+    @DisplayName("Debe listar los cambios posteriores al cursor en orden de registro")
+    void testFindDespuesDe() {
+        // Arrange
+        Cambio primero = registrar(EntidadCambio.TOPICO, 1L, OperacionCambio.CREACION, 0L);
+        Cambio segundo = registrar(EntidadCambio.RESPUESTA, 5L, OperacionCambio.CREACION, 0L);
+        Cambio tercero = registrar(EntidadCambio.TOPICO, 1L, OperacionCambio.ACTUALIZACION, 1L);
+
+        // Act
+        List<Cambio> cambios = cambioRepository.findDespuesDe(primero.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(segundo.getId(), tercero.getId()), cambios.stream().map(Cambio::getId).toList());
+        assertTrue(segundo.getId() < tercero.getId());
+    }
+
+    @Test
+    @DisplayName("Debe encontrar solo las entradas con otra posterior de la misma entidad")
+    void testFindIdsSuperados() {
+        // Arrange
+        Cambio creacion = registrar(EntidadCambio.TOPICO, 1L, OperacionCambio.CREACION, 0L);
+        registrar(EntidadCambio.RESPUESTA, 1L, OperacionCambio.CREACION, 0L);
+        Cambio edicion = registrar(EntidadCambio.TOPICO, 1L, OperacionCambio.ACTUALIZACION, 1L);
+        registrar(EntidadCambio.TOPICO, 2L, OperacionCambio.CREACION, 0L);
+        registrar(EntidadCambio.TOPICO, 1L, OperacionCambio.ELIMINACION, 1L);
+
+        // Act
+        List<Long> superados = cambioRepository.findIdsSuperados(LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(creacion.getId(), edicion.getId()), superados);
+        assertTrue(cambioRepository.findIdsSuperados(LocalDateTime.now().minusMinutes(1), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe encontrar las eliminaciones anteriores a la fecha indicada")
+    void testFindIdsPorOperacionAnterioresA() {
+        // Arrange
+        registrar(EntidadCambio.RESPUESTA, 3L, OperacionCambio.CREACION, 0L);
+        Cambio eliminacion = registrar(EntidadCambio.RESPUESTA, 3L, OperacionCambio.ELIMINACION, 0L);
+
+        // Act
+        List<Long> ids = cambioRepository.findIdsPorOperacionAnterioresA(OperacionCambio.ELIMINACION,
+            LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(eliminacion.getId()), ids);
+    }
+}
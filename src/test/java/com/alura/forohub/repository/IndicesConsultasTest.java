@@ -0,0 +1,72 @@
+package com.alura.forohub.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba con EXPLAIN que las consultas del foro usan los índices compuestos.
+ */
+@DataJpaTest
+@DisplayName("Tests de los planes de ejecución de las consultas")
+@ActiveProfiles("test")
+class IndicesConsultasTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Los tópicos de un curso se leen por el índice (curso, fecha)")
+    void testTopicosPorCurso() {
+        String plan = explicar("SELECT t.id FROM topicos t WHERE t.curso_id = 1 ORDER BY t.fecha_creacion DESC, t.id DESC");
+
+        assertUsaIndice(plan, "IDX_TOPICO_CURSO_FECHA");
+    }
+
+    @Test
+    @DisplayName("Los tópicos de un autor se leen por el índice (autor, fecha)")
+    void testTopicosPorAutor() {
+        String plan = explicar("SELECT t.id FROM topicos t WHERE t.autor_id = 1 ORDER BY t.fecha_creacion DESC, t.id DESC");
+
+        assertUsaIndice(plan, "IDX_TOPICO_AUTOR_FECHA");
+    }
+
+    @Test
+    @DisplayName("Las respuestas de un tópico se leen por el índice (tópico, fecha)")
+    void testRespuestasPorTopico() {
+        String plan = explicar("SELECT r.id FROM respuestas r WHERE r.topico_id = 1 ORDER BY r.fecha_creacion, r.id");
+
+        assertUsaIndice(plan, "IDX_RESPUESTA_TOPICO_FECHA");
+    }
+
+    @Test
+    @DisplayName("La solución de un tópico se busca por el índice (tópico, solución)")
+    void testSolucionPorTopico() {
+        String plan = explicar("SELECT r.id FROM respuestas r WHERE r.topico_id = 1 AND r.solucion = TRUE");
+
+        assertUsaIndice(plan, "IDX_RESPUESTA_TOPICO_SOLUCION");
+    }
+
+    @Test
+    @DisplayName("Las respuestas de un autor se leen por el índice (autor, fecha)")
+    void testRespuestasPorAutor() {
+        String plan = explicar("SELECT r.id FROM respuestas r WHERE r.autor_id = 1 ORDER BY r.fecha_creacion DESC, r.id DESC");
+
+        assertUsaIndice(plan, "IDX_RESPUESTA_AUTOR_FECHA");
+    }
+
+    private String explicar(String consulta) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + consulta, String.class);
+    }
+
+    private void assertUsaIndice(String plan, String indice) {
+        // H2 no informa si el orden sale del índice cuando la primera columna se fija por igualdad;
+        // en MySQL eso es lo que evita el filesort, aquí se comprueba que el índice se elige
+        assertTrue(plan.contains("PUBLIC." + indice + ":"), plan);
+    }
+}
@@ -1,18 +1,34 @@
 package com.alura.forohub.repository;
 
+import com.alura.forohub.dto.ConteoRespuestasDTO;
+import com.alura.forohub.dto.ConteoTopicosDTO;
+import com.alura.forohub.dto.ReferenciaRespuestaDTO;
+import com.alura.forohub.dto.RespuestaExportadaDTO;
+import com.alura.forohub.dto.TopicoResponseDTO;
+import com.alura.forohub.dto.TopicoVersionDTO;
 import com.alura.forohub.entity.*;
+import com.alura.forohub.monitoreo.ContadorSentencias;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,12 +37,18 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 class TopicoRepositoryTest {
 
+    @RegisterExtension
+    ContadorSentencias sentencias = new ContadorSentencias();
+
     @Autowired
     private TestEntityManager entityManager;
 
     @Autowired
     private TopicoRepository topicoRepository;
 
+    @Autowired
+    private RespuestaRepository respuestaRepository;
+
     private Usuario autor;
     private Curso curso;
     private Topico topico;
@@ -54,22 +76,22 @@ class TopicoRepositoryTest {
     @DisplayName("Debe obtener tópicos ordenados por fecha de creación descendente")
     void testFindAllByOrderByFechaCreacionDesc() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Topico> resultado = topicoRepository.findAllByOrderByFechaCreacionDesc(pageable);
+        Page<TopicoResponseDTO> resultado = topicoRepository.findAllByOrderByFechaCreacionDesc(pageable);
         
         assertFalse(resultado.isEmpty());
         assertEquals(1, resultado.getTotalElements());
-        assertEquals("¿Cómo usar Spring Boot?", resultado.getContent().get(0).getTitulo());
+        assertEquals("¿Cómo usar Spring Boot?", resultado.getContent().get(0).titulo());
     }
 
     @Test
     @DisplayName("Debe obtener tópicos por autor")
     void testFindByAutorOrderByFechaCreacionDesc() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Topico> resultado = topicoRepository.findByAutorOrderByFechaCreacionDesc(autor, pageable);
+        Page<TopicoResponseDTO> resultado = topicoRepository.findByAutorOrderByFechaCreacionDesc(autor, pageable);
         
         assertFalse(resultado.isEmpty());
         assertEquals(1, resultado.getTotalElements());
-        assertEquals(autor.getId(), resultado.getContent().get(0).getAutor().getId());
+        assertEquals("Juan Pérez", resultado.getContent().get(0).autorNombre());
     }
 
     @Test
@@ -85,25 +107,358 @@ class TopicoRepositoryTest {
         assertEquals("Java Básico", topicoEncontrado.getCurso().getNombre());
     }
 
+    @Test
+    @DisplayName("Debe cargar la cabecera y cada página de respuestas en consultas separadas")
+    void testFindCabeceraYPaginaDeRespuestas() {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            entityManager.persist(new Respuesta("Respuesta " + i, topico, autor));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        sentencias.reiniciar();
+
+        // Act
+        Topico cabecera = topicoRepository.findCabeceraById(topico.getId()).orElseThrow();
+        List<Respuesta> primera = respuestaRepository.findPaginaByTopicoId(topico.getId(), PageRequest.of(0, 2));
+        List<Respuesta> segunda = respuestaRepository.findPaginaByTopicoId(topico.getId(), PageRequest.of(1, 2));
+
+        // Assert
+        assertEquals("Usuario", cabecera.getAutor().getPerfil().getNombre());
+        assertEquals("Java Básico", cabecera.getCurso().getNombre());
+        assertEquals(2, primera.size());
+        assertEquals(1, segunda.size());
+        assertEquals("Respuesta 3", segunda.get(0).getMensaje());
+        assertEquals("Usuario", segunda.get(0).getAutor().getPerfil().getNombre());
+        sentencias.assertSentencias(3, "Cabecera y dos páginas de respuestas");
+    }
+
+    @Test
+    @DisplayName("Debe cambiar la versión del tópico al agregar respuestas")
+    void testFindVersionById() {
+        // Arrange
+        TopicoVersionDTO antes = topicoRepository.findVersionById(topico.getId()).orElseThrow();
+
+        // Act
+        entityManager.persistAndFlush(new Respuesta("Nueva respuesta", topico, autor));
+        topicoRepository.incrementarTotalRespuestas(topico.getId());
+        TopicoVersionDTO despues = topicoRepository.findVersionById(topico.getId()).orElseThrow();
+
+        // Assert
+        assertNull(antes.ultimaActualizacionRespuestas());
+        assertEquals(0, antes.totalRespuestas());
+        assertEquals(1, despues.totalRespuestas());
+        assertNotNull(despues.ultimaActualizacionRespuestas());
+        assertNotEquals(antes, despues);
+        assertTrue(topicoRepository.findVersionById(-1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe cambiar la versión del tópico al modificar el perfil de un autor de sus respuestas")
+    void testFindVersionByIdConCambioDeAutor() throws InterruptedException {
+        // Arrange
+        Perfil otroPerfil = entityManager.persist(new Perfil("Moderador", TipoPerfil.MODERADOR));
+        Usuario otroAutor = entityManager.persist(
+            new Usuario("Ana Torres", "ana@example.com", "password123", autor.getPerfil()));
+        entityManager.persistAndFlush(new Respuesta("Nueva respuesta", topico, otroAutor));
+        TopicoVersionDTO antes = topicoRepository.findVersionById(topico.getId()).orElseThrow();
+        Thread.sleep(5);
+
+        // Act
+        otroAutor.setPerfil(otroPerfil);
+        entityManager.flush();
+        TopicoVersionDTO despues = topicoRepository.findVersionById(topico.getId()).orElseThrow();
+
+        // Assert
+        assertNotNull(despues.fechaActualizacionAutor());
+        assertEquals(antes.version(), despues.version());
+        assertTrue(despues.ultimaActualizacionAutoresRespuestas().isAfter(antes.ultimaActualizacionAutoresRespuestas()));
+        assertNotEquals(antes, despues);
+    }
+
+    @Test
+    @DisplayName("Debe cambiar la versión del tópico al renombrar su curso")
+    void testFindVersionByIdConCambioDeCurso() {
+        // Arrange
+        TopicoVersionDTO antes = topicoRepository.findVersionById(topico.getId()).orElseThrow();
+
+        // Act
+        curso.setNombre("Java Intermedio");
+        entityManager.flush();
+        TopicoVersionDTO despues = topicoRepository.findVersionById(topico.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(antes.version(), despues.version());
+        assertEquals("Java Intermedio", despues.nombreCurso());
+        assertNotEquals(antes, despues);
+    }
+
     @Test
     @DisplayName("Debe obtener tópicos por curso")
     void testFindByCursoIdOrderByFechaCreacionDesc() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Topico> resultado = topicoRepository.findByCursoIdOrderByFechaCreacionDesc(curso.getId(), pageable);
+        Page<TopicoResponseDTO> resultado = topicoRepository.findByCursoIdOrderByFechaCreacionDesc(curso.getId(), pageable);
         
         assertFalse(resultado.isEmpty());
         assertEquals(1, resultado.getTotalElements());
-        assertEquals(curso.getId(), resultado.getContent().get(0).getCurso().getId());
+        assertEquals("Java Básico", resultado.getContent().get(0).cursoNombre());
     }
 
     @Test
     @DisplayName("Debe buscar tópicos por título")
     void testFindByTituloContainingIgnoreCaseOrderByFechaCreacionDesc() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Topico> resultado = topicoRepository.findByTituloContainingIgnoreCaseOrderByFechaCreacionDesc("spring", pageable);
+        Page<TopicoResponseDTO> resultado = topicoRepository.findByTituloContainingIgnoreCaseOrderByFechaCreacionDesc("spring", pageable);
         
         assertFalse(resultado.isEmpty());
         assertEquals(1, resultado.getTotalElements());
-        assertTrue(resultado.getContent().get(0).getTitulo().toLowerCase().contains("spring"));
+        assertTrue(resultado.getContent().get(0).titulo().toLowerCase().contains("spring"));
+    }
+
+    @Test
+    @DisplayName("Debe recorrer tópicos por cursor sin repetir ni omitir elementos")
+    void testFindSliceDespuesDe() {
+        for (int i = 1; i <= 4; i++) {
+            entityManager.persistAndFlush(new Topico("Tópico " + i, "Mensaje " + i, autor, curso));
+        }
+
+        Pageable limite = PageRequest.of(0, 2);
+        Set<Long> vistos = new HashSet<>();
+
+        Slice<TopicoResponseDTO> slice = topicoRepository.findSliceOrderByFechaCreacionDesc(limite);
+        slice.forEach(t -> vistos.add(t.id()));
+        assertTrue(slice.hasNext());
+
+        while (slice.hasNext()) {
+            TopicoResponseDTO ultimo = slice.getContent().get(slice.getNumberOfElements() - 1);
+            slice = topicoRepository.findSliceDespuesDe(ultimo.fechaCreacion(), ultimo.id(), limite);
+            slice.forEach(t -> assertTrue(vistos.add(t.id()), "Tópico repetido: " + t.id()));
+        }
+
+        assertEquals(5, vistos.size());
+    }
+
+    @Test
+    @DisplayName("Debe obtener una página de tópicos con una consulta de datos y una de conteo")
+    void testListadoSinHidratarEntidades() {
+        // Arrange: autores y cursos distintos para que un N+1 fuera visible
+        Perfil perfil = autor.getPerfil();
+        for (int i = 1; i <= 12; i++) {
+            Usuario otroAutor = entityManager.persist(
+                new Usuario("Autor " + i, "autor" + i + "@example.com", "password123", perfil));
+            Curso otroCurso = entityManager.persist(new Curso("Curso " + i, "Programación", "Descripción " + i));
+            entityManager.persist(new Topico("Tópico Spring " + i, "Mensaje " + i, otroAutor, otroCurso));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        // Act & Assert: cada listado paginado usa exactamente consulta de datos + conteo
+        estadisticas.clear();
+        sentencias.reiniciar();
+        Page<TopicoResponseDTO> todos = topicoRepository.findAllByOrderByFechaCreacionDesc(pageable);
+        assertEquals(10, todos.getNumberOfElements());
+        assertEquals(13, todos.getTotalElements());
+        sentencias.assertSentencias(2, "Página de tópicos");
+
+        sentencias.reiniciar();
+        Page<TopicoResponseDTO> porTitulo = topicoRepository.findByTituloContainingIgnoreCaseOrderByFechaCreacionDesc("spring", pageable);
+        assertEquals(13, porTitulo.getTotalElements());
+        sentencias.assertSentencias(2, "Búsqueda por título");
+
+        sentencias.reiniciar();
+        topicoRepository.findByAutorOrderByFechaCreacionDesc(autor, pageable);
+        topicoRepository.findByCursoIdOrderByFechaCreacionDesc(curso.getId(), pageable);
+        sentencias.assertSentencias(2, "Listados por autor y por curso");
+
+        sentencias.reiniciar();
+        Slice<TopicoResponseDTO> porcion = topicoRepository.findSliceOrderByFechaCreacionDesc(pageable);
+        assertTrue(porcion.hasNext());
+        sentencias.assertSentencias(1, "Porción de tópicos");
+
+        // Ninguna entidad queda gestionada por el contexto de persistencia
+        assertEquals(0, estadisticas.getEntityLoadCount());
+        assertTrue(todos.getContent().stream().allMatch(t -> t.autorNombre() != null && t.cursoNombre() != null));
+    }
+
+    @Test
+    @DisplayName("Debe obtener porción de tópicos por curso y autor")
+    void testFindSliceByCursoIdYAutorId() {
+        Pageable limite = PageRequest.of(0, 10);
+
+        Slice<TopicoResponseDTO> porCurso = topicoRepository.findSliceByCursoId(curso.getId(), limite);
+        Slice<TopicoResponseDTO> porAutor = topicoRepository.findSliceByAutorId(autor.getId(), limite);
+
+        assertEquals(1, porCurso.getNumberOfElements());
+        assertFalse(porCurso.hasNext());
+        assertEquals(1, porAutor.getNumberOfElements());
+        assertEquals(topico.getId(), porAutor.getContent().get(0).id());
+    }
+
+    @Test
+    @DisplayName("Debe mantener el contador de respuestas con UPDATE atómicos")
+    void testIncrementarYDecrementarTotalRespuestas() {
+        topicoRepository.incrementarTotalRespuestas(topico.getId());
+        topicoRepository.incrementarTotalRespuestas(topico.getId());
+        topicoRepository.decrementarTotalRespuestas(topico.getId());
+        entityManager.clear();
+
+        Topico recargado = entityManager.find(Topico.class, topico.getId());
+        assertEquals(1, recargado.getTotalRespuestas());
+    }
+
+    @Test
+    @DisplayName("No debe decrementar el contador por debajo de cero")
+    void testDecrementarTotalRespuestasEnCero() {
+        int actualizados = topicoRepository.decrementarTotalRespuestas(topico.getId());
+        entityManager.clear();
+
+        assertEquals(0, actualizados);
+        assertEquals(0, entityManager.find(Topico.class, topico.getId()).getTotalRespuestas());
+    }
+
+    @Test
+    @DisplayName("Debe contar tópicos por curso y status, y respuestas por curso")
+    void testContarPorCursoYStatus() {
+        // Arrange
+        Topico resuelto = new Topico("Tópico resuelto", "Mensaje", autor, curso);
+        resuelto.setStatus(StatusTopico.RESUELTO);
+        entityManager.persist(resuelto);
+        entityManager.persist(new Respuesta("Respuesta 1", topico, autor));
+        entityManager.persist(new Respuesta("Respuesta 2", resuelto, autor));
+        entityManager.flush();
+
+        // Act
+        List<ConteoTopicosDTO> topicos = topicoRepository.contarPorCursoYStatus();
+        List<ConteoRespuestasDTO> respuestas = respuestaRepository.contarPorCurso();
+
+        // Assert
+        assertEquals(2, topicos.size());
+        assertTrue(topicos.contains(new ConteoTopicosDTO(curso.getId(), StatusTopico.ABIERTO, 1L)));
+        assertTrue(topicos.contains(new ConteoTopicosDTO(curso.getId(), StatusTopico.RESUELTO, 1L)));
+        assertEquals(List.of(new ConteoRespuestasDTO(curso.getId(), 2L)), respuestas);
+    }
+
+    @Test
+    @DisplayName("Debe asignar IDs sin insertar y enviar los inserts de respuestas en lotes")
+    void testInsercionDeRespuestasEnLotes() {
+        // Arrange
+        Statistics estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        estadisticas.clear();
+        Set<Long> ids = new HashSet<>();
+
+        // Act
+        for (int i = 1; i <= 120; i++) {
+            Respuesta respuesta = new Respuesta("Respuesta " + i, topico, autor);
+            entityManager.persist(respuesta);
+            ids.add(respuesta.getId());
+        }
+        long insertsAntesDelFlush = estadisticas.getEntityInsertCount();
+        entityManager.flush();
+
+        // Assert: los IDs salen de bloques de la tabla de secuencias y los inserts se agrupan de 50 en 50
+        assertEquals(120, ids.size());
+        assertFalse(ids.contains(null));
+        assertEquals(0, insertsAntesDelFlush);
+        assertEquals(120, estadisticas.getEntityInsertCount());
+        assertTrue(estadisticas.getPrepareStatementCount() <= 5,
+            "Sentencias preparadas: " + estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Debe recorrer los tópicos en orden de ID y cargar las respuestas exportables de un lote")
+    void testStreamYRespuestasExportables() {
+        // Arrange
+        Topico segundo = new Topico("Segundo tópico", "Mensaje", autor, curso);
+        entityManager.persist(segundo);
+        entityManager.persist(new Respuesta("Respuesta del segundo", segundo, autor));
+        entityManager.persist(new Respuesta("Respuesta del primero", topico, autor));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Topico> topicos;
+        try (var stream = topicoRepository.streamAllOrderById()) {
+            topicos = stream.toList();
+        }
+        List<RespuestaExportadaDTO> respuestas = respuestaRepository.findExportablesByTopicoIdIn(
+            List.of(topico.getId(), segundo.getId()));
+
+        // Assert
+        assertEquals(List.of(topico.getId(), segundo.getId()), topicos.stream().map(Topico::getId).toList());
+        assertEquals("juan@example.com", topicos.get(0).getAutor().getCorreoElectronico());
+        assertEquals("Java Básico", topicos.get(1).getCurso().getNombre());
+        assertEquals(2, respuestas.size());
+        assertEquals(topico.getId(), respuestas.get(0).topico());
+        assertEquals("Respuesta del primero", respuestas.get(0).mensaje());
+        assertEquals("juan@example.com", respuestas.get(1).autor());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la escritura de un tópico cuya versión cambió con un UPDATE masivo")
+    void testVersionIncrementadaPorCambioDeStatus() {
+        // Arrange
+        Topico cargado = topicoRepository.findById(topico.getId()).orElseThrow();
+        Long versionInicial = cargado.getVersion();
+
+        // Act
+        int actualizados = topicoRepository.cambiarStatus(topico.getId(), versionInicial,
+            StatusTopico.CERRADO, LocalDateTime.now());
+        cargado.setTitulo("Título editado sobre una versión antigua");
+
+        // Assert: el UPDATE vacía el contexto y la copia cargada solo puede volver a escribirse con merge
+        assertEquals(1, actualizados);
+        assertEquals(0L, versionInicial);
+        assertThrows(OptimisticLockingFailureException.class, () -> topicoRepository.saveAndFlush(cargado));
+    }
+
+    @Test
+    @DisplayName("Debe eliminar el tópico con un solo DELETE y dejar que la base de datos borre sus respuestas")
+    void testEliminarTopicoEnCascada() {
+        // Arrange
+        for (int i = 1; i <= 30; i++) {
+            entityManager.persist(new Respuesta("Respuesta " + i, topico, autor));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+        estadisticas.clear();
+
+        // Act
+        int eliminados = topicoRepository.eliminarPorId(topico.getId());
+
+        // Assert
+        assertEquals(1, eliminados);
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        assertEquals(0, estadisticas.getEntityLoadCount());
+        assertTrue(topicoRepository.findById(topico.getId()).isEmpty());
+        assertEquals(0, respuestaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Debe obtener el ID y la versión de las respuestas de un tópico bloqueado sin cargarlas")
+    void testReferenciasDeRespuestasParaEliminar() {
+        // Arrange
+        Respuesta primera = entityManager.persist(new Respuesta("Primera", topico, autor));
+        Respuesta segunda = entityManager.persist(new Respuesta("Segunda", topico, autor));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Optional<Topico> bloqueado = topicoRepository.findByIdParaEliminar(topico.getId());
+        List<ReferenciaRespuestaDTO> referencias = respuestaRepository.findReferenciasByTopicoId(topico.getId());
+
+        // Assert
+        assertTrue(bloqueado.isPresent());
+        assertEquals(Set.of(new ReferenciaRespuestaDTO(primera.getId(), 0L), new ReferenciaRespuestaDTO(segunda.getId(), 0L)),
+            Set.copyOf(referencias));
     }
-}
\ No newline at end of file
+}
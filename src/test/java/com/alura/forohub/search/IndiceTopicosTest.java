@@ -0,0 +1,106 @@
+package com.alura.forohub.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del índice de búsqueda de tópicos")
+class IndiceTopicosTest {
+
+    private IndiceTopicos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTopicos();
+        indice.indexar(1L, "Introducción a Spring Boot", "Cómo crear una aplicación con Spring");
+        indice.indexar(2L, "Errores de compilación en Java", "Mi proyecto Maven no compila, ¿qué hago?");
+        indice.indexar(3L, "Consulta sobre JPA", "Tengo una duda de Spring Data y la paginación");
+    }
+
+    @Test
+    @DisplayName("Debe tokenizar plegando acentos y descartando palabras vacías")
+    void testTokenizar() {
+        assertEquals(List.of("introduccion", "programacion", "java"),
+            Tokenizador.tokenizar("Introducción a la PROGRAMACIÓN en Java"));
+        assertTrue(Tokenizador.tokenizar("  ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe encontrar tópicos sin importar acentos ni mayúsculas")
+    void testBuscarConAcentos() {
+        ResultadoBusqueda resultado = indice.buscar("INTRODUCCION", 0, 10);
+
+        assertEquals(List.of(1L), resultado.ids());
+        assertEquals(1, resultado.total());
+    }
+
+    @Test
+    @DisplayName("Debe puntuar más alto las coincidencias en el título")
+    void testRankingPrefiereTitulo() {
+        // "spring" aparece en el título y mensaje del 1 y solo en el mensaje del 3
+        ResultadoBusqueda resultado = indice.buscar("spring", 0, 10);
+
+        assertEquals(List.of(1L, 3L), resultado.ids());
+    }
+
+    @Test
+    @DisplayName("Debe tratar la última palabra como prefijo")
+    void testBuscarPorPrefijo() {
+        assertEquals(List.of(2L), indice.buscar("compil", 0, 10).ids());
+        assertEquals(List.of(3L), indice.buscar("duda pagin", 0, 10).ids().subList(0, 1));
+    }
+
+    @Test
+    @DisplayName("Debe paginar los resultados manteniendo el total")
+    void testPaginar() {
+        indice.indexar(4L, "Spring Security", "Autenticación con Spring");
+
+        ResultadoBusqueda primera = indice.buscar("spring", 0, 2);
+        ResultadoBusqueda segunda = indice.buscar("spring", 2, 2);
+
+        assertEquals(3, primera.total());
+        assertEquals(2, primera.ids().size());
+        assertEquals(1, segunda.ids().size());
+        assertFalse(primera.ids().contains(segunda.ids().get(0)));
+        assertTrue(indice.buscar("spring", 10, 2).ids().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe reflejar actualizaciones y eliminaciones")
+    void testActualizarYEliminar() {
+        // Act
+        indice.indexar(2L, "Problema con Gradle", "El build falla");
+        indice.eliminar(1L);
+
+        // Assert
+        assertTrue(indice.buscar("maven", 0, 10).ids().isEmpty());
+        assertEquals(List.of(2L), indice.buscar("gradle", 0, 10).ids());
+        assertEquals(List.of(3L), indice.buscar("spring", 0, 10).ids());
+        assertEquals(2, indice.tamano());
+    }
+
+    @Test
+    @DisplayName("La reconstrucción no debe reinsertar tópicos eliminados o editados mientras se ejecuta")
+    void testReconstruirConEscriturasConcurrentes() {
+        // Arrange: la reconstrucción leyó los tres tópicos antes de las escrituras en vivo
+        indice.iniciarReconstruccion();
+        indice.indexarDesdeReconstruccion(1L, "Introducción a Spring Boot", "Cómo crear una aplicación con Spring");
+        indice.eliminar(2L);
+        indice.indexar(3L, "Consulta sobre Hibernate", "Caché de segundo nivel");
+
+        // Act
+        indice.indexarDesdeReconstruccion(2L, "Errores de compilación en Java", "Mi proyecto Maven no compila, ¿qué hago?");
+        indice.indexarDesdeReconstruccion(3L, "Consulta sobre JPA", "Tengo una duda de Spring Data y la paginación");
+        indice.terminarReconstruccion();
+
+        // Assert
+        assertEquals(2, indice.tamano());
+        assertTrue(indice.buscar("maven", 0, 10).ids().isEmpty());
+        assertEquals(List.of(3L), indice.buscar("hibernate", 0, 10).ids());
+        assertEquals(List.of(1L), indice.buscar("spring", 0, 10).ids());
+    }
+}
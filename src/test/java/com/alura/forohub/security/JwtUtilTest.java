@@ -1,10 +1,16 @@
 package com.alura.forohub.security;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Tests para JwtUtil")
@@ -16,9 +22,7 @@ class JwtUtilTest {
 
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil();
-        ReflectionTestUtils.setField(jwtUtil, "secret", testSecret);
-        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400L); // 24 horas en segundos
+        jwtUtil = new JwtUtil(testSecret, 86400L, 10000); // 24 horas en segundos
     }
 
     @Test
@@ -88,10 +92,54 @@ class JwtUtilTest {
     @Test
     @DisplayName("Debe obtener fecha de expiración del token")
     void testGetExpirationFromToken() {
+        long antes = System.currentTimeMillis();
         String token = jwtUtil.generateToken(testEmail);
         Long expiration = jwtUtil.getExpirationFromToken(token);
         
         assertNotNull(expiration);
         assertTrue(expiration > System.currentTimeMillis());
+        // La vigencia configurada está en segundos: el token vence 24 horas después de emitirse
+        assertTrue(expiration <= antes + 86400L * 1000 + 1000);
+        assertTrue(expiration >= antes + 86400L * 1000 - 1000);
+    }
+
+    @Test
+    @DisplayName("Debe validar repetidamente el mismo token reutilizando el verificador")
+    void testValidateTokenReutilizaVerificador() {
+        String token = jwtUtil.generateToken(testEmail);
+
+        assertEquals(testEmail, jwtUtil.validateToken(token));
+        Object verificador = ReflectionTestUtils.getField(jwtUtil, "verifier");
+        assertEquals(testEmail, jwtUtil.validateToken(token));
+
+        assertNotNull(verificador);
+        assertSame(verificador, ReflectionTestUtils.getField(jwtUtil, "verifier"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token con firma alterada aunque otro token del mismo usuario esté en caché")
+    void testValidateTokenConFirmaAlterada() {
+        String token = jwtUtil.generateToken(testEmail);
+        jwtUtil.validateToken(token);
+        String alterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.validateToken(alterado));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token en caché una vez que expira")
+    void testValidateTokenExpiradoEnCache() throws InterruptedException {
+        // La expiración de un JWT tiene precisión de segundos
+        Instant expira = Instant.now().plusSeconds(2).truncatedTo(ChronoUnit.SECONDS);
+        String token = JWT.create()
+                .withIssuer("forohub-api")
+                .withSubject(testEmail)
+                .withExpiresAt(expira)
+                .sign(Algorithm.HMAC256(testSecret));
+
+        assertEquals(testEmail, jwtUtil.validateToken(token));
+        Thread.sleep(Duration.between(Instant.now(), expira).toMillis() + 100);
+
+        assertThrows(RuntimeException.class, () -> jwtUtil.validateToken(token));
     }
-}
\ No newline at end of file
+}
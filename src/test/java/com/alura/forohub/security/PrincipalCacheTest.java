@@ -0,0 +1,90 @@
+package com.alura.forohub.security;
+
+import com.alura.forohub.entity.Perfil;
+import com.alura.forohub.entity.TipoPerfil;
+import com.alura.forohub.entity.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la caché de usuarios autenticados")
+class PrincipalCacheTest {
+
+    private PrincipalCache cache;
+    private UsuarioSnapshot snapshot;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(100, Duration.ofMinutes(1));
+        cargas = new AtomicInteger();
+
+        Perfil perfil = new Perfil("Moderador", TipoPerfil.MODERADOR, "Modera el foro");
+        perfil.setId(2L);
+        Usuario usuario = new Usuario("Juan Pérez", "juan@example.com", "password123", perfil);
+        usuario.setId(1L);
+        snapshot = UsuarioSnapshot.de(usuario);
+    }
+
+    @Test
+    @DisplayName("Debe cargar el usuario una sola vez mientras esté en caché")
+    void testCargaUnaVez() {
+        // Act
+        cache.obtener("juan@example.com", correo -> cargar());
+        UsuarioSnapshot resultado = cache.obtener("juan@example.com", correo -> cargar());
+
+        // Assert
+        assertSame(snapshot, resultado);
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Debe volver a cargar el usuario tras invalidarlo")
+    void testInvalidar() {
+        // Arrange
+        cache.obtener("juan@example.com", correo -> cargar());
+
+        // Act
+        cache.invalidar("juan@example.com");
+        cache.obtener("juan@example.com", correo -> cargar());
+
+        // Assert
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Debe no guardar usuarios inexistentes")
+    void testUsuarioInexistente() {
+        // Act
+        UsuarioSnapshot resultado = cache.obtener("nadie@example.com", correo -> null);
+
+        // Assert
+        assertNull(resultado);
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir un usuario sin contraseña con autoridades precalculadas")
+    void testSnapshot() {
+        // Act
+        UsuarioUserDetails userDetails = new UsuarioUserDetails(snapshot);
+
+        // Assert
+        assertEquals(1L, userDetails.getUsuario().getId());
+        assertEquals(TipoPerfil.MODERADOR, userDetails.getUsuario().getPerfil().getTipo());
+        assertNull(userDetails.getPassword());
+        assertTrue(userDetails.isEnabled());
+        assertSame(snapshot.authorities(), userDetails.getAuthorities());
+        assertEquals("ROLE_MODERADOR", userDetails.getAuthorities().iterator().next().getAuthority());
+        assertNotSame(userDetails.getUsuario(), new UsuarioUserDetails(snapshot).getUsuario());
+    }
+
+    private UsuarioSnapshot cargar() {
+        cargas.incrementAndGet();
+        return snapshot;
+    }
+}
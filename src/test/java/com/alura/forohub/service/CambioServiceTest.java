@@ -0,0 +1,100 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.dto.CambioCursor;
+import com.alura.forohub.dto.CambioDTO;
+import com.alura.forohub.dto.CursorPageDTO;
+import com.alura.forohub.entity.Cambio;
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
+import com.alura.forohub.repository.CambioRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests del servicio de cambios")
+class CambioServiceTest {
+
+    @Mock
+    private CambioRepository cambioRepository;
+
+    @InjectMocks
+    private CambioService cambioService;
+
+    private Cambio cambio(long id, LocalDateTime fecha) {
+        Cambio cambio = new Cambio(EntidadCambio.TOPICO, id * 10, OperacionCambio.ACTUALIZACION, 1L);
+        ReflectionTestUtils.setField(cambio, "id", id);
+        ReflectionTestUtils.setField(cambio, "fecha", fecha);
+        return cambio;
+    }
+
+    @Test
+    @DisplayName("Debe devolver una página de cambios con el cursor de la última entrada")
+    void testListarCambios() {
+        // Arrange
+        LocalDateTime antigua = LocalDateTime.now().minusMinutes(1);
+        when(cambioRepository.findDespuesDe(0L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(cambio(1, antigua), cambio(2, antigua), cambio(3, antigua)));
+
+        // Act
+        CursorPageDTO<CambioDTO> pagina = cambioService.listarCambios(null, 2);
+
+        // Assert
+        assertEquals(List.of(10L, 20L), pagina.content().stream().map(CambioDTO::id).toList());
+        assertTrue(pagina.hasNext());
+        assertEquals(2L, CambioCursor.decodificar(pagina.nextCursor()).posicion());
+    }
+
+    @Test
+    @DisplayName("Debe detenerse en la primera entrada demasiado reciente aunque haya otras más antiguas después")
+    void testListarCambiosCortaEnEntradaReciente() {
+        // Arrange
+        LocalDateTime antigua = LocalDateTime.now().minusMinutes(1);
+        String since = new CambioCursor(4L).codificar();
+        when(cambioRepository.findDespuesDe(4L, PageRequest.of(0, 11)))
+            .thenReturn(List.of(cambio(5, antigua), cambio(6, LocalDateTime.now()), cambio(7, antigua)));
+
+        // Act
+        CursorPageDTO<CambioDTO> pagina = cambioService.listarCambios(since, 10);
+
+        // Assert
+        assertEquals(List.of(50L), pagina.content().stream().map(CambioDTO::id).toList());
+        assertFalse(pagina.hasNext());
+        assertEquals(5L, CambioCursor.decodificar(pagina.nextCursor()).posicion());
+    }
+
+    @Test
+    @DisplayName("Debe devolver el mismo cursor cuando no hay cambios nuevos")
+    void testListarCambiosSinNovedades() {
+        // Arrange
+        String since = new CambioCursor(9L).codificar();
+        when(cambioRepository.findDespuesDe(9L, PageRequest.of(0, 101))).thenReturn(List.of());
+
+        // Act
+        CursorPageDTO<CambioDTO> pagina = cambioService.listarCambios(since, 100);
+
+        // Assert
+        assertTrue(pagina.content().isEmpty());
+        assertFalse(pagina.hasNext());
+        assertEquals(since, pagina.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un cursor inválido")
+    void testListarCambiosConCursorInvalido() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> cambioService.listarCambios("no-es-un-cursor", 10));
+        verifyNoInteractions(cambioRepository);
+    }
+}
@@ -0,0 +1,133 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.dto.RespuestaExportadaDTO;
+import com.alura.forohub.entity.Curso;
+import com.alura.forohub.entity.Perfil;
+import com.alura.forohub.entity.TipoPerfil;
+import com.alura.forohub.entity.Topico;
+import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.mapper.TopicoMapper;
+import com.alura.forohub.repository.RespuestaRepository;
+import com.alura.forohub.repository.TopicoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests del servicio de exportación")
+class ExportacionServiceTest {
+
+    @Mock
+    private TopicoRepository topicoRepository;
+
+    @Mock
+    private RespuestaRepository respuestaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TopicoMapper topicoMapper = new TopicoMapper();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private ExportacionService exportacionService;
+
+    private final List<Topico> topicos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Usuario autor = new Usuario("Juan Pérez", "juan@example.com", "password123",
+            new Perfil("Usuario", TipoPerfil.USUARIO));
+        Curso curso = new Curso("Java Básico", "Programación", "Curso de Java");
+
+        // Un lote completo más un tópico del lote siguiente
+        IntStream.rangeClosed(1, ExportacionService.TAMANO_LOTE + 1).forEach(i -> {
+            Topico topico = new Topico("Tópico " + i, "Mensaje " + i, autor, curso);
+            topico.setId((long) i);
+            topicos.add(topico);
+        });
+        when(topicoRepository.streamAllOrderById()).thenAnswer(invocacion -> topicos.stream());
+    }
+
+    @Test
+    @DisplayName("Debe exportar un tópico por línea y vaciar el contexto de persistencia tras cada lote")
+    void testExportarTopicos() throws Exception {
+        // Arrange
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // Act
+        long exportados = exportacionService.exportarTopicos(salida, false);
+
+        // Assert
+        List<JsonNode> lineas = leer(salida);
+        assertEquals(ExportacionService.TAMANO_LOTE + 1, exportados);
+        assertEquals(ExportacionService.TAMANO_LOTE + 1, lineas.size());
+        assertEquals("topico", lineas.get(0).get("tipo").asText());
+        assertEquals("1", lineas.get(0).get("ref").asText());
+        assertEquals("juan@example.com", lineas.get(0).get("autor").asText());
+        assertEquals("Java Básico", lineas.get(0).get("curso").asText());
+        verify(entityManager, times(2)).clear();
+        verifyNoInteractions(respuestaRepository);
+    }
+
+    @Test
+    @DisplayName("Debe escribir las respuestas a continuación de su tópico con una consulta por lote")
+    void testExportarTopicosConRespuestas() throws Exception {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<RespuestaExportadaDTO> primerLote = List.of(
+            new RespuestaExportadaDTO(10L, 1L, "Primera", "ana@example.com", false, fecha),
+            new RespuestaExportadaDTO(11L, 1L, "Segunda", "ana@example.com", true, fecha),
+            new RespuestaExportadaDTO(12L, 3L, "Tercera", "ana@example.com", false, fecha)
+        );
+        // Encadenado en lugar de thenReturn(varargs), que con listas genera un aviso unchecked
+        when(respuestaRepository.findExportablesByTopicoIdIn(anyCollection()))
+            .thenReturn(primerLote)
+            .thenReturn(List.of());
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // Act
+        exportacionService.exportarTopicos(salida, true);
+
+        // Assert
+        List<JsonNode> lineas = leer(salida);
+        assertEquals(ExportacionService.TAMANO_LOTE + 4, lineas.size());
+        assertEquals(List.of("topico", "respuesta", "respuesta", "topico", "topico", "respuesta"),
+            lineas.subList(0, 6).stream().map(linea -> linea.get("tipo").asText()).toList());
+        assertEquals(1, lineas.get(1).get("topico").asLong());
+        assertTrue(lineas.get(2).get("solucion").asBoolean());
+        assertEquals("Tercera", lineas.get(5).get("mensaje").asText());
+        verify(respuestaRepository, times(2)).findExportablesByTopicoIdIn(anyCollection());
+    }
+
+    private List<JsonNode> leer(ByteArrayOutputStream salida) throws Exception {
+        List<JsonNode> lineas = new ArrayList<>();
+        for (String linea : salida.toString(StandardCharsets.UTF_8).split("\n")) {
+            lineas.add(objectMapper.readTree(linea));
+        }
+        return lineas;
+    }
+}
@@ -0,0 +1,208 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.cache.TopicoDetalleCache;
+import com.alura.forohub.dto.ProgresoImportacionDTO;
+import com.alura.forohub.dto.RechazoImportacionDTO;
+import com.alura.forohub.dto.ReferenciaUsuarioDTO;
+import com.alura.forohub.entity.Curso;
+import com.alura.forohub.entity.EntidadCambio;
+import com.alura.forohub.entity.OperacionCambio;
+import com.alura.forohub.entity.Respuesta;
+import com.alura.forohub.entity.StatusTopico;
+import com.alura.forohub.entity.Topico;
+import com.alura.forohub.estadisticas.ContadoresForo;
+import com.alura.forohub.repository.CursoRepository;
+import com.alura.forohub.repository.TopicoRepository;
+import com.alura.forohub.repository.UsuarioRepository;
+import com.alura.forohub.search.IndiceTopicos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests del servicio de importación")
+class ImportacionServiceTest {
+
+    @Mock
+    private CursoRepository cursoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private TopicoRepository topicoRepository;
+
+    @Mock
+    private TopicoDetalleCache topicoDetalleCache;
+
+    @Mock
+    private IndiceTopicos indiceTopicos;
+
+    @Mock
+    private ContadoresForo contadoresForo;
+
+    @Mock
+    private CambioService cambioService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ImportacionService importacionService;
+
+    private final List<Object> persistidos = new ArrayList<>();
+    private final List<RechazoImportacionDTO> rechazos = new ArrayList<>();
+    private final List<ProgresoImportacionDTO> progresos = new ArrayList<>();
+
+    private final ImportacionService.Observador observador = new ImportacionService.Observador() {
+        @Override
+        public void rechazo(RechazoImportacionDTO rechazo) {
+            rechazos.add(rechazo);
+        }
+
+        @Override
+        public void loteConfirmado(ProgresoImportacionDTO progreso) {
+            progresos.add(progreso);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importacionService, "tamanoLote", 2);
+
+        Curso spring = new Curso("Spring Framework", "Programación", "Curso de Spring");
+        spring.setId(2L);
+        Curso inactivo = new Curso("Curso antiguo", "Programación", "Ya no se dicta");
+        inactivo.setId(3L);
+        inactivo.setActivo(false);
+        when(cursoRepository.findAll()).thenReturn(List.of(spring, inactivo));
+        when(usuarioRepository.findReferencias()).thenReturn(List.of(new ReferenciaUsuarioDTO(7L, "ana@example.com")));
+
+        lenient().doAnswer(invocacion -> {
+            Consumer<TransactionStatus> accion = invocacion.getArgument(0);
+            accion.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // Simula la asignación de IDs de la tabla de secuencias al persistir
+        lenient().doAnswer(invocacion -> {
+            Object entidad = invocacion.getArgument(0);
+            persistidos.add(entidad);
+            if (entidad instanceof Topico topico) {
+                topico.setId(100L + persistidos.size());
+            } else if (entidad instanceof Respuesta respuesta) {
+                respuesta.setId(100L + persistidos.size());
+            }
+            return null;
+        }).when(entityManager).persist(any());
+
+        lenient().when(entityManager.getReference(eq(Topico.class), any())).thenAnswer(invocacion -> {
+            Topico referencia = new Topico();
+            referencia.setId(invocacion.getArgument(1));
+            return referencia;
+        });
+    }
+
+    @Test
+    @DisplayName("Debe importar tópicos y respuestas en lotes e informar el progreso de cada uno")
+    void testImportarEnLotes() throws Exception {
+        // Arrange
+        String entrada = """
+            {"tipo":"topico","ref":"t1","titulo":"Error con JPA","mensaje":"No guarda","curso":"Spring Framework","autor":"ana@example.com"}
+            {"tipo":"respuesta","topico":"t1","mensaje":"Revisa la transacción","autor":"ana@example.com","solucion":true}
+
+            {"tipo":"respuesta","topico":"t1","mensaje":"Otra respuesta","autor":"ana@example.com"}
+            {"tipo":"topico","ref":"t2","titulo":"Cerrado","mensaje":"Antiguo","curso":"Spring Framework","autor":"ana@example.com","status":"CERRADO"}
+            """;
+
+        // Act
+        ProgresoImportacionDTO resumen = importacionService.importar(new BufferedReader(new StringReader(entrada)), observador);
+
+        // Assert
+        assertEquals(new ProgresoImportacionDTO(2, 5, 2, 2, 0), resumen);
+        assertEquals(List.of(new ProgresoImportacionDTO(1, 2, 1, 1, 0), resumen), progresos);
+        assertTrue(rechazos.isEmpty());
+
+        Topico primero = (Topico) persistidos.get(0);
+        Respuesta solucion = (Respuesta) persistidos.get(1);
+        Respuesta segunda = (Respuesta) persistidos.get(2);
+        Topico cerrado = (Topico) persistidos.get(3);
+        assertEquals(StatusTopico.ABIERTO, primero.getStatus());
+        assertTrue(solucion.getSolucion());
+        assertEquals(primero.getId(), segunda.getTopico().getId());
+        assertEquals(StatusTopico.CERRADO, cerrado.getStatus());
+
+        verify(topicoRepository, times(2)).sumarTotalRespuestas(primero.getId(), 1);
+        verify(indiceTopicos).indexar(primero.getId(), "Error con JPA", "No guarda");
+        verify(contadoresForo).topicoCreado(2L, StatusTopico.CERRADO);
+        verify(contadoresForo, times(2)).respuestaCreada(2L);
+        verify(entityManager, times(2)).clear();
+
+        verify(cambioService).registrar(EntidadCambio.TOPICO, primero.getId(), OperacionCambio.CREACION, primero.getVersion());
+        verify(cambioService).registrar(EntidadCambio.TOPICO, cerrado.getId(), OperacionCambio.CREACION, cerrado.getVersion());
+        verify(cambioService).registrar(EntidadCambio.RESPUESTA, solucion.getId(), OperacionCambio.CREACION, solucion.getVersion());
+        verify(cambioService).registrar(EntidadCambio.RESPUESTA, segunda.getId(), OperacionCambio.CREACION, segunda.getVersion());
+        verifyNoMoreInteractions(cambioService);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar las líneas inválidas sin detener la importación")
+    void testRechazarLineasInvalidas() throws Exception {
+        // Arrange
+        String entrada = """
+            {"tipo":"topico","ref":"t1","titulo":"Válido","mensaje":"Mensaje","curso":"Spring Framework","autor":"ana@example.com"}
+            {roto
+            {"tipo":"topico","ref":"t1","titulo":"Duplicado","mensaje":"Mensaje","curso":"Spring Framework","autor":"ana@example.com"}
+            {"tipo":"topico","ref":"t2","titulo":"Curso inactivo","mensaje":"Mensaje","curso":"Curso antiguo","autor":"ana@example.com"}
+            {"tipo":"topico","ref":"t3","titulo":"","mensaje":"Mensaje","curso":"Spring Framework","autor":"ana@example.com"}
+            {"tipo":"respuesta","topico":"t9","mensaje":"Sin tópico","autor":"ana@example.com"}
+            {"tipo":"respuesta","topico":"t1","mensaje":"Autor desconocido","autor":"nadie@example.com"}
+            {"tipo":"encuesta","mensaje":"Mensaje","autor":"ana@example.com"}
+            """;
+
+        // Act
+        ProgresoImportacionDTO resumen = importacionService.importar(new BufferedReader(new StringReader(entrada)), observador);
+
+        // Assert
+        assertEquals(new ProgresoImportacionDTO(1, 8, 1, 0, 7), resumen);
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L, 8L), rechazos.stream().map(RechazoImportacionDTO::linea).toList());
+        assertTrue(rechazos.get(0).motivo().startsWith("JSON inválido"));
+        assertEquals("Referencia de tópico duplicada: t1", rechazos.get(1).motivo());
+        assertEquals("El curso no está activo: Curso antiguo", rechazos.get(2).motivo());
+        assertEquals("El título es obligatorio", rechazos.get(3).motivo());
+        assertEquals("Tópico no encontrado en la importación: t9", rechazos.get(4).motivo());
+        assertEquals("Autor no encontrado: nadie@example.com", rechazos.get(5).motivo());
+        assertEquals("Tipo desconocido: encuesta", rechazos.get(6).motivo());
+        verify(entityManager, times(1)).persist(any());
+        verify(topicoRepository, never()).sumarTotalRespuestas(anyLong(), anyInt());
+        verify(cambioService, times(1)).registrar(any(), anyLong(), any(), any());
+    }
+}
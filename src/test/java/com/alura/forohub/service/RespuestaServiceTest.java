@@ -1,8 +1,13 @@
 package com.alura.forohub.service;
 
+import com.alura.forohub.cache.TopicoDetalleCache;
+import com.alura.forohub.dto.ActualizarRespuestaDTO;
 import com.alura.forohub.dto.CrearRespuestaDTO;
 import com.alura.forohub.dto.RespuestaDTO;
 import com.alura.forohub.entity.*;
+import com.alura.forohub.estadisticas.ContadoresForo;
+import com.alura.forohub.eventos.DifusorEventosTopico;
+import com.alura.forohub.eventos.TipoEventoTopico;
 import com.alura.forohub.mapper.RespuestaMapper;
 import com.alura.forohub.repository.RespuestaRepository;
 import com.alura.forohub.repository.TopicoRepository;
@@ -14,14 +19,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +43,18 @@ class RespuestaServiceTest {
     @Mock
     private RespuestaMapper respuestaMapper;
 
+    @Mock
+    private TopicoDetalleCache topicoDetalleCache;
+
+    @Mock
+    private ContadoresForo contadoresForo;
+
+    @Mock
+    private DifusorEventosTopico difusorEventosTopico;
+
+    @Mock
+    private CambioService cambioService;
+
     @InjectMocks
     private RespuestaService respuestaService;
 
@@ -64,9 +82,11 @@ class RespuestaServiceTest {
         topico = new Topico("¿Cómo usar Spring Boot?", "Necesito ayuda con Spring Boot", autorTopico, curso);
         topico.setId(1L);
         topico.setStatus(StatusTopico.ABIERTO);
+        topico.setVersion(3L);
 
         respuesta = new Respuesta("Esta es mi respuesta", topico, autor);
         respuesta.setId(1L);
+        respuesta.setVersion(0L);
     }
 
     @Test
@@ -87,7 +107,12 @@ class RespuestaServiceTest {
         assertNotNull(resultado);
         verify(topicoRepository).findById(1L);
         verify(respuestaRepository).save(any(Respuesta.class));
+        verify(topicoRepository).incrementarTotalRespuestas(1L);
+        verify(topicoDetalleCache).invalidar(1L);
+        verify(contadoresForo).respuestaCreada(1L);
         verify(respuestaMapper).toDTO(respuesta);
+        verify(difusorEventosTopico).publicar(1L, TipoEventoTopico.RESPUESTA_CREADA, responseDTO);
+        verify(cambioService).registrar(EntidadCambio.RESPUESTA, 1L, OperacionCambio.CREACION, 0L);
     }
 
     @Test
@@ -156,11 +181,14 @@ class RespuestaServiceTest {
     void testMarcarComoSolucion() {
         // Arrange
         RespuestaDTO responseDTO = mock(RespuestaDTO.class);
+        Respuesta anterior = new Respuesta("Solución anterior", topico, autor);
+        anterior.setId(2L);
+        anterior.setVersion(4L);
         
         when(respuestaRepository.findByIdWithAuthor(1L)).thenReturn(Optional.of(respuesta));
-        when(respuestaRepository.findByTopicoAndSolucionTrue(topico)).thenReturn(new ArrayList<>());
-        when(respuestaRepository.save(respuesta)).thenReturn(respuesta);
-        when(topicoRepository.save(topico)).thenReturn(topico);
+        when(topicoRepository.cambiarStatus(eq(1L), eq(3L), eq(StatusTopico.RESUELTO), any()))
+            .thenReturn(1);
+        when(respuestaRepository.findByTopicoAndSolucionTrue(topico)).thenReturn(List.of(anterior));
         when(respuestaMapper.toDTO(respuesta)).thenReturn(responseDTO);
 
         // Act
@@ -170,10 +198,55 @@ class RespuestaServiceTest {
         assertNotNull(resultado);
         assertTrue(respuesta.getSolucion());
         assertEquals(StatusTopico.RESUELTO, topico.getStatus());
-        verify(respuestaRepository).findByIdWithAuthor(1L);
-        verify(respuestaRepository).save(respuesta);
-        verify(topicoRepository).save(topico);
+        verify(respuestaRepository).marcarUnicaSolucion(eq(1L), eq(1L), any());
+        verify(respuestaRepository, never()).save(any());
+        verify(topicoRepository, never()).save(any());
+        verify(topicoDetalleCache).invalidar(topico.getId());
+        verify(contadoresForo).topicoCambiado(1L, StatusTopico.ABIERTO, 1L, StatusTopico.RESUELTO, 0);
         verify(respuestaMapper).toDTO(respuesta);
+        verify(difusorEventosTopico).publicar(1L, TipoEventoTopico.SOLUCION_MARCADA, responseDTO);
+        verify(cambioService).registrar(EntidadCambio.TOPICO, 1L, OperacionCambio.ACTUALIZACION, 4L);
+        verify(cambioService).registrar(EntidadCambio.RESPUESTA, 1L, OperacionCambio.ACTUALIZACION, 1L);
+        verify(cambioService).registrar(EntidadCambio.RESPUESTA, 2L, OperacionCambio.ACTUALIZACION, 5L);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar marcar la solución si el tópico cambió concurrentemente")
+    void testMarcarComoSolucionConModificacionConcurrente() {
+        // Arrange
+        when(respuestaRepository.findByIdWithAuthor(1L)).thenReturn(Optional.of(respuesta));
+        when(topicoRepository.cambiarStatus(eq(1L), eq(3L), eq(StatusTopico.RESUELTO), any()))
+            .thenReturn(0);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> respuestaService.marcarComoSolucion(1L, autorTopico));
+
+        assertEquals(StatusTopico.ABIERTO, topico.getStatus());
+        verify(respuestaRepository, never()).marcarUnicaSolucion(any(), any(), any());
+        verifyNoInteractions(contadoresForo, topicoDetalleCache, respuestaMapper, difusorEventosTopico);
+    }
+
+    @Test
+    @DisplayName("Debe reabrir el tópico al desmarcar su única solución")
+    void testDesmarcarComoSolucion() {
+        // Arrange
+        respuesta.setSolucion(true);
+        topico.setStatus(StatusTopico.RESUELTO);
+        when(respuestaRepository.findByIdWithAuthor(1L)).thenReturn(Optional.of(respuesta));
+        when(respuestaRepository.existsByTopicoAndSolucionTrueAndIdNot(topico, 1L)).thenReturn(false);
+        when(topicoRepository.cambiarStatus(eq(1L), eq(3L), eq(StatusTopico.ABIERTO), any()))
+            .thenReturn(1);
+
+        // Act
+        respuestaService.desmarcarComoSolucion(1L, autorTopico);
+
+        // Assert
+        assertFalse(respuesta.getSolucion());
+        assertEquals(StatusTopico.ABIERTO, topico.getStatus());
+        verify(respuestaRepository).desmarcarSolucion(eq(1L), any());
+        verify(contadoresForo).topicoCambiado(1L, StatusTopico.RESUELTO, 1L, StatusTopico.ABIERTO, 0);
+        verify(topicoDetalleCache).invalidar(1L);
     }
 
     @Test
@@ -190,8 +263,25 @@ class RespuestaServiceTest {
 
         assertEquals("Solo el autor del tópico puede marcar respuestas como solución", exception.getMessage());
         verify(respuestaRepository).findByIdWithAuthor(1L);
-        verify(respuestaRepository, never()).save(any());
-        verify(topicoRepository, never()).save(any());
+        verify(respuestaRepository, never()).marcarUnicaSolucion(any(), any(), any());
+        verify(topicoRepository, never()).cambiarStatus(any(), any(), any(), any());
+        verifyNoInteractions(topicoDetalleCache);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la edición de una respuesta cuando la versión de If-Match no es la actual")
+    void testActualizarRespuestaConVersionDesactualizada() {
+        // Arrange
+        respuesta.setVersion(2L);
+        when(respuestaRepository.findByIdWithAuthor(1L)).thenReturn(Optional.of(respuesta));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> respuestaService.actualizarRespuesta(1L, new ActualizarRespuestaDTO("Editada"), 1L, autor));
+
+        assertEquals("Esta es mi respuesta", respuesta.getMensaje());
+        verify(respuestaRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(topicoDetalleCache);
     }
 
     @Test
@@ -206,6 +296,9 @@ class RespuestaServiceTest {
         // Assert
         verify(respuestaRepository).findById(1L);
         verify(respuestaRepository).delete(respuesta);
+        verify(topicoRepository).decrementarTotalRespuestas(1L);
+        verify(topicoDetalleCache).invalidar(1L);
+        verify(contadoresForo).respuestaEliminada(1L);
     }
 
     @Test
@@ -226,5 +319,6 @@ class RespuestaServiceTest {
         assertEquals("No tienes permisos para eliminar esta respuesta", exception.getMessage());
         verify(respuestaRepository).findById(1L);
         verify(respuestaRepository, never()).delete(any());
+        verify(topicoRepository, never()).decrementarTotalRespuestas(any());
     }
 }
\ No newline at end of file
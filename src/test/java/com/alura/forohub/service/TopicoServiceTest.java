@@ -1,12 +1,22 @@
 package com.alura.forohub.service;
 
+import com.alura.forohub.cache.TopicoDetalleCache;
+import com.alura.forohub.dto.ActualizarTopicoDTO;
 import com.alura.forohub.dto.CrearTopicoDTO;
+import com.alura.forohub.dto.CursorPageDTO;
 import com.alura.forohub.dto.DetalleTopicoDTO;
+import com.alura.forohub.dto.ReferenciaRespuestaDTO;
+import com.alura.forohub.dto.TopicoCursor;
 import com.alura.forohub.dto.TopicoResponseDTO;
 import com.alura.forohub.entity.*;
+import com.alura.forohub.estadisticas.ContadoresForo;
+import com.alura.forohub.eventos.DifusorEventosTopico;
 import com.alura.forohub.mapper.TopicoMapper;
 import com.alura.forohub.repository.CursoRepository;
+import com.alura.forohub.repository.RespuestaRepository;
 import com.alura.forohub.repository.TopicoRepository;
+import com.alura.forohub.search.IndiceTopicos;
+import com.alura.forohub.search.ResultadoBusqueda;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,10 +25,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDateTime;
@@ -41,9 +53,27 @@ class TopicoServiceTest {
     @Mock
     private CursoRepository cursoRepository;
 
+    @Mock
+    private RespuestaRepository respuestaRepository;
+
     @Mock
     private TopicoMapper topicoMapper;
 
+    @Mock
+    private TopicoDetalleCache topicoDetalleCache;
+
+    @Mock
+    private ContadoresForo contadoresForo;
+
+    @Mock
+    private IndiceTopicos indiceTopicos;
+
+    @Mock
+    private DifusorEventosTopico difusorEventosTopico;
+
+    @Mock
+    private CambioService cambioService;
+
     @InjectMocks
     private TopicoService topicoService;
 
@@ -73,16 +103,13 @@ class TopicoServiceTest {
     void testListarTopicos() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Topico> topicos = List.of(topico);
-        Page<Topico> pageTopicos = new PageImpl<>(topicos, pageable, 1);
-        
         TopicoResponseDTO responseDTO = new TopicoResponseDTO(
             1L, "¿Cómo usar Spring Boot?", "Necesito ayuda con Spring Boot",
-            LocalDateTime.now(), StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0
+            LocalDateTime.now(), StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0, 0L
         );
+        Page<TopicoResponseDTO> pageTopicos = new PageImpl<>(List.of(responseDTO), pageable, 1);
 
         when(topicoRepository.findAllByOrderByFechaCreacionDesc(pageable)).thenReturn(pageTopicos);
-        when(topicoMapper.toResponseDTO(topico)).thenReturn(responseDTO);
 
         // Act
         Page<TopicoResponseDTO> resultado = topicoService.listarTopicos(pageable);
@@ -92,7 +119,7 @@ class TopicoServiceTest {
         assertEquals(1, resultado.getTotalElements());
         assertEquals("¿Cómo usar Spring Boot?", resultado.getContent().get(0).titulo());
         verify(topicoRepository).findAllByOrderByFechaCreacionDesc(pageable);
-        verify(topicoMapper).toResponseDTO(topico);
+        verifyNoInteractions(topicoMapper);
     }
 
     @Test
@@ -101,17 +128,91 @@ class TopicoServiceTest {
         // Arrange
         Long topicoId = 1L;
         DetalleTopicoDTO detalleDTO = mock(DetalleTopicoDTO.class);
+        Respuesta respuesta = new Respuesta("Usa Spring Initializr", topico, autor);
+        topico.addRespuesta(respuesta);
+        Pageable paginaRespuestas = PageRequest.of(1, TopicoService.TAMANO_PAGINA_RESPUESTAS);
 
-        when(topicoRepository.findByIdWithFullDetails(topicoId)).thenReturn(Optional.of(topico));
-        when(topicoMapper.toDetalleDTO(topico)).thenReturn(detalleDTO);
+        when(topicoRepository.findCabeceraById(topicoId)).thenReturn(Optional.of(topico));
+        when(respuestaRepository.findPaginaByTopicoId(topicoId, paginaRespuestas)).thenReturn(List.of(respuesta));
+        when(topicoMapper.toDetalleDTO(topico, List.of(respuesta), 1, TopicoService.TAMANO_PAGINA_RESPUESTAS))
+            .thenReturn(detalleDTO);
 
         // Act
-        DetalleTopicoDTO resultado = topicoService.obtenerTopicoPorId(topicoId);
+        DetalleTopicoDTO resultado = topicoService.obtenerTopicoPorId(topicoId, 1, TopicoService.TAMANO_PAGINA_RESPUESTAS);
 
         // Assert
         assertNotNull(resultado);
-        verify(topicoRepository).findByIdWithFullDetails(topicoId);
-        verify(topicoMapper).toDetalleDTO(topico);
+        verify(topicoRepository).findCabeceraById(topicoId);
+        verify(respuestaRepository).findPaginaByTopicoId(topicoId, paginaRespuestas);
+    }
+
+    @Test
+    @DisplayName("Debe omitir la consulta de respuestas cuando el tópico no tiene respuestas")
+    void testObtenerTopicoPorIdSinRespuestas() {
+        // Arrange
+        DetalleTopicoDTO detalleDTO = mock(DetalleTopicoDTO.class);
+        when(topicoRepository.findCabeceraById(1L)).thenReturn(Optional.of(topico));
+        when(topicoMapper.toDetalleDTO(topico, List.of(), 0, TopicoService.TAMANO_PAGINA_RESPUESTAS))
+            .thenReturn(detalleDTO);
+
+        // Act
+        DetalleTopicoDTO resultado = topicoService.obtenerTopicoPorId(1L, 0, TopicoService.TAMANO_PAGINA_RESPUESTAS);
+
+        // Assert
+        assertSame(detalleDTO, resultado);
+        verifyNoInteractions(respuestaRepository);
+        verify(topicoDetalleCache).guardar(1L, detalleDTO, 0L);
+    }
+
+    @Test
+    @DisplayName("Debe devolver el detalle en caché sin consultar la base de datos")
+    void testObtenerTopicoPorIdDesdeCache() {
+        // Arrange
+        DetalleTopicoDTO detalleDTO = mock(DetalleTopicoDTO.class);
+        when(topicoDetalleCache.obtener(1L)).thenReturn(detalleDTO);
+
+        // Act
+        DetalleTopicoDTO resultado = topicoService.obtenerTopicoPorId(1L, 0, TopicoService.TAMANO_PAGINA_RESPUESTAS);
+
+        // Assert
+        assertSame(detalleDTO, resultado);
+        verifyNoInteractions(topicoRepository, respuestaRepository, topicoMapper);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una página de respuestas negativa")
+    void testObtenerTopicoPorIdConPaginaNegativa() {
+        assertThrows(IllegalArgumentException.class, () -> topicoService.obtenerTopicoPorId(1L, -1, TopicoService.TAMANO_PAGINA_RESPUESTAS));
+        verifyNoInteractions(topicoRepository, respuestaRepository);
+    }
+
+    @Test
+    @DisplayName("Debe paginar las respuestas con el tamaño pedido sin usar la caché")
+    void testObtenerTopicoPorIdConTamanoDePagina() {
+        // Arrange
+        DetalleTopicoDTO detalleDTO = mock(DetalleTopicoDTO.class);
+        Respuesta respuesta = new Respuesta("Usa Spring Initializr", topico, autor);
+        topico.addRespuesta(respuesta);
+        when(topicoRepository.findCabeceraById(1L)).thenReturn(Optional.of(topico));
+        when(respuestaRepository.findPaginaByTopicoId(1L, PageRequest.of(0, 10))).thenReturn(List.of(respuesta));
+        when(topicoMapper.toDetalleDTO(topico, List.of(respuesta), 0, 10)).thenReturn(detalleDTO);
+
+        // Act
+        DetalleTopicoDTO resultado = topicoService.obtenerTopicoPorId(1L, 0, 10);
+
+        // Assert
+        assertSame(detalleDTO, resultado);
+        verify(topicoDetalleCache, never()).obtener(any());
+        verify(topicoDetalleCache, never()).guardar(any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de página de respuestas fuera de rango")
+    void testObtenerTopicoPorIdConTamanoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> topicoService.obtenerTopicoPorId(1L, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> topicoService.obtenerTopicoPorId(1L, 0, TopicoService.MAX_TAMANO_PAGINA_RESPUESTAS + 1));
+        verifyNoInteractions(topicoRepository, respuestaRepository);
     }
 
     @Test
@@ -119,16 +220,16 @@ class TopicoServiceTest {
     void testObtenerTopicoPorIdNoEncontrado() {
         // Arrange
         Long topicoId = 999L;
-        when(topicoRepository.findByIdWithFullDetails(topicoId)).thenReturn(Optional.empty());
+        when(topicoRepository.findCabeceraById(topicoId)).thenReturn(Optional.empty());
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(
             EntityNotFoundException.class,
-            () -> topicoService.obtenerTopicoPorId(topicoId)
+            () -> topicoService.obtenerTopicoPorId(topicoId, 0, TopicoService.TAMANO_PAGINA_RESPUESTAS)
         );
 
         assertEquals("Tópico no encontrado con ID: 999", exception.getMessage());
-        verify(topicoRepository).findByIdWithFullDetails(topicoId);
+        verify(topicoRepository).findCabeceraById(topicoId);
         verifyNoInteractions(topicoMapper);
     }
 
@@ -139,7 +240,7 @@ class TopicoServiceTest {
         CrearTopicoDTO dto = new CrearTopicoDTO("Nuevo tópico", "Mensaje del tópico", 1L);
         TopicoResponseDTO responseDTO = new TopicoResponseDTO(
             1L, "Nuevo tópico", "Mensaje del tópico",
-            LocalDateTime.now(), StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0
+            LocalDateTime.now(), StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0, 0L
         );
 
         when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
@@ -155,6 +256,8 @@ class TopicoServiceTest {
         verify(cursoRepository).findById(1L);
         verify(topicoRepository).save(any(Topico.class));
         verify(topicoMapper).toResponseDTO(topico);
+        verify(indiceTopicos).indexar(1L, "¿Cómo usar Spring Boot?", "Necesito ayuda con Spring Boot");
+        verify(contadoresForo).topicoCreado(1L, StatusTopico.ABIERTO);
     }
 
     @Test
@@ -196,19 +299,102 @@ class TopicoServiceTest {
         verifyNoInteractions(topicoMapper);
     }
 
+    @Test
+    @DisplayName("Debe actualizar el tópico cuando la versión de If-Match coincide")
+    void testActualizarTopicoConVersion() {
+        // Arrange
+        topico.setVersion(3L);
+        TopicoResponseDTO responseDTO = mock(TopicoResponseDTO.class);
+        when(topicoRepository.findByIdWithDetails(1L)).thenReturn(Optional.of(topico));
+        when(topicoRepository.saveAndFlush(topico)).thenReturn(topico);
+        when(topicoMapper.toResponseDTO(topico)).thenReturn(responseDTO);
+
+        // Act
+        TopicoResponseDTO resultado = topicoService.actualizarTopico(
+            1L, new ActualizarTopicoDTO("Nuevo título", null, null), 3L, autor);
+
+        // Assert
+        assertSame(responseDTO, resultado);
+        assertEquals("Nuevo título", topico.getTitulo());
+        verify(topicoRepository).saveAndFlush(topico);
+        verify(topicoDetalleCache).invalidar(1L);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la actualización cuando la versión de If-Match no es la actual")
+    void testActualizarTopicoConVersionDesactualizada() {
+        // Arrange
+        topico.setVersion(4L);
+        when(topicoRepository.findByIdWithDetails(1L)).thenReturn(Optional.of(topico));
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> topicoService.actualizarTopico(
+            1L, new ActualizarTopicoDTO("Nuevo título", null, null), 3L, autor));
+
+        assertEquals("¿Cómo usar Spring Boot?", topico.getTitulo());
+        verify(topicoRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(topicoDetalleCache, contadoresForo, indiceTopicos);
+    }
+
     @Test
     @DisplayName("Debe eliminar tópico cuando el usuario es el autor")
     void testEliminarTopico() {
         // Arrange
         Long topicoId = 1L;
-        when(topicoRepository.findById(topicoId)).thenReturn(Optional.of(topico));
+        when(topicoRepository.findByIdParaEliminar(topicoId)).thenReturn(Optional.of(topico));
+        when(respuestaRepository.findReferenciasByTopicoId(topicoId))
+            .thenReturn(List.of(new ReferenciaRespuestaDTO(7L, 0L), new ReferenciaRespuestaDTO(8L, 2L)));
 
         // Act
         topicoService.eliminarTopico(topicoId, autor);
 
         // Assert
-        verify(topicoRepository).findById(topicoId);
-        verify(topicoRepository).delete(topico);
+        verify(topicoRepository).findByIdParaEliminar(topicoId);
+        verify(topicoRepository).eliminarPorId(topicoId);
+        verify(topicoRepository, never()).delete(any());
+        verify(topicoDetalleCache).invalidar(topicoId);
+        verify(indiceTopicos).eliminar(topicoId);
+        verify(contadoresForo).topicoEliminado(1L, StatusTopico.ABIERTO, 0);
+        verify(difusorEventosTopico).cerrar(topicoId);
+        verify(cambioService).registrar(EntidadCambio.TOPICO, topicoId, OperacionCambio.ELIMINACION, topico.getVersion());
+        verify(cambioService).registrar(EntidadCambio.RESPUESTA, 7L, OperacionCambio.ELIMINACION, 0L);
+        verify(cambioService).registrar(EntidadCambio.RESPUESTA, 8L, OperacionCambio.ELIMINACION, 2L);
+    }
+
+    @Test
+    @DisplayName("Debe devolver los resultados de búsqueda en el orden de relevancia del índice")
+    void testBuscarTopicosPorRelevancia() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        TopicoResponseDTO primero = new TopicoResponseDTO(
+            7L, "Spring Boot", "Mensaje", LocalDateTime.now(), StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0, 0L);
+        TopicoResponseDTO segundo = new TopicoResponseDTO(
+            3L, "Spring Data", "Mensaje", LocalDateTime.now(), StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0, 0L);
+
+        when(indiceTopicos.buscar("spring", 0, 10)).thenReturn(new ResultadoBusqueda(List.of(7L, 3L), 2));
+        when(topicoRepository.findResumenesByIdIn(List.of(7L, 3L))).thenReturn(List.of(segundo, primero));
+
+        // Act
+        Page<TopicoResponseDTO> resultado = topicoService.buscarTopicosPorRelevancia("spring", pageable);
+
+        // Assert
+        assertEquals(List.of(primero, segundo), resultado.getContent());
+        assertEquals(2, resultado.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Debe omitir la consulta a la base de datos si la búsqueda no tiene resultados")
+    void testBuscarTopicosPorRelevanciaSinResultados() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(indiceTopicos.buscar("inexistente", 0, 10)).thenReturn(new ResultadoBusqueda(List.of(), 0));
+
+        // Act
+        Page<TopicoResponseDTO> resultado = topicoService.buscarTopicosPorRelevancia("inexistente", pageable);
+
+        // Assert
+        assertTrue(resultado.isEmpty());
+        verifyNoInteractions(topicoRepository);
     }
 
     @Test
@@ -219,7 +405,7 @@ class TopicoServiceTest {
         Usuario otroUsuario = new Usuario("Otro Usuario", "otro@example.com", "password", perfil);
         otroUsuario.setId(2L);
         
-        when(topicoRepository.findById(topicoId)).thenReturn(Optional.of(topico));
+        when(topicoRepository.findByIdParaEliminar(topicoId)).thenReturn(Optional.of(topico));
 
         // Act & Assert
         AccessDeniedException exception = assertThrows(
@@ -228,8 +414,8 @@ class TopicoServiceTest {
         );
 
         assertEquals("No tienes permisos para eliminar este tópico", exception.getMessage());
-        verify(topicoRepository).findById(topicoId);
-        verify(topicoRepository, never()).delete(any());
+        verify(topicoRepository).findByIdParaEliminar(topicoId);
+        verify(topicoRepository, never()).eliminarPorId(anyLong());
     }
 
     @Test
@@ -237,16 +423,13 @@ class TopicoServiceTest {
     void testListarTopicosPorAutor() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Topico> topicos = List.of(topico);
-        Page<Topico> pageTopicos = new PageImpl<>(topicos, pageable, 1);
-        
         TopicoResponseDTO responseDTO = new TopicoResponseDTO(
             1L, "¿Cómo usar Spring Boot?", "Necesito ayuda con Spring Boot",
-            LocalDateTime.now(), StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0
+            LocalDateTime.now(), StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0, 0L
         );
+        Page<TopicoResponseDTO> pageTopicos = new PageImpl<>(List.of(responseDTO), pageable, 1);
 
         when(topicoRepository.findByAutorOrderByFechaCreacionDesc(autor, pageable)).thenReturn(pageTopicos);
-        when(topicoMapper.toResponseDTO(topico)).thenReturn(responseDTO);
 
         // Act
         Page<TopicoResponseDTO> resultado = topicoService.listarTopicosPorAutor(autor, pageable);
@@ -255,6 +438,56 @@ class TopicoServiceTest {
         assertNotNull(resultado);
         assertEquals(1, resultado.getTotalElements());
         verify(topicoRepository).findByAutorOrderByFechaCreacionDesc(autor, pageable);
-        verify(topicoMapper).toResponseDTO(topico);
+        verifyNoInteractions(topicoMapper);
+    }
+
+    @Test
+    @DisplayName("Debe listar tópicos por cursor y devolver el siguiente cursor")
+    void testListarTopicosPorCursor() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        TopicoResponseDTO responseDTO = new TopicoResponseDTO(
+            1L, "¿Cómo usar Spring Boot?", "Necesito ayuda con Spring Boot",
+            fecha, StatusTopico.ABIERTO, "Juan Pérez", "Java Básico", 0, 0L
+        );
+
+        when(topicoRepository.findSliceOrderByFechaCreacionDesc(PageRequest.of(0, 1)))
+            .thenReturn(new SliceImpl<>(List.of(responseDTO), PageRequest.of(0, 1), true));
+
+        // Act
+        CursorPageDTO<TopicoResponseDTO> resultado = topicoService.listarTopicosPorCursor(null, 1);
+
+        // Assert
+        assertTrue(resultado.hasNext());
+        assertEquals(1, resultado.content().size());
+        assertEquals(new TopicoCursor(fecha, 1L), TopicoCursor.decodificar(resultado.nextCursor()));
+        verify(topicoRepository, never()).findAllByOrderByFechaCreacionDesc(any());
+    }
+
+    @Test
+    @DisplayName("Debe continuar desde el cursor recibido")
+    void testListarTopicosDespuesDeCursor() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        String after = new TopicoCursor(fecha, 7L).codificar();
+
+        when(topicoRepository.findSliceDespuesDe(fecha, 7L, PageRequest.of(0, 10)))
+            .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        // Act
+        CursorPageDTO<TopicoResponseDTO> resultado = topicoService.listarTopicosPorCursor(after, 10);
+
+        // Assert
+        assertFalse(resultado.hasNext());
+        assertNull(resultado.nextCursor());
+        verify(topicoRepository).findSliceDespuesDe(fecha, 7L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un cursor inválido")
+    void testListarTopicosConCursorInvalido() {
+        assertThrows(IllegalArgumentException.class,
+            () -> topicoService.listarTopicosPorCursor("no-es-un-cursor", 10));
+        verifyNoInteractions(topicoRepository);
     }
 }
\ No newline at end of file
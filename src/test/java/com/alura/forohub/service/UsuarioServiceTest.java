@@ -0,0 +1,107 @@
+package com.alura.forohub.service;
+
+import com.alura.forohub.cache.TopicoDetalleCache;
+import com.alura.forohub.dto.CambiarPerfilDTO;
+import com.alura.forohub.dto.UsuarioDTO;
+import com.alura.forohub.entity.Perfil;
+import com.alura.forohub.entity.TipoPerfil;
+import com.alura.forohub.entity.Usuario;
+import com.alura.forohub.repository.PerfilRepository;
+import com.alura.forohub.repository.UsuarioRepository;
+import com.alura.forohub.security.PrincipalCache;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests del servicio Usuario")
+class UsuarioServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PerfilRepository perfilRepository;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TopicoDetalleCache topicoDetalleCache;
+
+    @InjectMocks
+    private UsuarioService usuarioService;
+
+    private Usuario usuario;
+    private Perfil perfilModerador;
+
+    @BeforeEach
+    void setUp() {
+        Perfil perfil = new Perfil("Usuario", TipoPerfil.USUARIO, "Perfil básico");
+        perfil.setId(1L);
+
+        perfilModerador = new Perfil("Moderador", TipoPerfil.MODERADOR, "Modera el foro");
+        perfilModerador.setId(2L);
+
+        usuario = new Usuario("Juan Pérez", "juan@example.com", "password123", perfil);
+        usuario.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Debe desactivar el usuario e invalidar su caché de autenticación")
+    void testDesactivarUsuario() {
+        // Arrange
+        when(usuarioRepository.findByIdWithPerfil(1L)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.save(usuario)).thenReturn(usuario);
+
+        // Act
+        UsuarioDTO resultado = usuarioService.desactivarUsuario(1L);
+
+        // Assert
+        assertFalse(usuario.getActivo());
+        assertEquals("juan@example.com", resultado.correoElectronico());
+        verify(principalCache).invalidar("juan@example.com");
+    }
+
+    @Test
+    @DisplayName("Debe cambiar el perfil e invalidar las cachés afectadas")
+    void testCambiarPerfil() {
+        // Arrange
+        when(usuarioRepository.findByIdWithPerfil(1L)).thenReturn(Optional.of(usuario));
+        when(perfilRepository.findById(2L)).thenReturn(Optional.of(perfilModerador));
+        when(usuarioRepository.save(usuario)).thenReturn(usuario);
+
+        // Act
+        UsuarioDTO resultado = usuarioService.cambiarPerfil(1L, new CambiarPerfilDTO(2L));
+
+        // Assert
+        assertEquals(TipoPerfil.MODERADOR, resultado.perfil().tipo());
+        verify(principalCache).invalidar("juan@example.com");
+        verify(topicoDetalleCache).invalidarTodo();
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción cuando el perfil no existe")
+    void testCambiarPerfilInexistente() {
+        // Arrange
+        when(usuarioRepository.findByIdWithPerfil(1L)).thenReturn(Optional.of(usuario));
+        when(perfilRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class,
+            () -> usuarioService.cambiarPerfil(1L, new CambiarPerfilDTO(99L)));
+        verify(usuarioRepository, never()).save(any());
+        verifyNoInteractions(principalCache, topicoDetalleCache);
+    }
+}